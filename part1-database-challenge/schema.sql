@@ -48,6 +48,7 @@ CREATE TABLE operators.transaction_master (
     card_last4 VARCHAR(4),
     auth_code VARCHAR(20),
     response_code VARCHAR(10),
+    external_ref VARCHAR(64),
     created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
 );
 
@@ -69,6 +70,67 @@ CREATE TABLE operators.transaction_details (
     created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
 );
 
+-- ============================================================================
+-- Table: merchant
+-- Merchant master data managed by payment-api. search_text backs the merchant
+-- search box through a trigram index; it holds the same newline-separated
+-- fields as payment-api's in-memory index (MerchantTrigramIndex.key), so both
+-- match the same merchants.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS operators.merchant (
+    id VARCHAR(50) PRIMARY KEY,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    phone VARCHAR(50),
+    status VARCHAR(20),
+    address TEXT,
+    business_name VARCHAR(255)
+);
+
+-- A generated column cannot be redefined in place; dropping it first replaces an
+-- older definition (its trigram index is recreated below)
+ALTER TABLE operators.merchant DROP COLUMN IF EXISTS search_text;
+
+ALTER TABLE operators.merchant
+    ADD COLUMN search_text TEXT
+    GENERATED ALWAYS AS (lower(coalesce(id, '') || E'\n' || coalesce(name, '') || E'\n'
+        || coalesce(email, '') || E'\n' || coalesce(business_name, ''))) STORED;
+
+-- Optimistic-lock version, incremented on every update; merchant detail ETags use it
+ALTER TABLE operators.merchant
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- ============================================================================
+-- Table: merchant_daily_summary
+-- Pre-aggregated transaction totals per merchant, UTC day and status.
+-- Maintained incrementally by payment-api from transaction_master rows up to
+-- the txn_id high-water mark stored in summary_watermark. The mark only passes
+-- a txn_id once every transaction that could still commit a lower one has
+-- ended, and recent days are periodically recomputed in full.
+-- ============================================================================
+
+DROP TABLE IF EXISTS operators.merchant_daily_summary CASCADE;
+
+CREATE TABLE operators.merchant_daily_summary (
+    merchant_id VARCHAR(50) NOT NULL,
+    bucket_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    txn_count BIGINT NOT NULL,
+    total_amount DECIMAL(18,2) NOT NULL,
+    PRIMARY KEY (merchant_id, bucket_date, status)
+);
+
+DROP TABLE IF EXISTS operators.summary_watermark CASCADE;
+
+CREATE TABLE operators.summary_watermark (
+    name VARCHAR(50) PRIMARY KEY,
+    last_txn_id BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+INSERT INTO operators.summary_watermark (name, last_txn_id) VALUES ('merchant_daily_summary', 0);
+
 -- ============================================================================
 -- INDEXES (Current - Suboptimal)
 -- ============================================================================
@@ -79,6 +141,91 @@ CREATE INDEX idx_transaction_master_txn_date ON operators.transaction_master(txn
 CREATE INDEX idx_transaction_details_master_txn_id ON operators.transaction_details(master_txn_id);
 CREATE INDEX idx_members_member_id ON operators.members(member_id);
 
+-- Merchant transaction list: equality on merchant_id, then a range scan in the
+-- API's sort order (newest first, txn_id as tie-breaker for keyset paging)
+CREATE INDEX idx_transaction_master_merchant_time
+    ON operators.transaction_master(merchant_id, local_txn_date_time DESC, txn_id DESC);
+
+-- Per-merchant transaction high-water mark (max txn_id) for transaction page ETags
+CREATE INDEX idx_transaction_master_merchant_txn_id
+    ON operators.transaction_master(merchant_id, txn_id);
+
+-- Ingestion idempotency: POST /api/v1/transactions/batch skips an external_ref it has already
+-- stored (ON CONFLICT DO NOTHING). txn_date is part of the key so the same unique index can be
+-- created on a txn_date-partitioned transaction_master. Rows without external_ref are not constrained.
+CREATE UNIQUE INDEX uq_transaction_master_external_ref
+    ON operators.transaction_master(merchant_id, external_ref, txn_date);
+
+-- Merchant search: substring ILIKE on search_text
+CREATE INDEX IF NOT EXISTS idx_merchant_search_text_trgm
+    ON operators.merchant USING GIN (search_text gin_trgm_ops);
+
+-- One merchant per email, case-insensitively; also serves existsByEmailIgnoreCase.
+-- Rows written before this index may hold the same email in different case
+-- (orders@acme.io and Orders@Acme.io), and the index cannot be built over them.
+-- Which row to keep is a business decision, so they are not merged here: the
+-- block below fails and lists every conflicting group instead (with psql
+-- -v ON_ERROR_STOP=1 the script stops there). Resolve each group, merging or
+-- re-addressing the extra merchants, and run the file again. To list the
+-- groups without running the script:
+--   SELECT lower(email), string_agg(id, ', ' ORDER BY id)
+--   FROM operators.merchant WHERE email IS NOT NULL
+--   GROUP BY lower(email) HAVING count(*) > 1;
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(format('%s (%s)', email_key, ids), E'\n' ORDER BY email_key)
+    INTO conflicts
+    FROM (
+        SELECT lower(email) AS email_key, string_agg(id, ', ' ORDER BY id) AS ids
+        FROM operators.merchant
+        WHERE email IS NOT NULL
+        GROUP BY lower(email)
+        HAVING count(*) > 1
+    ) duplicates;
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'uq_merchant_email_lower cannot be built, these emails belong to more than one merchant:%', E'\n' || conflicts;
+    END IF;
+END
+$$;
+
+-- A concurrent build that failed leaves an invalid index behind, which
+-- IF NOT EXISTS would otherwise keep forever
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = 'operators' AND c.relname = 'uq_merchant_email_lower' AND NOT i.indisvalid
+    ) THEN
+        DROP INDEX operators.uq_merchant_email_lower;
+    END IF;
+END
+$$;
+
+-- CONCURRENTLY keeps merchant writes going during the build on a live
+-- database. It cannot run inside a transaction block, so apply this file with
+-- psql in its default autocommit mode, not with --single-transaction.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_merchant_email_lower
+    ON operators.merchant (lower(email));
+
+-- Merchant list sort keys (see MerchantSort); id breaks ties for keyset paging.
+-- payment-api sorts and seeks them in the "C" collation so that a page read from
+-- the database lines up with the same page from its in-memory index; an index
+-- in the database's default collation cannot serve those ORDER BYs, so older
+-- definitions are dropped first.
+DROP INDEX IF EXISTS operators.idx_merchant_id_c;
+DROP INDEX IF EXISTS operators.idx_merchant_name_id;
+DROP INDEX IF EXISTS operators.idx_merchant_email_id;
+DROP INDEX IF EXISTS operators.idx_merchant_status_id;
+DROP INDEX IF EXISTS operators.idx_merchant_business_name_id;
+CREATE INDEX idx_merchant_id_c ON operators.merchant (id COLLATE "C");
+CREATE INDEX idx_merchant_name_id ON operators.merchant (name COLLATE "C", id COLLATE "C");
+CREATE INDEX idx_merchant_email_id ON operators.merchant (email COLLATE "C", id COLLATE "C");
+CREATE INDEX idx_merchant_status_id ON operators.merchant (status COLLATE "C", id COLLATE "C");
+CREATE INDEX idx_merchant_business_name_id ON operators.merchant (business_name COLLATE "C", id COLLATE "C");
+
 -- ============================================================================
 -- COMMENTS
 -- ============================================================================
@@ -89,7 +236,10 @@ COMMENT ON TABLE operators.members IS 'Acquirer and issuer member directory';
 
 COMMENT ON COLUMN operators.transaction_master.txn_date IS 'Transaction date (used for partitioning in production)';
 COMMENT ON COLUMN operators.transaction_master.local_txn_date_time IS 'Transaction timestamp in local timezone';
+COMMENT ON COLUMN operators.transaction_master.external_ref IS 'Caller-supplied reference; makes batch ingestion idempotent';
 COMMENT ON COLUMN operators.transaction_details.master_txn_id IS 'Foreign key to transaction_master';
+COMMENT ON COLUMN operators.merchant_daily_summary.bucket_date IS 'UTC calendar day of transaction_master.local_txn_date_time';
+COMMENT ON TABLE operators.summary_watermark IS 'Highest transaction_master.txn_id folded into each rollup table';
 
 -- ============================================================================
 -- TABLE STATISTICS
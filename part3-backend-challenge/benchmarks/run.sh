@@ -0,0 +1,11 @@
+#!/usr/bin/env bash
+# Builds payment-api and the benchmark jar, then runs every benchmark with the GC profiler.
+# Throughput is in ops/s; gc.alloc.rate.norm is bytes allocated per operation.
+# Extra arguments go to JMH, e.g. ./run.sh TransactionMapping -p rows=100
+set -euo pipefail
+
+cd "$(dirname "$0")"
+mvn -B -q -f ../pom.xml install -DskipTests
+mvn -B -q package
+mkdir -p target/results
+java -jar target/benchmarks.jar -prof gc -rf json -rff "target/results/jmh-$(date +%Y%m%d-%H%M%S).json" "$@"
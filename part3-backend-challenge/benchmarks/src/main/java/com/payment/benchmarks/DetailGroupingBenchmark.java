@@ -0,0 +1,36 @@
+package com.payment.benchmarks;
+
+import com.payment.entity.TransactionDetail;
+import com.payment.usecase.TransactionMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouping of a page's detail rows by master_txn_id
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class DetailGroupingBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int rows;
+
+    private List<TransactionDetail> details;
+
+    @Setup
+    public void setUp() {
+        details = TransactionFixtures.details(TransactionFixtures.transactions(rows));
+    }
+
+    @Benchmark
+    public Map<Long, List<TransactionDetail>> groupByMasterTxnId() {
+        return TransactionMapper.groupByMasterTxnId(details);
+    }
+}
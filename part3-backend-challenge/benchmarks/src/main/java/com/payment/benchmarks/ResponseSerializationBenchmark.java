@@ -0,0 +1,37 @@
+package com.payment.benchmarks;
+
+import com.payment.payload.TransactionListResponse;
+import io.micronaut.serde.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * micronaut-serde JSON encoding of a full TransactionListResponse
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ResponseSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private TransactionListResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = ObjectMapper.getDefault();
+        response = TransactionFixtures.response(rows);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
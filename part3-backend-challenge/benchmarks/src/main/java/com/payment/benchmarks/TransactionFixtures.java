@@ -0,0 +1,107 @@
+package com.payment.benchmarks;
+
+import com.payment.entity.Member;
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import com.payment.payload.*;
+import com.payment.usecase.TransactionMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Deterministic synthetic rows shaped like the sample data: five details per transaction,
+ * a few hundred members, and a status mix close to production
+ */
+final class TransactionFixtures {
+
+    static final String MERCHANT_ID = "MCH-00001";
+    static final int DETAILS_PER_TRANSACTION = 5;
+    private static final int MEMBER_COUNT = 500;
+    private static final String[] STATUSES = {"completed", "completed", "completed", "pending", "failed", "reversed"};
+    private static final String[] DETAIL_TYPES = {"fee", "tax", "adjustment", "refund", "chargeback"};
+    private static final String[] CARD_TYPES = {"VISA", "MASTERCARD", "AMEX"};
+    private static final Instant BASE_TIME = Instant.parse("2025-11-18T00:00:00Z");
+
+    private TransactionFixtures() {
+    }
+
+    static List<TransactionMaster> transactions(int rows) {
+        Random random = new Random(rows);
+        List<TransactionMaster> transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            TransactionMaster txn = new TransactionMaster();
+            txn.setTxnId(1_000_000L + i);
+            txn.setMerchantId(MERCHANT_ID);
+            txn.setGpAcquirerId(1L + random.nextInt(MEMBER_COUNT));
+            txn.setGpIssuerId(1L + random.nextInt(MEMBER_COUNT));
+            txn.setLocalTxnDateTime(BASE_TIME.minusSeconds(37L * i));
+            txn.setAmount(BigDecimal.valueOf(100 + random.nextInt(99_900), 2));
+            txn.setCurrency("USD");
+            txn.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            txn.setCardType(CARD_TYPES[random.nextInt(CARD_TYPES.length)]);
+            txn.setCardLast4(String.format("%04d", random.nextInt(10_000)));
+            transactions.add(txn);
+        }
+        return transactions;
+    }
+
+    /**
+     * Details in database order (by master_txn_id, then detail id), as findByMasterTxnIdInList returns them
+     */
+    static List<TransactionDetail> details(List<TransactionMaster> transactions) {
+        List<TransactionDetail> details = new ArrayList<>(transactions.size() * DETAILS_PER_TRANSACTION);
+        long detailId = 1L;
+        for (TransactionMaster txn : transactions) {
+            for (int d = 0; d < DETAILS_PER_TRANSACTION; d++) {
+                TransactionDetail detail = new TransactionDetail();
+                detail.setTxnDetailId(detailId++);
+                detail.setMasterTxnId(txn.getTxnId());
+                detail.setDetailType(DETAIL_TYPES[d]);
+                detail.setAmount(BigDecimal.valueOf(50 + d * 25L, 2));
+                detail.setCurrency("USD");
+                detail.setDescription("Processing " + DETAIL_TYPES[d]);
+                detail.setLocalTxnDateTime(txn.getLocalTxnDateTime());
+                details.add(detail);
+            }
+        }
+        return details;
+    }
+
+    static Map<Long, Member> members() {
+        Map<Long, Member> members = new HashMap<>();
+        for (long id = 1; id <= MEMBER_COUNT; id++) {
+            Member member = new Member();
+            member.setMemberId(id);
+            member.setMemberName("Member Bank " + id);
+            member.setMemberType(id % 2 == 0 ? "acquirer" : "issuer");
+            member.setMemberCode("MB" + id);
+            member.setCountry("USA");
+            member.setStatus("active");
+            members.put(id, member);
+        }
+        return members;
+    }
+
+    static TransactionListResponse response(int rows) {
+        List<TransactionMaster> transactions = transactions(rows);
+        Map<Long, List<TransactionDetail>> detailsByTxnId = TransactionMapper.groupByMasterTxnId(details(transactions));
+        Map<Long, Member> members = members();
+        List<TransactionDTO> dtos = transactions.stream()
+                .map(txn -> TransactionMapper.toDTO(txn, detailsByTxnId.getOrDefault(txn.getTxnId(), List.of()), members))
+                .toList();
+        return new TransactionListResponse(
+                MERCHANT_ID,
+                new DateRangeDTO(transactions.get(rows - 1).getLocalTxnDateTime(), transactions.get(0).getLocalTxnDateTime()),
+                new TransactionSummaryDTO(
+                        (long) rows * 50,
+                        new BigDecimal("245670.50"),
+                        "USD",
+                        Map.of("completed", rows * 40L, "pending", rows * 5L, "failed", rows * 3L, "reversed", rows * 2L)
+                ),
+                dtos,
+                new PaginationDTO(0, rows, 50, (long) rows * 50, "bmV4dA")
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package com.payment.benchmarks;
+
+import com.payment.entity.Member;
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import com.payment.payload.TransactionDTO;
+import com.payment.usecase.TransactionMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of one transaction list page, as done by TransactionListUseCase
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TransactionMappingBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int rows;
+
+    private List<TransactionMaster> transactions;
+    private Map<Long, List<TransactionDetail>> detailsByTxnId;
+    private Map<Long, Member> members;
+
+    @Setup
+    public void setUp() {
+        transactions = TransactionFixtures.transactions(rows);
+        detailsByTxnId = TransactionMapper.groupByMasterTxnId(TransactionFixtures.details(transactions));
+        members = TransactionFixtures.members();
+    }
+
+    @Benchmark
+    public void mapPage(Blackhole blackhole) {
+        for (TransactionMaster txn : transactions) {
+            TransactionDTO dto = TransactionMapper.toDTO(txn, detailsByTxnId.getOrDefault(txn.getTxnId(), List.of()), members);
+            blackhole.consume(dto);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+#!/usr/bin/env bash
+# Runs the k6 scenario against a running payment-api and keeps the summary under results/.
+# Usage: ./run.sh <label> [extra k6 args], e.g. ./run.sh jdk17-io or ./run.sh jdk21-virtual -e VUS=400
+# Disable the response cache (PAYMENT_TRANSACTIONS_CACHE_MAX_WEIGHT=0) on the server so every
+# request reaches the database.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+label="${1:?usage: ./run.sh <label> [k6 args]}"
+shift
+mkdir -p results
+k6 run --summary-export "results/${label}-$(date +%Y%m%d-%H%M%S).json" "$@" transactions.js
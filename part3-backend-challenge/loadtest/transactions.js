@@ -0,0 +1,32 @@
+// k6 scenario for the JDBC-bound transaction list, paging through the first five pages
+// of a few merchants. Ramps to VUS concurrent clients, well above the connection pool size,
+// so the run shows how each execution mode queues when the database is the bottleneck.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = Number(__ENV.VUS || 200);
+const MERCHANTS = (__ENV.MERCHANTS || 'MCH-00001,MCH-00002,MCH-00003,MCH-00004,MCH-00005').split(',');
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: __ENV.HOLD || '2m', target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const merchantId = MERCHANTS[Math.floor(Math.random() * MERCHANTS.length)];
+    const page = Math.floor(Math.random() * 5);
+    const list = http.get(`${BASE_URL}/api/v1/transactions/${merchantId}/transactions?page=${page}&size=20`,
+        { tags: { endpoint: 'transactions' } });
+    check(list, { 'transactions 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,107 @@
+package com.payment.cache;
+
+import java.util.Map;
+
+/**
+ * Immutable open-addressing map keyed by primitive long.
+ * Lookups never box the key, which keeps per-row member resolution allocation free.
+ * Changes produce a new instance, so a reader holding a reference always sees a consistent snapshot.
+ */
+final class LongKeyedMap<V> {
+
+    private static final LongKeyedMap<?> EMPTY = new LongKeyedMap<>(new long[1], new Object[1], 0);
+
+    private final long[] keys;
+    private final Object[] values;
+    private final int size;
+    private final int mask;
+
+    private LongKeyedMap(long[] keys, Object[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+        this.mask = keys.length - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> LongKeyedMap<V> empty() {
+        return (LongKeyedMap<V>) EMPTY;
+    }
+
+    static <V> LongKeyedMap<V> copyOf(Map<Long, V> entries) {
+        int capacity = tableSizeFor(entries.size());
+        long[] keys = new long[capacity];
+        Object[] values = new Object[capacity];
+        entries.forEach((key, value) -> insert(keys, values, key, value));
+        return new LongKeyedMap<>(keys, values, entries.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int index = slot(key, mask);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Returns a copy with the given entries added or replaced.
+     */
+    LongKeyedMap<V> withAll(Map<Long, V> entries) {
+        if (entries.isEmpty()) {
+            return this;
+        }
+        int capacity = tableSizeFor(size + entries.size());
+        long[] newKeys = new long[capacity];
+        Object[] newValues = new Object[capacity];
+        int newSize = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && !entries.containsKey(keys[i])) {
+                insert(newKeys, newValues, keys[i], values[i]);
+                newSize++;
+            }
+        }
+        for (Map.Entry<Long, V> entry : entries.entrySet()) {
+            insert(newKeys, newValues, entry.getKey(), entry.getValue());
+            newSize++;
+        }
+        return new LongKeyedMap<>(newKeys, newValues, newSize);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static void insert(long[] keys, Object[] values, long key, Object value) {
+        int mask = keys.length - 1;
+        int index = slot(key, mask);
+        while (values[index] != null && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Power-of-two table at most half full, so probe chains stay short.
+     */
+    private static int tableSizeFor(int entries) {
+        int capacity = Integer.highestOneBit(Math.max(1, entries) * 2 - 1) << 1;
+        return Math.max(capacity, 2);
+    }
+
+    @Override
+    public String toString() {
+        return "LongKeyedMap{size=" + size + ", capacity=" + keys.length + "}";
+    }
+}
@@ -0,0 +1,223 @@
+package com.payment.cache;
+
+import com.payment.config.DatabaseConnectionLimiter;
+import com.payment.entity.Member;
+import com.payment.repository.MemberRepository;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory directory of acquirer and issuer members.
+ * The members table is small and rarely changes, so the whole table is loaded at startup,
+ * reloaded on a schedule and on explicit invalidation, and lookups are served from memory.
+ * Misses are loaded on the caller's request, so they take a DatabaseConnectionLimiter permit, as
+ * does the first load when a request finds the directory empty. IDs the database does not know
+ * are remembered as absent for MISS_TTL or until the next refresh, whichever comes first, so a
+ * dangling reference costs one query per minute instead of one per lookup.
+ */
+@Singleton
+public class MemberDirectory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MemberDirectory.class);
+    static final Duration MISS_TTL = Duration.ofMinutes(1);
+    // Past this many remembered absent IDs the set is dropped rather than grown
+    static final int ABSENT_LIMIT = 10_000;
+
+    private final MemberRepository memberRepository;
+    private final DatabaseConnectionLimiter databaseConnectionLimiter;
+    private final Clock clock;
+    private final Map<Long, Instant> absentUntil = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile LongKeyedMap<Member> members = LongKeyedMap.empty();
+    private volatile Instant lastRefreshedAt;
+
+    @Inject
+    public MemberDirectory(MemberRepository memberRepository, DatabaseConnectionLimiter databaseConnectionLimiter) {
+        this(memberRepository, databaseConnectionLimiter, Clock.systemUTC());
+    }
+
+    MemberDirectory(MemberRepository memberRepository, DatabaseConnectionLimiter databaseConnectionLimiter, Clock clock) {
+        this.memberRepository = memberRepository;
+        this.databaseConnectionLimiter = databaseConnectionLimiter;
+        this.clock = clock;
+    }
+
+    @EventListener
+    public void onStartup(StartupEvent event) {
+        refreshQuietly();
+    }
+
+    @Scheduled(
+            fixedDelay = "${payment.members.refresh-interval:10m}",
+            initialDelay = "${payment.members.refresh-interval:10m}"
+    )
+    public void scheduledRefresh() {
+        refreshQuietly();
+    }
+
+    /**
+     * Reloads every member and swaps the snapshot in one step.
+     */
+    public synchronized void refresh() {
+        Map<Long, Member> loaded = new HashMap<>();
+        for (Member member : memberRepository.findAll()) {
+            loaded.put(member.getMemberId(), member);
+        }
+        members = LongKeyedMap.copyOf(loaded);
+        absentUntil.clear();
+        lastRefreshedAt = clock.instant();
+        LOG.info("Member directory loaded {} members", loaded.size());
+    }
+
+    /**
+     * Drops the cached snapshot and reloads it from the database.
+     */
+    public void invalidate() {
+        refresh();
+    }
+
+    public Optional<Member> findById(Long memberId) {
+        if (memberId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(findAllById(List.of(memberId)).get(memberId));
+    }
+
+    /**
+     * Resolves the given member IDs, loading only the ones missing from the snapshot.
+     */
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        ensureLoaded();
+        List<Long> missing = new ArrayList<>();
+        Map<Long, Member> found = findAllLoadedById(memberIds, missing);
+        if (!missing.isEmpty()) {
+            found.putAll(loadMissing(missing));
+        }
+        return found;
+    }
+
+    /**
+     * Resolves the given member IDs from the snapshot only, adding the ones it lacks to missing.
+     * IDs remembered as absent are neither found nor missing.
+     * Never touches the database; the reactive transaction list loads the misses itself and hands them to addAll.
+     */
+    public Map<Long, Member> findAllLoadedById(Collection<Long> memberIds, Collection<Long> missing) {
+        LongKeyedMap<Member> snapshot = members;
+        Map<Long, Member> found = new HashMap<>();
+        for (Long memberId : memberIds) {
+            Member member = snapshot.get(memberId);
+            if (member != null) {
+                hits.increment();
+                found.put(memberId, member);
+            } else if (isKnownAbsent(memberId)) {
+                hits.increment();
+            } else {
+                misses.increment();
+                missing.add(memberId);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Adds members loaded outside the directory to the snapshot and remembers the requested IDs
+     * the load did not return as absent
+     */
+    public void addAll(Collection<Long> requestedIds, Collection<Member> loaded) {
+        Map<Long, Member> byId = new HashMap<>();
+        for (Member member : loaded) {
+            byId.put(member.getMemberId(), member);
+        }
+        rememberAbsent(requestedIds, byId.keySet());
+        if (byId.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            members = members.withAll(byId);
+        }
+    }
+
+    public MemberDirectoryStats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return new MemberDirectoryStats(
+                members.size(),
+                hitCount,
+                missCount,
+                lookups == 0 ? 0d : (double) hitCount / lookups,
+                lastRefreshedAt
+        );
+    }
+
+    private Map<Long, Member> loadMissing(List<Long> memberIds) {
+        // One round trip for all misses on the page
+        Map<Long, Member> loaded = new HashMap<>();
+        for (Member member : databaseConnectionLimiter.call(() -> memberRepository.findByMemberIdInList(memberIds))) {
+            loaded.put(member.getMemberId(), member);
+        }
+        addAll(memberIds, loaded.values());
+        return loaded;
+    }
+
+    private boolean isKnownAbsent(Long memberId) {
+        Instant until = absentUntil.get(memberId);
+        if (until == null) {
+            return false;
+        }
+        if (clock.instant().isBefore(until)) {
+            return true;
+        }
+        absentUntil.remove(memberId, until);
+        return false;
+    }
+
+    private void rememberAbsent(Collection<Long> requestedIds, Set<Long> foundIds) {
+        Instant until = clock.instant().plus(MISS_TTL);
+        for (Long memberId : requestedIds) {
+            if (!foundIds.contains(memberId)) {
+                if (absentUntil.size() >= ABSENT_LIMIT) {
+                    absentUntil.clear();
+                }
+                absentUntil.put(memberId, until);
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (lastRefreshedAt == null) {
+            // The first load runs on a request thread, so it holds a permit like any other query
+            databaseConnectionLimiter.call(() -> {
+                synchronized (this) {
+                    if (lastRefreshedAt == null) {
+                        refresh();
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot; misses still fall back to the database
+            LOG.warn("Member directory refresh failed", e);
+        }
+    }
+}
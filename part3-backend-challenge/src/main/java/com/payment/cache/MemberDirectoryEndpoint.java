@@ -0,0 +1,30 @@
+package com.payment.cache;
+
+import io.micronaut.management.endpoint.annotation.Delete;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+/**
+ * Management endpoint for the member directory.
+ * GET /memberdirectory returns hit/miss metrics, DELETE /memberdirectory reloads the members.
+ */
+@Endpoint(id = "memberdirectory")
+public class MemberDirectoryEndpoint {
+
+    private final MemberDirectory memberDirectory;
+
+    public MemberDirectoryEndpoint(MemberDirectory memberDirectory) {
+        this.memberDirectory = memberDirectory;
+    }
+
+    @Read
+    public MemberDirectoryStats stats() {
+        return memberDirectory.stats();
+    }
+
+    @Delete
+    public MemberDirectoryStats invalidate() {
+        memberDirectory.invalidate();
+        return memberDirectory.stats();
+    }
+}
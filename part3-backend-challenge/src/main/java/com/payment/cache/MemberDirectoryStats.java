@@ -0,0 +1,21 @@
+package com.payment.cache;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.Instant;
+
+/**
+ * Hit/miss counters for the member directory
+ */
+@Introspected
+@Serdeable
+public record MemberDirectoryStats(
+        int size,
+        long hits,
+        long misses,
+        double hitRatio,
+        @Nullable Instant lastRefreshedAt
+) {
+}
@@ -0,0 +1,413 @@
+package com.payment.cache;
+
+import com.payment.event.TransactionsChangedEvent;
+import com.payment.payload.DateRangeDTO;
+import com.payment.payload.TransactionDTO;
+import com.payment.payload.TransactionListRequest;
+import com.payment.payload.TransactionListResponse;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of transaction list responses, keyed by the normalized request.
+ * Only the key is normalized: a miss is loaded with the caller's exact request, and an entry is
+ * handed to a caller with a different range only when both ranges provably cover the same
+ * transactions (see coversSameRows), so the rows, summary and pagination are exactly what the
+ * caller's own range would give. Any other caller loads its range and replaces the entry.
+ * Entries are weighed by the rows they hold (one per transaction and per detail), the least
+ * recently used are evicted once maxWeight is exceeded, and each entry lives at most ttl.
+ * A TransactionsChangedEvent drops every entry of the merchants it names; loads that started
+ * before an invalidation are returned to their caller but not stored. Concurrent misses for the
+ * same request share one load.
+ */
+@Singleton
+public class TransactionListCache {
+
+    private record Entry(
+            TransactionListRequest loadedFor,
+            Optional<TransactionListResponse> response,
+            long weight,
+            Instant expiresAt
+    ) {}
+
+    private record Lookup(Optional<TransactionListResponse> hit, long generation) {}
+
+    private final long maxWeight;
+    private final Duration ttl;
+    private final Duration dateBucket;
+    private final Clock clock;
+
+    private final LinkedHashMap<TransactionListRequest, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Set<TransactionListRequest>> keysByMerchant = new HashMap<>();
+    private final Map<TransactionListRequest, CompletableFuture<Optional<TransactionListResponse>>> loading =
+            new ConcurrentHashMap<>();
+    private long weight;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    @Inject
+    public TransactionListCache(
+            @Value("${payment.transactions.cache.max-weight:200000}") long maxWeight,
+            @Value("${payment.transactions.cache.ttl:5m}") Duration ttl,
+            @Value("${payment.transactions.cache.date-bucket:1m}") Duration dateBucket
+    ) {
+        this(maxWeight, ttl, dateBucket, Clock.systemUTC());
+    }
+
+    TransactionListCache(long maxWeight, Duration ttl, Duration dateBucket, Clock clock) {
+        this.maxWeight = maxWeight;
+        this.ttl = ttl;
+        this.dateBucket = dateBucket;
+        this.clock = clock;
+    }
+
+    /**
+     * A cache that stores nothing; every request is loaded
+     */
+    public static TransactionListCache disabled() {
+        return new TransactionListCache(0, Duration.ZERO, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * Widens startDate down and endDate up to the date bucket, so requests for "the last 7 days"
+     * made a few seconds apart become the same key. Used for the key only, never executed.
+     */
+    public TransactionListRequest normalize(TransactionListRequest request) {
+        if (dateBucket.isZero() || (request.startDate() == null && request.endDate() == null)) {
+            return request;
+        }
+        long bucketMillis = dateBucket.toMillis();
+        Instant start = request.startDate() != null
+                ? Instant.ofEpochMilli(Math.floorDiv(request.startDate().toEpochMilli(), bucketMillis) * bucketMillis)
+                : null;
+        Instant end = null;
+        if (request.endDate() != null) {
+            long floor = Math.floorDiv(request.endDate().toEpochMilli(), bucketMillis) * bucketMillis;
+            // Inclusive upper bound: the last instant of the bucket the end date falls in
+            end = Instant.ofEpochMilli(floor + bucketMillis).minusNanos(1000);
+        }
+        return new TransactionListRequest(
+                request.merchantId(),
+                request.page(),
+                request.size(),
+                start,
+                end,
+                request.status(),
+                request.cursor()
+        );
+    }
+
+    /**
+     * Cached response for the request, loading it with the request itself on a miss.
+     * The loader runs on the caller's thread only on a miss, so hits cost no database work.
+     */
+    public Optional<TransactionListResponse> get(
+            TransactionListRequest request,
+            Function<TransactionListRequest, Optional<TransactionListResponse>> loader
+    ) {
+        if (maxWeight <= 0) {
+            return loader.apply(request);
+        }
+        TransactionListRequest key = normalize(request);
+        Lookup lookup = lookup(key, request);
+        if (lookup.hit() != null) {
+            return fitTo(request, lookup.hit());
+        }
+
+        // In-flight loads are shared by exact request, since only those are known to give the same response
+        CompletableFuture<Optional<TransactionListResponse>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<TransactionListResponse>> inProgress = loading.putIfAbsent(request, load);
+        if (inProgress != null) {
+            return awaitLoad(inProgress);
+        }
+        try {
+            long started = System.nanoTime();
+            Optional<TransactionListResponse> response = loader.apply(request);
+            loadNanos.add(System.nanoTime() - started);
+            loads.increment();
+            store(key, request, response, lookup.generation());
+            load.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(request, load);
+        }
+    }
+
+    /**
+     * Non-blocking get for the reactive transaction list: the loader returns a future instead of a value.
+     * Shares entries, in-flight loads and invalidation with get.
+     */
+    public CompletableFuture<Optional<TransactionListResponse>> getAsync(
+            TransactionListRequest request,
+            Function<TransactionListRequest, CompletableFuture<Optional<TransactionListResponse>>> loader
+    ) {
+        if (maxWeight <= 0) {
+            return loader.apply(request);
+        }
+        TransactionListRequest key = normalize(request);
+        Lookup lookup = lookup(key, request);
+        if (lookup.hit() != null) {
+            return CompletableFuture.completedFuture(fitTo(request, lookup.hit()));
+        }
+
+        CompletableFuture<Optional<TransactionListResponse>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<TransactionListResponse>> inProgress = loading.putIfAbsent(request, load);
+        if (inProgress != null) {
+            // copy makes a dependent future, so a caller cancelling it does not cancel the shared load
+            return inProgress.copy();
+        }
+        long started = System.nanoTime();
+        CompletableFuture<Optional<TransactionListResponse>> loaded;
+        try {
+            loaded = loader.apply(request);
+        } catch (RuntimeException e) {
+            loaded = CompletableFuture.failedFuture(e);
+        }
+        loaded.whenComplete((response, error) -> {
+            if (error == null) {
+                loadNanos.add(System.nanoTime() - started);
+                loads.increment();
+                store(key, request, response, lookup.generation());
+                load.complete(response);
+            } else {
+                load.completeExceptionally(error);
+            }
+            loading.remove(request, load);
+        });
+        return load.copy();
+    }
+
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        invalidate(event.merchantIds());
+    }
+
+    /**
+     * Drops every cached page of the given merchants
+     */
+    public synchronized void invalidate(Collection<String> merchantIds) {
+        generation++;
+        for (String merchantId : merchantIds) {
+            Set<TransactionListRequest> keys = keysByMerchant.get(merchantId);
+            if (keys == null) {
+                continue;
+            }
+            for (TransactionListRequest key : List.copyOf(keys)) {
+                remove(key);
+                invalidations.increment();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations.add(entries.size());
+        entries.clear();
+        keysByMerchant.clear();
+        weight = 0;
+    }
+
+    public TransactionListCacheStats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        long loadCount = loads.sum();
+        int size;
+        long currentWeight;
+        synchronized (this) {
+            size = entries.size();
+            currentWeight = weight;
+        }
+        return new TransactionListCacheStats(
+                size,
+                currentWeight,
+                maxWeight,
+                hitCount,
+                missCount,
+                lookups == 0 ? 0d : (double) hitCount / lookups,
+                evictions.sum(),
+                invalidations.sum(),
+                loadCount,
+                loadCount == 0 ? 0d : loadNanos.sum() / 1_000_000d / loadCount
+        );
+    }
+
+    static long weigh(Optional<TransactionListResponse> response) {
+        long rows = 1;
+        if (response.isPresent() && response.get().transactions() != null) {
+            for (TransactionDTO transaction : response.get().transactions()) {
+                rows += 1 + (transaction.details() != null ? transaction.details().size() : 0);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Whether a response loaded for one request is also the exact response to another request
+     * with the same key. Equal ranges always are. Otherwise the loaded range must contain the
+     * requested one, and the response must hold every transaction of its range, all of them inside
+     * the requested range: both ranges then cover the same transactions, so the rows, summary and
+     * pagination carry over unchanged. Anything else could differ in transactions the page does
+     * not show.
+     */
+    static boolean coversSameRows(
+            TransactionListRequest loadedFor,
+            TransactionListRequest request,
+            Optional<TransactionListResponse> response
+    ) {
+        if (Objects.equals(loadedFor.startDate(), request.startDate())
+                && Objects.equals(loadedFor.endDate(), request.endDate())) {
+            return true;
+        }
+        if (response.isEmpty()) {
+            // No merchant, whatever the range
+            return true;
+        }
+        if (!contains(loadedFor, request)) {
+            return false;
+        }
+        TransactionListResponse loaded = response.get();
+        List<TransactionDTO> transactions = loaded.transactions();
+        if (transactions == null || loaded.summary() == null || loaded.summary().totalTransactions() == null
+                || loaded.summary().totalTransactions() != transactions.size()) {
+            return false;
+        }
+        for (TransactionDTO transaction : transactions) {
+            Instant timestamp = transaction.timestamp();
+            if (timestamp == null
+                    || (request.startDate() != null && timestamp.isBefore(request.startDate()))
+                    || (request.endDate() != null && timestamp.isAfter(request.endDate()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The response with the date range the given request asked for; coversSameRows has already
+     * established that everything else is the same. Returns the same instance when nothing changes.
+     */
+    static Optional<TransactionListResponse> fitTo(
+            TransactionListRequest request,
+            Optional<TransactionListResponse> response
+    ) {
+        if (response.isEmpty() || (request.startDate() == null && request.endDate() == null)) {
+            return response;
+        }
+        TransactionListResponse cached = response.get();
+        DateRangeDTO cachedRange = cached.dateRange();
+        DateRangeDTO dateRange = new DateRangeDTO(
+                request.startDate() != null ? request.startDate() : cachedRange != null ? cachedRange.start() : null,
+                request.endDate() != null ? request.endDate() : cachedRange != null ? cachedRange.end() : null
+        );
+        if (dateRange.equals(cachedRange)) {
+            return response;
+        }
+        return Optional.of(new TransactionListResponse(
+                cached.merchantId(),
+                dateRange,
+                cached.summary(),
+                cached.transactions(),
+                cached.pagination()
+        ));
+    }
+
+    private static boolean contains(TransactionListRequest outer, TransactionListRequest inner) {
+        boolean startInside = outer.startDate() == null
+                || (inner.startDate() != null && !inner.startDate().isBefore(outer.startDate()));
+        boolean endInside = outer.endDate() == null
+                || (inner.endDate() != null && !inner.endDate().isAfter(outer.endDate()));
+        return startInside && endInside;
+    }
+
+    /**
+     * The live entry under the key if it answers the request exactly, or a miss carrying the
+     * generation the load starts from. An entry loaded for another range stays until the load replaces it.
+     */
+    private synchronized Lookup lookup(TransactionListRequest key, TransactionListRequest request) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt().isAfter(clock.instant())) {
+            if (coversSameRows(entry.loadedFor(), request, entry.response())) {
+                hits.increment();
+                return new Lookup(entry.response(), generation);
+            }
+        } else if (entry != null) {
+            remove(key);
+        }
+        misses.increment();
+        return new Lookup(null, generation);
+    }
+
+    private synchronized void store(
+            TransactionListRequest key,
+            TransactionListRequest loadedFor,
+            Optional<TransactionListResponse> response,
+            long loadGeneration
+    ) {
+        long entryWeight = weigh(response);
+        if (loadGeneration != generation || entryWeight > maxWeight) {
+            return;
+        }
+        remove(key);
+        entries.put(key, new Entry(loadedFor, response, entryWeight, clock.instant().plus(ttl)));
+        keysByMerchant.computeIfAbsent(key.merchantId(), merchantId -> new HashSet<>()).add(key);
+        weight += entryWeight;
+        Iterator<Map.Entry<TransactionListRequest, Entry>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<TransactionListRequest, Entry> evicted = eldest.next();
+            eldest.remove();
+            unlink(evicted.getKey(), evicted.getValue());
+            evictions.increment();
+        }
+    }
+
+    private void remove(TransactionListRequest request) {
+        Entry removed = entries.remove(request);
+        if (removed != null) {
+            unlink(request, removed);
+        }
+    }
+
+    private void unlink(TransactionListRequest request, Entry entry) {
+        weight -= entry.weight();
+        Set<TransactionListRequest> keys = keysByMerchant.get(request.merchantId());
+        if (keys != null) {
+            keys.remove(request);
+            if (keys.isEmpty()) {
+                keysByMerchant.remove(request.merchantId());
+            }
+        }
+    }
+
+    private static Optional<TransactionListResponse> awaitLoad(CompletableFuture<Optional<TransactionListResponse>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
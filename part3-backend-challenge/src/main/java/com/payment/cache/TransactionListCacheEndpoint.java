@@ -0,0 +1,30 @@
+package com.payment.cache;
+
+import io.micronaut.management.endpoint.annotation.Delete;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+/**
+ * Management endpoint for the transaction list cache.
+ * GET /transactionlistcache returns its metrics, DELETE /transactionlistcache empties it.
+ */
+@Endpoint(id = "transactionlistcache")
+public class TransactionListCacheEndpoint {
+
+    private final TransactionListCache transactionListCache;
+
+    public TransactionListCacheEndpoint(TransactionListCache transactionListCache) {
+        this.transactionListCache = transactionListCache;
+    }
+
+    @Read
+    public TransactionListCacheStats stats() {
+        return transactionListCache.stats();
+    }
+
+    @Delete
+    public TransactionListCacheStats invalidate() {
+        transactionListCache.invalidateAll();
+        return transactionListCache.stats();
+    }
+}
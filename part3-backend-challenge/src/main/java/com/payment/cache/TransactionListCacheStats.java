@@ -0,0 +1,23 @@
+package com.payment.cache;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * Size, hit/miss, eviction and load-time metrics for the transaction list cache
+ */
+@Introspected
+@Serdeable
+public record TransactionListCacheStats(
+        int size,
+        long weight,
+        long maxWeight,
+        long hits,
+        long misses,
+        double hitRatio,
+        long evictions,
+        long invalidations,
+        long loads,
+        double averageLoadMillis
+) {
+}
@@ -0,0 +1,147 @@
+package com.payment.config;
+
+import com.payment.repository.MerchantRepository;
+import com.payment.repository.TransactionRepository;
+import com.payment.repository.TransactionRepository.PageVersion;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import jakarta.inject.Inject;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Conditional GET for the merchant detail and transaction list endpoints.
+ * The ETag is worked out before the controller runs, from database state only, so every instance
+ * derives the same tag and writes made anywhere are seen. Each is a single indexed lookup on the
+ * blocking pool under a DatabaseConnectionLimiter permit. For merchant detail it is the merchant's
+ * version column. For transaction pages it is the merchant's highest txn_id and the rollup
+ * watermark (see TransactionRepository.findPageVersion), plus the query string and the current
+ * cache-ttl window: status updates add no txn_id and only move the watermark once reconciliation
+ * finds them, and a page may be served from TransactionListCache for up to a ttl after a write
+ * another instance made, so the window bounds how long either can hide behind a 304.
+ * A matching If-None-Match is answered with 304 without loading or serializing anything.
+ * Transaction ETags are weak because member names in the page come from the member directory.
+ */
+@ServerFilter({"/api/v1/merchants/*", "/api/v1/transactions/*/transactions"})
+public class ConditionalGetFilter {
+
+    static final String CACHE_CONTROL = "private, no-cache";
+    private static final String ETAG_ATTRIBUTE = ConditionalGetFilter.class.getName() + ".etag";
+
+    private final MerchantRepository merchantRepository;
+    private final TransactionRepository transactionRepository;
+    private final DatabaseConnectionLimiter databaseConnectionLimiter;
+    private final Duration cacheTtl;
+    private final Clock clock;
+
+    @Inject
+    public ConditionalGetFilter(
+            MerchantRepository merchantRepository,
+            TransactionRepository transactionRepository,
+            DatabaseConnectionLimiter databaseConnectionLimiter,
+            @Value("${payment.transactions.cache.ttl:5m}") Duration cacheTtl
+    ) {
+        this(merchantRepository, transactionRepository, databaseConnectionLimiter, cacheTtl, Clock.systemUTC());
+    }
+
+    ConditionalGetFilter(
+            MerchantRepository merchantRepository,
+            TransactionRepository transactionRepository,
+            DatabaseConnectionLimiter databaseConnectionLimiter,
+            Duration cacheTtl,
+            Clock clock
+    ) {
+        this.merchantRepository = merchantRepository;
+        this.transactionRepository = transactionRepository;
+        this.databaseConnectionLimiter = databaseConnectionLimiter;
+        this.cacheTtl = cacheTtl;
+        this.clock = clock;
+    }
+
+    @RequestFilter
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    @Nullable
+    public MutableHttpResponse<?> checkNotModified(HttpRequest<?> request) {
+        if (request.getMethod() != HttpMethod.GET && request.getMethod() != HttpMethod.HEAD) {
+            return null;
+        }
+        String etag = resolveETag(request);
+        if (etag == null) {
+            return null;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        String ifNoneMatch = String.join(",", request.getHeaders().getAll(HttpHeaders.IF_NONE_MATCH));
+        if (matches(ifNoneMatch, etag)) {
+            return HttpResponse.notModified()
+                    .header(HttpHeaders.ETAG, etag)
+                    .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return null;
+    }
+
+    @ResponseFilter
+    public void addValidators(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        if (response.getStatus() != HttpStatus.OK) {
+            return;
+        }
+        request.getAttribute(ETAG_ATTRIBUTE, String.class).ifPresent(etag -> {
+            response.header(HttpHeaders.ETAG, etag);
+            response.header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        });
+    }
+
+    /**
+     * ETag for the resource at the request path, or null when it has none
+     */
+    @Nullable
+    String resolveETag(HttpRequest<?> request) {
+        // "", "api", "v1", resource, id[, "transactions"]
+        String[] segments = request.getPath().split("/");
+        if (segments.length == 5 && "merchants".equals(segments[3])) {
+            return databaseConnectionLimiter.call(() -> merchantRepository.findVersionById(segments[4]))
+                    .map(version -> "\"m" + version + "\"")
+                    .orElse(null);
+        }
+        if (segments.length == 6 && "transactions".equals(segments[3]) && "transactions".equals(segments[5])) {
+            PageVersion version = databaseConnectionLimiter.call(() -> transactionRepository.findPageVersion(segments[4]));
+            long window = cacheTtl.isZero() ? 0 : clock.millis() / cacheTtl.toMillis();
+            String query = request.getUri().getRawQuery();
+            return "W/\"t" + version.maxTxnId() + "." + version.watermark() + "." + version.watermarkUpdatedMicros()
+                    + "." + window + "-" + Integer.toHexString(query != null ? query.hashCode() : 0) + "\"";
+        }
+        return null;
+    }
+
+    /**
+     * Weak comparison, as If-None-Match requires: W/ prefixes are ignored
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,17 @@
+package com.payment.config;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks controller and use case methods that block on JDBC one connection at a time; they are
+ * admitted through DatabaseConcurrencyInterceptor, which holds one DatabaseConnectionLimiter
+ * permit for the whole call.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+public @interface DatabaseBound {
+}
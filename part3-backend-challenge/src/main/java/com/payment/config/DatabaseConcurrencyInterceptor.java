@@ -0,0 +1,27 @@
+package com.payment.config;
+
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import jakarta.inject.Singleton;
+
+/**
+ * Runs @DatabaseBound calls on one DatabaseConnectionLimiter permit.
+ * Only suitable for calls that use at most one connection at a time; work that fans out to
+ * parallel queries takes a permit per query instead.
+ */
+@Singleton
+@InterceptorBean(DatabaseBound.class)
+public class DatabaseConcurrencyInterceptor implements MethodInterceptor<Object, Object> {
+
+    private final DatabaseConnectionLimiter databaseConnectionLimiter;
+
+    public DatabaseConcurrencyInterceptor(DatabaseConnectionLimiter databaseConnectionLimiter) {
+        this.databaseConnectionLimiter = databaseConnectionLimiter;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        return databaseConnectionLimiter.call(context::proceed);
+    }
+}
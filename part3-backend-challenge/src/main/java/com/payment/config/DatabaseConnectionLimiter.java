@@ -0,0 +1,67 @@
+package com.payment.config;
+
+import com.payment.exception.QueryTimeoutException;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounds how many pooled JDBC connections request work holds at once.
+ * One permit stands for one connection, so it is taken where a connection is taken: around each
+ * query a request fans out to the query executor, around member directory misses, around the
+ * conditional GET lookup, around merchant searches the index cannot answer and each merchant import
+ * batch, and around whole @DatabaseBound calls that use one connection at a time.
+ * A thread that already holds a permit runs nested work on it, since it never uses two connections
+ * at once. Callers over the limit queue for up to queueTimeout and are then turned away with a 503
+ * instead of piling up on Hikari's 30s connection timeout.
+ * Exports and background jobs are not counted here; payment.http.max-db-connections is sized to
+ * what the pool has left after them (see application.yml).
+ */
+@Singleton
+public class DatabaseConnectionLimiter {
+
+    private final Semaphore permits;
+    private final Duration queueTimeout;
+    private final ThreadLocal<int[]> heldByThread = ThreadLocal.withInitial(() -> new int[1]);
+
+    public DatabaseConnectionLimiter(
+            @Value("${payment.http.max-db-connections:${datasources.default.maximum-pool-size:10}}") int maxConnections,
+            @Value("${payment.http.db-queue-timeout:2s}") Duration queueTimeout
+    ) {
+        this.permits = new Semaphore(maxConnections, true);
+        this.queueTimeout = queueTimeout;
+    }
+
+    /**
+     * Runs work while holding one connection permit, or on the caller's permit if it already holds one
+     */
+    public <T> T call(Supplier<T> work) {
+        int[] held = heldByThread.get();
+        if (held[0] > 0) {
+            return work.get();
+        }
+        try {
+            if (!permits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new QueryTimeoutException("Server is busy, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Interrupted while waiting for a database slot");
+        }
+        held[0]++;
+        try {
+            return work.get();
+        } finally {
+            held[0]--;
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
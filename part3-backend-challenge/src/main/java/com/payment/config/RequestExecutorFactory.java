@@ -0,0 +1,51 @@
+package com.payment.config;
+
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executor the JDBC-backed controllers run on (see @ExecuteOn(REQUEST)).
+ * With payment.http.virtual-threads enabled on JDK 21+ this is Micronaut's own virtual-thread
+ * executor (TaskExecutors.VIRTUAL, tunable under micronaut.executors.virtual), so a slow database
+ * no longer parks the platform IO pool; connections are then bounded by DatabaseConnectionLimiter
+ * instead of by thread count. Otherwise, or on a JDK without virtual threads (where Micronaut does
+ * not register that executor), requests run on the IO pool as before.
+ */
+@Factory
+public class RequestExecutorFactory {
+
+    public static final String REQUEST = "request";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestExecutorFactory.class);
+
+    @Singleton
+    @Named(REQUEST)
+    ExecutorService requestExecutor(
+            @Value("${payment.http.virtual-threads:false}") boolean virtualThreads,
+            @Named(TaskExecutors.IO) ExecutorService ioExecutor,
+            BeanLocator beanLocator
+    ) {
+        if (!virtualThreads) {
+            return ioExecutor;
+        }
+        Optional<ExecutorService> virtualExecutor =
+                beanLocator.findBean(ExecutorService.class, Qualifiers.byName(TaskExecutors.VIRTUAL));
+        if (virtualExecutor.isPresent()) {
+            LOG.info("Controllers run on virtual threads");
+            return virtualExecutor.get();
+        }
+        LOG.warn("payment.http.virtual-threads is set but JDK {} has no virtual threads; using the IO pool",
+                Runtime.version().feature());
+        return ioExecutor;
+    }
+}
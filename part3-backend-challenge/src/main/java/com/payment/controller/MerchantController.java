@@ -1,35 +1,46 @@
 package com.payment.controller;
+import com.payment.config.DatabaseBound;
+import com.payment.config.RequestExecutorFactory;
 import com.payment.payload.merchants.MerchantAddPayload;
 import com.payment.payload.merchants.MerchantDetailPayload;
 import com.payment.payload.merchants.MerchantDetailResponse;
 import com.payment.payload.merchants.MerchantEditPayload;
+import com.payment.payload.merchants.MerchantImportFormat;
+import com.payment.payload.merchants.MerchantImportRequest;
 import com.payment.usecase.MerchantAddUseCase;
 import com.payment.usecase.MerchantDetailUseCase;
 import com.payment.usecase.MerchantEditUseCase;
+import com.payment.usecase.MerchantImportUseCase;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.annotation.*;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import jakarta.inject.Inject;
 import com.payment.RestResponse;
 import com.payment.payload.SearchRequestPayload;
 import com.payment.usecase.MerchantListUseCase;
 
+import java.io.InputStream;
 import java.util.Optional;
 
 
 @Controller("/api/v1/merchants")
+@ExecuteOn(RequestExecutorFactory.REQUEST)
 public class MerchantController {
 
     private final MerchantListUseCase merchantListUseCase;
     private final MerchantAddUseCase merchantAddUseCase;
     private  final MerchantEditUseCase merchantEditUseCase;
     private final MerchantDetailUseCase merchantDetailUseCase;
+    private final MerchantImportUseCase merchantImportUseCase;
 
     @Inject
-    public MerchantController(MerchantListUseCase merchantUseCase,MerchantAddUseCase merchantAddUseCase, MerchantEditUseCase merchantEditUseCase, MerchantDetailUseCase merchantDetailUseCase) {
+    public MerchantController(MerchantListUseCase merchantUseCase,MerchantAddUseCase merchantAddUseCase, MerchantEditUseCase merchantEditUseCase, MerchantDetailUseCase merchantDetailUseCase, MerchantImportUseCase merchantImportUseCase) {
         this.merchantListUseCase = merchantUseCase;
         this.merchantAddUseCase = merchantAddUseCase;
         this.merchantEditUseCase = merchantEditUseCase;
         this.merchantDetailUseCase = merchantDetailUseCase;
+        this.merchantImportUseCase = merchantImportUseCase;
     }
 
     @Post("/search")
@@ -42,6 +53,7 @@ public class MerchantController {
     }
 
     @Post
+    @DatabaseBound
     public HttpResponse<RestResponse> addMerchant(@Body MerchantAddPayload request) {
         var response = this.merchantAddUseCase.execute(request);
         if (response.isEmpty()) {
@@ -50,7 +62,23 @@ public class MerchantController {
         return HttpResponse.ok(RestResponse.success(response.get()));
     }
 
+    /**
+     * Bulk add from a CSV (with header row) or NDJSON file. The body is read as a stream on the
+     * request executor; the response reports the outcome of every row. Not @DatabaseBound: the
+     * use case takes a connection permit per batch insert, not for the whole upload.
+     */
+    @Post(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public HttpResponse<RestResponse> importMerchants(@Header(HttpHeaders.CONTENT_TYPE) String contentType, @Body InputStream body) {
+        MerchantImportRequest request = new MerchantImportRequest(body, MerchantImportFormat.fromContentType(contentType));
+        var response = this.merchantImportUseCase.execute(request);
+        if (response.isEmpty()) {
+            return HttpResponse.badRequest(RestResponse.error());
+        }
+        return HttpResponse.ok(RestResponse.success(response.get()));
+    }
+
     @Put
+    @DatabaseBound
     public HttpResponse<RestResponse> updateMerchant(@Body MerchantEditPayload request) {
         var response = this.merchantEditUseCase.execute(request);
         if (response.isEmpty()) {
@@ -60,6 +88,7 @@ public class MerchantController {
     }
 
     @Get("/{id}")
+    @DatabaseBound
     public HttpResponse<RestResponse> getMerchantById(@QueryValue String id) {
         if (id == null) {
             return HttpResponse.badRequest(RestResponse.error());
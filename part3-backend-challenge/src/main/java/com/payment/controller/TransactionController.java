@@ -1,45 +1,99 @@
 package com.payment.controller;
 
+import com.payment.config.DatabaseBound;
+import com.payment.config.RequestExecutorFactory;
+import com.payment.payload.ExportFormat;
+import com.payment.payload.IngestAck;
+import com.payment.payload.TransactionBatchRequest;
+import com.payment.payload.TransactionBatchResponse;
+import com.payment.payload.TransactionBatchResult;
+import com.payment.payload.TransactionExportRequest;
+import com.payment.payload.TransactionIngestPayload;
 import com.payment.payload.TransactionListRequest;
 import com.payment.payload.TransactionListResponse;
+import com.payment.payload.TransactionSubmitRequest;
+import com.payment.usecase.ReactiveTransactionListUseCase;
+import com.payment.usecase.TransactionExportUseCase;
+import com.payment.usecase.TransactionIngestUseCase;
 import com.payment.usecase.TransactionListUseCase;
+import com.payment.usecase.TransactionSubmitUseCase;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.inject.Named;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Instant;
-import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Pattern;
 
 /**
  * Transaction Controller - Handles transaction-related API endpoints
+ * The transaction list returns a Mono and is routed on the event loop: with payment.transactions.reactive
+ * it runs over R2DBC without blocking, otherwise the JDBC use case is moved to the request executor
+ * (virtual threads when enabled), where each query takes a connection permit. The export streams
+ * from its own cursor on the request executor and is capped separately by
+ * payment.transactions.export.max-concurrent; batch ingestion runs on the request executor on one
+ * connection permit. Single transactions go through the write-behind queue, whose committer holds
+ * one connection of its own, so only their validation's member lookups take a permit
  */
 @Controller("/api/v1/transactions")
 @Tag(name = "Transactions")
 public class TransactionController {
 
+    private static final Pattern UNSAFE_FILE_NAME_CHARS = Pattern.compile("[^A-Za-z0-9._-]");
+
     private final TransactionListUseCase transactionListUseCase;
+    @Nullable
+    private final ReactiveTransactionListUseCase reactiveTransactionListUseCase;
+    private final TransactionExportUseCase transactionExportUseCase;
+    private final TransactionIngestUseCase transactionIngestUseCase;
+    private final TransactionSubmitUseCase transactionSubmitUseCase;
+    private final Scheduler requestScheduler;
 
-    public TransactionController(TransactionListUseCase transactionListUseCase) {
+    public TransactionController(
+            TransactionListUseCase transactionListUseCase,
+            @Nullable ReactiveTransactionListUseCase reactiveTransactionListUseCase,
+            TransactionExportUseCase transactionExportUseCase,
+            TransactionIngestUseCase transactionIngestUseCase,
+            TransactionSubmitUseCase transactionSubmitUseCase,
+            @Named(RequestExecutorFactory.REQUEST) ExecutorService requestExecutor
+    ) {
         this.transactionListUseCase = transactionListUseCase;
+        this.reactiveTransactionListUseCase = reactiveTransactionListUseCase;
+        this.transactionExportUseCase = transactionExportUseCase;
+        this.transactionIngestUseCase = transactionIngestUseCase;
+        this.transactionSubmitUseCase = transactionSubmitUseCase;
+        this.requestScheduler = Schedulers.fromExecutorService(requestExecutor);
     }
 
     @Get("/{merchantId}/transactions")
     @Operation(
         summary = "Get merchant transactions",
-        description = "Returns paginated list of transactions for a merchant with optional filtering by date range and status"
+        description = "Returns paginated list of transactions for a merchant with optional filtering by date range and status. "
+                + "Pass the nextCursor of a previous response as cursor to page by keyset instead of page number"
     )
-    public HttpResponse<TransactionListResponse> getTransactions(
+    public Mono<HttpResponse<TransactionListResponse>> getTransactions(
             @PathVariable String merchantId,
             @QueryValue @Nullable Integer page,
             @QueryValue @Nullable Integer size,
             @QueryValue @Nullable  String startDate,
             @QueryValue @Nullable  String endDate,
-            @QueryValue @Nullable String status
+            @QueryValue @Nullable String status,
+            @QueryValue @Nullable String cursor
     ) {
         // Parse dates if provided - handle both date-only and full ISO-8601 formats
         Instant startInstant = parseFlexibleDate(startDate, true);
@@ -52,14 +106,92 @@ public class TransactionController {
                 size != null ? size : 20,
                 startInstant,
                 endInstant,
-                status
+                status,
+                cursor
         );
 
         // Execute use case
-        Optional<TransactionListResponse> response = transactionListUseCase.execute(request);
+        Mono<TransactionListResponse> response = reactiveTransactionListUseCase != null
+                ? reactiveTransactionListUseCase.execute(request).orElseGet(Mono::empty)
+                : Mono.fromCallable(() -> transactionListUseCase.execute(request))
+                        .subscribeOn(requestScheduler)
+                        .flatMap(Mono::justOrEmpty);
         return response
+                .<HttpResponse<TransactionListResponse>>map(HttpResponse::ok)
+                .defaultIfEmpty(HttpResponse.notFound());
+    }
+
+    @Get("/{merchantId}/export")
+    @Operation(
+        summary = "Export merchant transactions",
+        description = "Streams every transaction matching the filters, with details, as CSV or NDJSON"
+    )
+    @ExecuteOn(RequestExecutorFactory.REQUEST)
+    public HttpResponse<Flux<byte[]>> exportTransactions(
+            @PathVariable String merchantId,
+            @QueryValue @Nullable String format,
+            @QueryValue @Nullable String startDate,
+            @QueryValue @Nullable String endDate,
+            @QueryValue @Nullable String status
+    ) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        TransactionExportRequest request = new TransactionExportRequest(
+                merchantId,
+                parseFlexibleDate(startDate, true),
+                parseFlexibleDate(endDate, false),
+                status,
+                exportFormat
+        );
+
+        Flux<byte[]> body = transactionExportUseCase.execute(request).orElseGet(Flux::empty);
+        return HttpResponse.ok(body)
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + exportFileName(merchantId, exportFormat) + "\"");
+    }
+
+    /**
+     * File name offered for an export. The merchant id comes from the path, so anything outside
+     * [A-Za-z0-9._-] is replaced: quotes, semicolons or CR/LF would otherwise end up in the header
+     */
+    static String exportFileName(String merchantId, ExportFormat format) {
+        return UNSAFE_FILE_NAME_CHARS.matcher(merchantId).replaceAll("_") + "-transactions." + format.extension();
+    }
+
+    @Post("/batch")
+    @Operation(
+        summary = "Ingest transactions",
+        description = "Stores an array of transactions with their details. Each transaction's externalRef makes the "
+                + "call idempotent: transactions already stored are reported as DUPLICATE with their existing txnId"
+    )
+    @ExecuteOn(RequestExecutorFactory.REQUEST)
+    @DatabaseBound
+    public HttpResponse<TransactionBatchResponse> ingestTransactions(@Body TransactionBatchRequest request) {
+        return transactionIngestUseCase.execute(request)
                 .map(HttpResponse::ok)
-                .orElseGet(() -> HttpResponse.notFound());
+                .orElseGet(() -> HttpResponse.badRequest());
+    }
+
+    @Post
+    @Operation(
+        summary = "Ingest one transaction",
+        description = "Queues a transaction for the write-behind committer, which writes queued transactions in groups. "
+                + "With ack=enqueue the call returns 202 and status QUEUED as soon as the transaction is queued; with "
+                + "ack=commit (the default) it returns once its group has committed, as INSERTED or DUPLICATE. "
+                + "A full queue answers 503"
+    )
+    public Mono<HttpResponse<TransactionBatchResult>> submitTransaction(
+            @Body TransactionIngestPayload transaction,
+            @QueryValue @Nullable String ack
+    ) {
+        TransactionSubmitRequest request = new TransactionSubmitRequest(transaction, IngestAck.from(ack));
+        // Validation may look up members in the database, so it runs off the event loop
+        return Mono.fromCallable(() -> transactionSubmitUseCase.execute(request))
+                .subscribeOn(requestScheduler)
+                .flatMap(result -> result.orElseGet(Mono::empty))
+                .map(result -> result.status() == TransactionBatchResult.Status.QUEUED
+                        ? HttpResponse.<TransactionBatchResult>status(HttpStatus.ACCEPTED).body(result)
+                        : HttpResponse.ok(result));
     }
 
     /**
@@ -4,6 +4,7 @@ import io.micronaut.core.annotation.Introspected;
 import io.micronaut.data.annotation.Id;
 import io.micronaut.data.annotation.MappedEntity;
 import io.micronaut.data.annotation.MappedProperty;
+import io.micronaut.data.annotation.Version;
 import io.micronaut.data.model.DataType;
 import io.micronaut.serde.annotation.Serdeable;
 
@@ -37,6 +38,13 @@ public class Merchant {
     @MappedProperty(value = "business_name", type = DataType.STRING)
     String businessName;
 
+    /**
+     * Bumped by every update; merchant detail ETags are derived from it
+     */
+    @Version
+    @MappedProperty(value = "version", type = DataType.LONG)
+    Long version;
+
     public String getId() {
         return id;
     }
@@ -92,4 +100,12 @@ public class Merchant {
     public void setBusinessName(String businessName) {
         this.businessName = businessName;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -26,6 +26,7 @@ public class TransactionMaster {
     private String cardLast4;
     private String authCode;
     private String responseCode;
+    private String externalRef;
     
     @DateCreated
     private Instant createdAt;
@@ -139,6 +140,14 @@ public class TransactionMaster {
         this.responseCode = responseCode;
     }
 
+    public String getExternalRef() {
+        return externalRef;
+    }
+
+    public void setExternalRef(String externalRef) {
+        this.externalRef = externalRef;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,10 @@
+package com.payment.event;
+
+import java.util.Set;
+
+/**
+ * Published when transactions were written for the given merchants, so that anything cached
+ * from their transactions can be dropped
+ */
+public record TransactionsChangedEvent(Set<String> merchantIds) {
+}
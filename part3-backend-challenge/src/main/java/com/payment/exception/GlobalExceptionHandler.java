@@ -46,6 +46,15 @@ public class GlobalExceptionHandler implements ExceptionHandler<Exception, HttpR
             ));
         }
 
+        if (exception instanceof QueryTimeoutException) {
+            return HttpResponse.<Map<String, Object>>status(HttpStatus.SERVICE_UNAVAILABLE).body(buildErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.getCode(),
+                "Service Unavailable",
+                exception.getMessage(),
+                request.getPath()
+            ));
+        }
+
         // Default to 500 Internal Server Error
         return HttpResponse.serverError(buildErrorResponse(
             HttpStatus.INTERNAL_SERVER_ERROR.getCode(),
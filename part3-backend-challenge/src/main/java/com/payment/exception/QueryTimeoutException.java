@@ -0,0 +1,11 @@
+package com.payment.exception;
+
+/**
+ * Thrown when a database query does not finish within its configured timeout
+ */
+public class QueryTimeoutException extends RuntimeException {
+
+    public QueryTimeoutException(String message) {
+        super(message);
+    }
+}
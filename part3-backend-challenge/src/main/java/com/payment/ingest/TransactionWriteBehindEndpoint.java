@@ -0,0 +1,23 @@
+package com.payment.ingest;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+/**
+ * Management endpoint for the transaction write-behind queue.
+ * GET /transactionwritebehind returns its depth and group-commit metrics.
+ */
+@Endpoint(id = "transactionwritebehind")
+public class TransactionWriteBehindEndpoint {
+
+    private final TransactionWriteBehindQueue transactionWriteBehindQueue;
+
+    public TransactionWriteBehindEndpoint(TransactionWriteBehindQueue transactionWriteBehindQueue) {
+        this.transactionWriteBehindQueue = transactionWriteBehindQueue;
+    }
+
+    @Read
+    public TransactionWriteBehindStats stats() {
+        return transactionWriteBehindQueue.stats();
+    }
+}
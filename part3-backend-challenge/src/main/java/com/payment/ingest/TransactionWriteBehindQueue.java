@@ -0,0 +1,341 @@
+package com.payment.ingest;
+
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import com.payment.event.TransactionsChangedEvent;
+import com.payment.exception.QueryTimeoutException;
+import com.payment.repository.TransactionIngestRepository;
+import com.payment.repository.TransactionIngestRepository.IngestOutcome;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded in-process queue in front of TransactionIngestRepository with group commit.
+ * Single transactions are enqueued by request threads; one committer thread takes the first waiting
+ * transaction, lets others join for at most maxDelay or until maxRows are gathered, and writes the
+ * group with one insertAllSkippingDuplicates call, so hundreds of rows share one round trip per
+ * statement and one commit. Each transaction's future completes once its group has committed.
+ * A full queue is rejected with a QueryTimeoutException (503) rather than blocking the caller.
+ * On shutdown the queue stops accepting and the committer drains what is left. Closing takes the
+ * write side of a lock every enqueue holds the read side of, so no transaction can be offered after
+ * the final drain; whatever still cannot be written by then is failed rather than left pending.
+ * Transactions are validated against the column sizes before they are queued; a group the database
+ * still rejects for its data is split and retried, so only the offending transactions fail.
+ */
+@Singleton
+public class TransactionWriteBehindQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionWriteBehindQueue.class);
+    private static final long IDLE_POLL_MILLIS = 200;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private record Entry(
+            TransactionMaster master,
+            List<TransactionDetail> details,
+            boolean acknowledged,
+            CompletableFuture<IngestOutcome> committed
+    ) {}
+
+    private final TransactionIngestRepository transactionIngestRepository;
+    private final ApplicationEventPublisher<TransactionsChangedEvent> eventPublisher;
+    private final int capacity;
+    private final int maxRows;
+    private final Duration maxDelay;
+    private final BlockingQueue<Entry> queue;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder committedRows = new LongAdder();
+    private final LongAdder failedRows = new LongAdder();
+    private final LongAdder failedAcknowledgedRows = new LongAdder();
+    private final LongAdder groups = new LongAdder();
+    private final LongAdder commitNanos = new LongAdder();
+
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+    private Thread committer;
+
+    public TransactionWriteBehindQueue(
+            TransactionIngestRepository transactionIngestRepository,
+            ApplicationEventPublisher<TransactionsChangedEvent> eventPublisher,
+            @Value("${payment.transactions.write-behind.capacity:10000}") int capacity,
+            @Value("${payment.transactions.write-behind.max-rows:500}") int maxRows,
+            @Value("${payment.transactions.write-behind.max-delay:5ms}") Duration maxDelay
+    ) {
+        this.transactionIngestRepository = transactionIngestRepository;
+        this.eventPublisher = eventPublisher;
+        this.capacity = capacity;
+        this.maxRows = maxRows;
+        this.maxDelay = maxDelay;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @EventListener
+    public void onStartup(StartupEvent event) {
+        start();
+    }
+
+    /**
+     * Starts the committer thread; does nothing when it is already running
+     */
+    public synchronized void start() {
+        if (committer != null || closed) {
+            return;
+        }
+        committer = new Thread(this::runCommitter, "transaction-write-behind");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Queues one validated transaction. The future completes with its outcome after the group it is
+     * written in commits, or exceptionally when that group fails. acknowledged says the caller has
+     * already been told the transaction is queued, so a failure reaches nobody but the failedAcknowledged
+     * count and the log. Never blocks, other than behind a close in progress.
+     */
+    public CompletableFuture<IngestOutcome> enqueue(
+            TransactionMaster master,
+            List<TransactionDetail> details,
+            boolean acknowledged
+    ) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                rejected.increment();
+                throw new QueryTimeoutException("Transaction ingestion is shutting down, please retry");
+            }
+            Entry entry = new Entry(master, details, acknowledged, new CompletableFuture<>());
+            if (!queue.offer(entry)) {
+                rejected.increment();
+                throw new QueryTimeoutException("Transaction ingestion queue is full, please retry");
+            }
+            enqueued.increment();
+            return entry.committed();
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stops accepting transactions and waits for the committer to write what is queued
+     */
+    @PreDestroy
+    public void close() {
+        // Waits out enqueues in progress; every later one sees closed, so the drain below is final
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        Thread running;
+        synchronized (this) {
+            running = committer;
+        }
+        if (running != null) {
+            try {
+                running.join(SHUTDOWN_TIMEOUT.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (running.isAlive()) {
+                List<Entry> unwritten = new ArrayList<>();
+                queue.drainTo(unwritten);
+                LOG.warn("Write-behind committer did not finish within {}, {} transactions left unwritten",
+                        SHUTDOWN_TIMEOUT, unwritten.size());
+                fail(unwritten, new QueryTimeoutException("Transaction ingestion shut down before the transaction was written"));
+                return;
+            }
+        }
+        // Transactions enqueued while the committer was exiting, or all of them if it never started
+        while (flush() > 0) {
+            // keep draining
+        }
+    }
+
+    public TransactionWriteBehindStats stats() {
+        long groupCount = groups.sum();
+        long committed = committedRows.sum();
+        return new TransactionWriteBehindStats(
+                queue.size(),
+                capacity,
+                enqueued.sum(),
+                rejected.sum(),
+                committed,
+                failedRows.sum(),
+                failedAcknowledgedRows.sum(),
+                groupCount,
+                groupCount == 0 ? 0d : (double) committed / groupCount,
+                groupCount == 0 ? 0d : commitNanos.sum() / 1_000_000d / groupCount
+        );
+    }
+
+    /**
+     * Writes up to maxRows queued transactions as one group without waiting for more; returns how many
+     * were taken. Only called by the committer thread, or once it has stopped.
+     */
+    int flush() {
+        List<Entry> group = new ArrayList<>(Math.min(maxRows, queue.size()));
+        queue.drainTo(group, maxRows);
+        if (!group.isEmpty()) {
+            commit(group);
+        }
+        return group.size();
+    }
+
+    private void runCommitter() {
+        List<Entry> group = new ArrayList<>(maxRows);
+        while (true) {
+            try {
+                Entry first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                group.add(first);
+                gather(group, System.nanoTime() + maxDelay.toNanos());
+            } catch (InterruptedException e) {
+                LOG.warn("Write-behind committer interrupted, {} transactions left for shutdown", queue.size());
+                Thread.currentThread().interrupt();
+                return;
+            }
+            commit(group);
+            group.clear();
+        }
+    }
+
+    /**
+     * Adds queued transactions to the group until it holds maxRows or the deadline passes
+     */
+    private void gather(List<Entry> group, long deadlineNanos) throws InterruptedException {
+        while (group.size() < maxRows) {
+            queue.drainTo(group, maxRows - group.size());
+            long remaining = deadlineNanos - System.nanoTime();
+            // Once closing, write what is there instead of waiting for company
+            if (group.size() >= maxRows || remaining <= 0 || closed) {
+                return;
+            }
+            Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void commit(List<Entry> group) {
+        // The repository wants unique keys per call; a repeat in the same group shares the first one's outcome
+        Map<String, Entry> firstByKey = new LinkedHashMap<>();
+        List<Entry> repeats = new ArrayList<>();
+        for (Entry entry : group) {
+            if (firstByKey.putIfAbsent(TransactionIngestRepository.keyOf(entry.master()), entry) != null) {
+                repeats.add(entry);
+            }
+        }
+        List<Entry> writes = new ArrayList<>(firstByKey.values());
+
+        long started = System.nanoTime();
+        List<IngestOutcome> outcomes;
+        try {
+            outcomes = transactionIngestRepository.insertAllSkippingDuplicates(
+                    writes.stream().map(Entry::master).toList(),
+                    writes.stream().map(Entry::details).toList()
+            );
+        } catch (RuntimeException e) {
+            if (group.size() > 1 && isDataError(e)) {
+                // One bad row rolls back the whole group; halve it until the offending entries stand alone
+                LOG.warn("Write-behind group of {} transactions was rejected as invalid data, retrying in halves: {}",
+                        group.size(), e.getMessage());
+                int half = group.size() / 2;
+                commit(new ArrayList<>(group.subList(0, half)));
+                commit(new ArrayList<>(group.subList(half, group.size())));
+                return;
+            }
+            LOG.error("Write-behind group of {} transactions failed", group.size(), e);
+            fail(group, e);
+            return;
+        }
+        commitNanos.add(System.nanoTime() - started);
+        groups.increment();
+        committedRows.add(group.size());
+
+        Map<String, IngestOutcome> outcomeByKey = new HashMap<>();
+        Set<String> changedMerchants = new HashSet<>();
+        for (int i = 0; i < writes.size(); i++) {
+            Entry entry = writes.get(i);
+            IngestOutcome outcome = outcomes.get(i);
+            outcomeByKey.put(TransactionIngestRepository.keyOf(entry.master()), outcome);
+            if (outcome != null && outcome.inserted()) {
+                changedMerchants.add(entry.master().getMerchantId());
+            }
+        }
+        if (!changedMerchants.isEmpty()) {
+            try {
+                eventPublisher.publishEvent(new TransactionsChangedEvent(changedMerchants));
+            } catch (RuntimeException e) {
+                LOG.warn("Publishing TransactionsChangedEvent after a write-behind commit failed", e);
+            }
+        }
+        for (Entry entry : writes) {
+            entry.committed().complete(outcomeByKey.get(TransactionIngestRepository.keyOf(entry.master())));
+        }
+        for (Entry repeat : repeats) {
+            IngestOutcome first = outcomeByKey.get(TransactionIngestRepository.keyOf(repeat.master()));
+            repeat.committed().complete(first != null ? new IngestOutcome(first.txnId(), false) : null);
+        }
+    }
+
+    /**
+     * Whether the failure is about the rows themselves (SQLState class 22 data exception or 23
+     * integrity constraint violation) rather than the connection or the database, so writing the
+     * group's other rows on their own would succeed
+     */
+    static boolean isDataError(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && (sqlException.getSQLState().startsWith("22") || sqlException.getSQLState().startsWith("23"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fails every entry's future. Callers acknowledged on enqueue are no longer listening, so their
+     * externalRefs are logged for replay (resending is safe, duplicates are skipped) and counted.
+     */
+    private void fail(List<Entry> entries, RuntimeException cause) {
+        failedRows.add(entries.size());
+        List<String> acknowledgedRefs = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.acknowledged()) {
+                acknowledgedRefs.add(entry.master().getMerchantId() + "/" + entry.master().getExternalRef());
+            }
+            entry.committed().completeExceptionally(cause);
+        }
+        if (!acknowledgedRefs.isEmpty()) {
+            failedAcknowledgedRows.add(acknowledgedRefs.size());
+            LOG.error("{} transactions acknowledged as QUEUED were not written and must be resent (merchantId/externalRef): {}",
+                    acknowledgedRefs.size(), acknowledgedRefs);
+        }
+    }
+}
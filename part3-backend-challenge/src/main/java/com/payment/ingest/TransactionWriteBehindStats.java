@@ -0,0 +1,25 @@
+package com.payment.ingest;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * Queue depth, throughput and group-commit metrics for the transaction write-behind queue.
+ * failed counts every transaction whose group failed; failedAcknowledged the subset whose callers
+ * had already been answered QUEUED (ack=enqueue) and so were never told.
+ */
+@Introspected
+@Serdeable
+public record TransactionWriteBehindStats(
+        int queued,
+        int capacity,
+        long enqueued,
+        long rejected,
+        long committed,
+        long failed,
+        long failedAcknowledged,
+        long groups,
+        double averageGroupSize,
+        double averageCommitMillis
+) {
+}
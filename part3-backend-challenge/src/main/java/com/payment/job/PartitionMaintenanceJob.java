@@ -0,0 +1,108 @@
+package com.payment.job;
+
+import com.payment.repository.TransactionPartitionRepository;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Creates upcoming txn_date partitions of transaction_master ahead of time so inserts never
+ * land outside a partition. Does nothing while the table is not partitioned.
+ */
+@Singleton
+public class PartitionMaintenanceJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PartitionMaintenanceJob.class);
+
+    public enum Granularity {
+        DAILY("yyyyMMdd"),
+        MONTHLY("yyyyMM");
+
+        private final DateTimeFormatter suffix;
+
+        Granularity(String pattern) {
+            this.suffix = DateTimeFormatter.ofPattern(pattern);
+        }
+
+        LocalDate start(LocalDate date) {
+            return this == DAILY ? date : date.withDayOfMonth(1);
+        }
+
+        LocalDate next(LocalDate start) {
+            return this == DAILY ? start.plusDays(1) : start.plusMonths(1);
+        }
+
+        String partitionName(LocalDate start) {
+            return "transaction_master_p" + suffix.format(start);
+        }
+    }
+
+    private final TransactionPartitionRepository transactionPartitionRepository;
+    private final Granularity granularity;
+    private final int ahead;
+    private final Clock clock;
+
+    @Inject
+    public PartitionMaintenanceJob(
+            TransactionPartitionRepository transactionPartitionRepository,
+            @Value("${payment.partitions.granularity:monthly}") String granularity,
+            @Value("${payment.partitions.ahead:3}") int ahead
+    ) {
+        this(transactionPartitionRepository, Granularity.valueOf(granularity.toUpperCase(Locale.ROOT)), ahead, Clock.systemUTC());
+    }
+
+    PartitionMaintenanceJob(
+            TransactionPartitionRepository transactionPartitionRepository,
+            Granularity granularity,
+            int ahead,
+            Clock clock
+    ) {
+        this.transactionPartitionRepository = transactionPartitionRepository;
+        this.granularity = granularity;
+        this.ahead = ahead;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelay = "${payment.partitions.check-interval:6h}", initialDelay = "1m")
+    public void scheduledMaintenance() {
+        try {
+            run();
+        } catch (RuntimeException e) {
+            LOG.warn("Partition maintenance failed, will retry on next tick", e);
+        }
+    }
+
+    /**
+     * Creates the current partition and the configured number ahead; returns the names created
+     */
+    public synchronized List<String> run() {
+        if (!transactionPartitionRepository.isPartitioned()) {
+            return List.of();
+        }
+        Set<String> existing = transactionPartitionRepository.findPartitionNames();
+        List<String> created = new ArrayList<>();
+        LocalDate start = granularity.start(LocalDate.now(clock));
+        for (int i = 0; i <= ahead; i++) {
+            LocalDate end = granularity.next(start);
+            String name = granularity.partitionName(start);
+            if (!existing.contains(name)) {
+                transactionPartitionRepository.createPartition(name, start, end);
+                created.add(name);
+                LOG.info("Created partition operators.{} for txn_date [{}, {})", name, start, end);
+            }
+            start = end;
+        }
+        return created;
+    }
+}
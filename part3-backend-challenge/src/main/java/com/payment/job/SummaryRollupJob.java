@@ -0,0 +1,140 @@
+package com.payment.job;
+
+import com.payment.event.TransactionsChangedEvent;
+import com.payment.repository.TransactionSummaryRepository;
+import com.payment.repository.TransactionSummaryRepository.RollupProgress;
+import com.payment.repository.TransactionSummaryRepository.TxnIdHorizon;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Folds newly written transactions into merchant_daily_summary.
+ * txn_ids are drawn when rows are inserted, not when they commit, so a transaction can still commit
+ * ids below the highest visible one. Each tick therefore observes a horizon (the highest visible
+ * txn_id and its snapshot's xmax) and only rolls up to it once every transaction that was running
+ * at that moment has finished; until then the previous settled horizon stays the upper bound.
+ * Every tick also announces the merchants with new transactions (ids above the previous horizon,
+ * plus whatever the rollup folded in) through a TransactionsChangedEvent.
+ * A separate, slower reconciliation recomputes the most recent days from transaction_master,
+ * which corrects status updates made after rows were folded in.
+ */
+@Singleton
+public class SummaryRollupJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SummaryRollupJob.class);
+
+    private final TransactionSummaryRepository transactionSummaryRepository;
+    private final ApplicationEventPublisher<TransactionsChangedEvent> eventPublisher;
+    private final long chunkSize;
+    private final int reconcileDays;
+    private final Clock clock;
+    private volatile long safeUpperTxnId = 0L;
+    private volatile long announcedUpToTxnId = 0L;
+    private volatile TxnIdHorizon pendingHorizon;
+
+    @Inject
+    public SummaryRollupJob(
+            TransactionSummaryRepository transactionSummaryRepository,
+            ApplicationEventPublisher<TransactionsChangedEvent> eventPublisher,
+            @Value("${payment.summary.rollup-chunk-size:50000}") long chunkSize,
+            @Value("${payment.summary.reconcile-days:2}") int reconcileDays
+    ) {
+        this(transactionSummaryRepository, eventPublisher, chunkSize, reconcileDays, Clock.systemUTC());
+    }
+
+    SummaryRollupJob(
+            TransactionSummaryRepository transactionSummaryRepository,
+            ApplicationEventPublisher<TransactionsChangedEvent> eventPublisher,
+            long chunkSize,
+            int reconcileDays,
+            Clock clock
+    ) {
+        this.transactionSummaryRepository = transactionSummaryRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.reconcileDays = reconcileDays;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelay = "${payment.summary.rollup-interval:1m}", initialDelay = "${payment.summary.rollup-interval:1m}")
+    public void scheduledRollup() {
+        try {
+            run();
+        } catch (RuntimeException e) {
+            LOG.warn("Summary rollup failed, will retry on next tick", e);
+        }
+    }
+
+    @Scheduled(fixedDelay = "${payment.summary.reconcile-interval:1h}", initialDelay = "${payment.summary.reconcile-interval:1h}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            LOG.warn("Summary reconciliation failed, will retry on next tick", e);
+        }
+    }
+
+    /**
+     * Runs one tick and returns the watermark reached
+     */
+    public synchronized long run() {
+        TxnIdHorizon pending = pendingHorizon;
+        if (pending != null && transactionSummaryRepository.isSettled(pending)) {
+            safeUpperTxnId = pending.maxTxnId();
+            pendingHorizon = null;
+        }
+
+        long upper = safeUpperTxnId;
+        RollupProgress progress = transactionSummaryRepository.advanceRollup(upper, chunkSize);
+        Set<String> changedMerchants = new HashSet<>(progress.merchantIds());
+        long watermark = progress.watermark();
+        while (watermark < upper) {
+            progress = transactionSummaryRepository.advanceRollup(upper, chunkSize);
+            if (progress.watermark() == watermark) {
+                break;
+            }
+            watermark = progress.watermark();
+            changedMerchants.addAll(progress.merchantIds());
+        }
+
+        // An unsettled horizon is kept rather than replaced, or a busy database would never settle one
+        if (pendingHorizon == null) {
+            TxnIdHorizon observed = transactionSummaryRepository.observeHorizon();
+            pendingHorizon = observed;
+            long announced = announcedUpToTxnId;
+            if (announced > 0 && observed.maxTxnId() > announced) {
+                // Not on the first tick: the range would be the whole table and nothing is cached yet
+                changedMerchants.addAll(transactionSummaryRepository.findMerchantIdsBetween(announced, observed.maxTxnId()));
+            }
+            announcedUpToTxnId = Math.max(announced, observed.maxTxnId());
+        }
+        if (!changedMerchants.isEmpty()) {
+            LOG.debug("Summary rollup advanced to txn_id {} ({} merchants changed)", watermark, changedMerchants.size());
+            eventPublisher.publishEvent(new TransactionsChangedEvent(changedMerchants));
+        }
+        return watermark;
+    }
+
+    /**
+     * Recomputes the last reconcileDays UTC days, today included, and returns the merchants whose totals changed
+     */
+    public synchronized Set<String> reconcile() {
+        LocalDate tomorrow = LocalDate.now(clock).plusDays(1);
+        Set<String> changedMerchants = transactionSummaryRepository.reconcileDays(tomorrow.minusDays(reconcileDays), tomorrow);
+        if (!changedMerchants.isEmpty()) {
+            LOG.info("Summary reconciliation corrected totals of {} merchants", changedMerchants.size());
+            eventPublisher.publishEvent(new TransactionsChangedEvent(changedMerchants));
+        }
+        return changedMerchants;
+    }
+}
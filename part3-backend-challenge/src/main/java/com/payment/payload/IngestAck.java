@@ -0,0 +1,26 @@
+package com.payment.payload;
+
+import java.util.Locale;
+
+/**
+ * When POST /api/v1/transactions answers: once the transaction is queued for the write-behind
+ * committer, or once the group it was written in has committed
+ */
+public enum IngestAck {
+    ENQUEUE,
+    COMMIT;
+
+    /**
+     * Parses the ack query value; defaults to COMMIT when absent
+     */
+    public static IngestAck from(String value) {
+        if (value == null || value.isBlank()) {
+            return COMMIT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid ack. Expected enqueue or commit", e);
+        }
+    }
+}
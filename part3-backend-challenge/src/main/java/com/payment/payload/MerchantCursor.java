@@ -0,0 +1,45 @@
+package com.payment.payload;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a merchant list: the sort key and direction it was issued for,
+ * and the last row's sort value (null when its column is NULL) and id. Exposed to clients only as
+ * an opaque URL-safe token.
+ */
+public record MerchantCursor(
+        String sortKey,
+        boolean descending,
+        String id,
+        @Nullable String sortValue
+) {
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "N";
+    private static final String VALUE_PREFIX = "V";
+
+    public String encode() {
+        // sortValue goes last because it is the only part that may contain the separator;
+        // the prefix tells a NULL column apart from any string value
+        String raw = sortKey + SEPARATOR + (descending ? "D" : "A") + SEPARATOR + id + SEPARATOR
+                + (sortValue == null ? NULL_VALUE : VALUE_PREFIX + sortValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MerchantCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || !(parts[1].equals("A") || parts[1].equals("D"))
+                    || !(parts[3].equals(NULL_VALUE) || parts[3].startsWith(VALUE_PREFIX))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String sortValue = parts[3].equals(NULL_VALUE) ? null : parts[3].substring(VALUE_PREFIX.length());
+            return new MerchantCursor(parts[0], parts[1].equals("D"), parts[2], sortValue);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
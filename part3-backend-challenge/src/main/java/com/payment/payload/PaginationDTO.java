@@ -1,19 +1,25 @@
 package com.payment.payload;
 
 import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.serde.annotation.Serdeable;
 import io.soabase.recordbuilder.core.RecordBuilder;
 
 /**
  * DTO for pagination information
+ * nextCursor is null when there are no further rows to fetch
  */
 @RecordBuilder
 @Introspected
 @Serdeable
 public record PaginationDTO(
-        Integer page,
+        @Nullable Integer page,
         Integer size,
         Integer totalPages,
-        Long totalElements
+        Long totalElements,
+        @Nullable String nextCursor
 ) {
+    public PaginationDTO(Integer page, Integer size, Integer totalPages, Long totalElements) {
+        this(page, size, totalPages, totalElements, null);
+    }
 }
@@ -17,7 +17,9 @@ public record SearchRequestPayload(
         String sortField,
         @Nullable
         String sortOrder,
-        String searchParameter
+        String searchParameter,
+        @Nullable
+        String cursor
 ) {
 
 }
\ No newline at end of file
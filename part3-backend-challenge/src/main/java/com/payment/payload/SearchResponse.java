@@ -1,11 +1,16 @@
 package com.payment.payload;
 import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.serde.annotation.Serdeable;
 import io.soabase.recordbuilder.core.RecordBuilder;
 
 import java.util.List;
 
 
+/**
+ * nextCursor continues the list after the last row; totalRecord and totalPage are -1 when a
+ * cursor page was served without counting matches
+ */
 @RecordBuilder
 @Introspected
 @Serdeable
@@ -14,5 +19,6 @@ public record SearchResponse<T>(
         int totalRecord,
         int pageSize,
         int totalPage,
-        List<T> data
+        List<T> data,
+        @Nullable String nextCursor
 ) {}
@@ -0,0 +1,15 @@
+package com.payment.payload;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+/**
+ * Request payload for transaction batch ingestion
+ */
+@Introspected
+@Serdeable
+public record TransactionBatchRequest(
+        List<TransactionIngestPayload> transactions
+) {}
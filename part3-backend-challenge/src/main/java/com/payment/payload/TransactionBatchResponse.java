@@ -0,0 +1,27 @@
+package com.payment.payload;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+/**
+ * Report of a transaction ingestion batch, results in request order.
+ * rejected counts INVALID transactions, failed those whose write chunk rolled back.
+ * elapsedMillis covers validation and every write; the rates are derived from it.
+ */
+@Introspected
+@Serdeable
+public record TransactionBatchResponse(
+        int received,
+        int inserted,
+        int duplicates,
+        int rejected,
+        int failed,
+        long detailsInserted,
+        int writeBatches,
+        long elapsedMillis,
+        double transactionsPerSecond,
+        double detailsPerSecond,
+        List<TransactionBatchResult> results
+) {}
@@ -0,0 +1,51 @@
+package com.payment.payload;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * Outcome of one ingested transaction. index is its 0-based position in the request array;
+ * txnId is the stored transaction's id, for duplicates the one stored earlier. QUEUED is only
+ * returned by the single-transaction endpoint with ack=enqueue, before any id exists. FAILED
+ * means the write chunk the transaction was in rolled back; nothing of it was stored and it can
+ * be resent as is.
+ */
+@Introspected
+@Serdeable
+public record TransactionBatchResult(
+        int index,
+        @Nullable String externalRef,
+        Status status,
+        @Nullable Long txnId,
+        @Nullable String message
+) {
+
+    public enum Status {
+        INSERTED,
+        DUPLICATE,
+        INVALID,
+        QUEUED,
+        FAILED
+    }
+
+    public static TransactionBatchResult inserted(int index, String externalRef, long txnId) {
+        return new TransactionBatchResult(index, externalRef, Status.INSERTED, txnId, null);
+    }
+
+    public static TransactionBatchResult duplicate(int index, String externalRef, @Nullable Long txnId, String message) {
+        return new TransactionBatchResult(index, externalRef, Status.DUPLICATE, txnId, message);
+    }
+
+    public static TransactionBatchResult queued(int index, String externalRef) {
+        return new TransactionBatchResult(index, externalRef, Status.QUEUED, null, null);
+    }
+
+    public static TransactionBatchResult failed(int index, String externalRef, String message) {
+        return new TransactionBatchResult(index, externalRef, Status.FAILED, null, message);
+    }
+
+    public static TransactionBatchResult invalid(int index, @Nullable String externalRef, String message) {
+        return new TransactionBatchResult(index, externalRef, Status.INVALID, null, message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.payment.payload;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the transaction list, ordered by local_txn_date_time DESC, txn_id DESC.
+ * Exposed to clients only as an opaque URL-safe token.
+ */
+public record TransactionCursor(
+        Instant localTxnDateTime,
+        Long txnId
+) {
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = localTxnDateTime.toString() + SEPARATOR + txnId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TransactionCursor(
+                    Instant.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
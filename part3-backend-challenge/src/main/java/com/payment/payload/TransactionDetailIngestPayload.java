@@ -0,0 +1,20 @@
+package com.payment.payload;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.math.BigDecimal;
+
+/**
+ * One detail row (fee, tax, adjustment, refund or chargeback) of an ingested transaction.
+ * currency defaults to the transaction's currency.
+ */
+@Introspected
+@Serdeable
+public record TransactionDetailIngestPayload(
+        String detailType,
+        BigDecimal amount,
+        @Nullable String currency,
+        @Nullable String description
+) {}
@@ -0,0 +1,19 @@
+package com.payment.payload;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Request payload for the transaction export API
+ */
+@Introspected
+public record TransactionExportRequest(
+        String merchantId,
+        @Nullable Instant startDate,
+        @Nullable Instant endDate,
+        @Nullable String status,
+        ExportFormat format
+) {
+}
@@ -0,0 +1,35 @@
+package com.payment.payload;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One transaction of an ingestion batch with its details.
+ * externalRef is the caller's idempotency key: a transaction whose (merchantId, externalRef,
+ * txnDate) is already stored is reported as a duplicate and not written again.
+ * txnDate defaults to the UTC date of localTxnDateTime and currency to USD.
+ */
+@Introspected
+@Serdeable
+public record TransactionIngestPayload(
+        String externalRef,
+        String merchantId,
+        @Nullable Long gpAcquirerId,
+        @Nullable Long gpIssuerId,
+        @Nullable LocalDate txnDate,
+        Instant localTxnDateTime,
+        BigDecimal amount,
+        @Nullable String currency,
+        String status,
+        @Nullable String cardType,
+        @Nullable String cardLast4,
+        @Nullable String authCode,
+        @Nullable String responseCode,
+        @Nullable List<TransactionDetailIngestPayload> details
+) {}
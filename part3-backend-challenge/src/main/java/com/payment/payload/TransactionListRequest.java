@@ -8,6 +8,7 @@ import java.time.Instant;
 
 /**
  * Request payload for transaction list API
+ * When a cursor is present the list is paged by keyset instead of page/size offset
  */
 @Introspected
 @Serdeable
@@ -17,7 +18,8 @@ public record TransactionListRequest(
         Integer size,
         @Nullable Instant startDate,
         @Nullable Instant endDate,
-        @Nullable String status
+        @Nullable String status,
+        @Nullable String cursor
 ) {
     public TransactionListRequest {
         // Set defaults
@@ -28,4 +30,19 @@ public record TransactionListRequest(
             size = 20;
         }
     }
+
+    public TransactionListRequest(
+            String merchantId,
+            Integer page,
+            Integer size,
+            Instant startDate,
+            Instant endDate,
+            String status
+    ) {
+        this(merchantId, page, size, startDate, endDate, status, null);
+    }
+
+    public boolean isCursorMode() {
+        return cursor != null && !cursor.isBlank();
+    }
 }
@@ -0,0 +1,12 @@
+package com.payment.payload;
+
+import io.micronaut.core.annotation.Introspected;
+
+/**
+ * A single transaction handed to the write-behind queue, with the acknowledgement the caller waits for
+ */
+@Introspected
+public record TransactionSubmitRequest(
+        TransactionIngestPayload transaction,
+        IngestAck ack
+) {}
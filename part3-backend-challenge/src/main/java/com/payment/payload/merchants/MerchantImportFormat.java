@@ -0,0 +1,36 @@
+package com.payment.payload.merchants;
+
+import java.util.Locale;
+
+/**
+ * Input formats accepted by the merchant import endpoint, selected by request Content-Type
+ */
+public enum MerchantImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    MerchantImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Parses the Content-Type header, ignoring parameters such as charset
+     */
+    public static MerchantImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            for (MerchantImportFormat format : values()) {
+                if (format.mediaType.equals(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Invalid import format. Expected text/csv or application/x-ndjson");
+    }
+}
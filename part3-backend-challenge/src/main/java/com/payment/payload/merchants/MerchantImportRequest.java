@@ -0,0 +1,8 @@
+package com.payment.payload.merchants;
+
+import java.io.InputStream;
+
+/**
+ * Raw import file as it arrives on the request; read once, row by row
+ */
+public record MerchantImportRequest(InputStream body, MerchantImportFormat format) {}
@@ -0,0 +1,20 @@
+package com.payment.payload.merchants;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+/**
+ * Per-row report of a merchant import, rows in file order.
+ * rejected counts INVALID and DUPLICATE rows, failed the rows of batches that could not be written.
+ */
+@Introspected
+@Serdeable
+public record MerchantImportResponse(
+        int totalRows,
+        int imported,
+        int rejected,
+        int failed,
+        List<MerchantImportRowResult> rows
+) {}
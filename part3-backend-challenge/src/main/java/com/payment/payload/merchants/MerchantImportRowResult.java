@@ -0,0 +1,44 @@
+package com.payment.payload.merchants;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * Outcome of one import row. row is the 1-based position among the file's data rows
+ * (CSV header and blank lines are not counted); id is set only for imported rows.
+ */
+@Introspected
+@Serdeable
+public record MerchantImportRowResult(
+        int row,
+        Status status,
+        @Nullable String id,
+        @Nullable String email,
+        @Nullable String message
+) {
+
+    public enum Status {
+        IMPORTED,
+        INVALID,
+        DUPLICATE,
+        // Valid, but its batch could not be written; nothing of that batch was stored
+        FAILED
+    }
+
+    public static MerchantImportRowResult imported(int row, String id, String email) {
+        return new MerchantImportRowResult(row, Status.IMPORTED, id, email, null);
+    }
+
+    public static MerchantImportRowResult invalid(int row, String email, String message) {
+        return new MerchantImportRowResult(row, Status.INVALID, null, email, message);
+    }
+
+    public static MerchantImportRowResult duplicate(int row, String email, String message) {
+        return new MerchantImportRowResult(row, Status.DUPLICATE, null, email, message);
+    }
+
+    public static MerchantImportRowResult failed(int row, String email, String message) {
+        return new MerchantImportRowResult(row, Status.FAILED, null, email, message);
+    }
+}
@@ -6,6 +6,8 @@ import io.micronaut.data.jdbc.annotation.JdbcRepository;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.repository.CrudRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,4 +18,6 @@ import java.util.Optional;
 public interface MemberRepository extends CrudRepository<Member, Long> {
 
     Optional<Member> findByMemberCode(String memberCode);
+
+    List<Member> findByMemberIdInList(Collection<Long> memberIds);
 }
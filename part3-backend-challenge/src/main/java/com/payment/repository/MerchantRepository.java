@@ -1,13 +1,26 @@
 package com.payment.repository;
 
 import com.payment.entity.Merchant;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.jdbc.annotation.JdbcRepository;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.repository.CrudRepository;
 
+import java.util.Optional;
+
 @Repository
 @JdbcRepository(dialect = Dialect.POSTGRES)
 public interface MerchantRepository extends CrudRepository<Merchant, String> {
 
+    /**
+     * Single probe of the unique lower(email) index
+     */
+    @Query("SELECT EXISTS (SELECT 1 FROM operators.merchant WHERE lower(email) = lower(:email))")
+    boolean existsByEmailIgnoreCase(String email);
+
+    /**
+     * Version column only, read by primary key; backs the merchant detail ETag
+     */
+    Optional<Long> findVersionById(String id);
 }
@@ -1,6 +1,9 @@
 package com.payment.repository;
+import com.payment.payload.MerchantCursor;
+import com.payment.search.MerchantSort;
 import com.payment.search.SearchModel;
 import com.payment.sqlutils.DynamicQueryBuilder;
+import com.payment.sqlutils.KeysetPosition;
 import com.payment.sqlutils.QueryCriteria;
 import com.payment.sqlutils.QueryCriteriaBuilder;
 import com.payment.utils.HelperUtils;
@@ -12,15 +15,28 @@ import com.payment.entity.Merchant;
 import com.payment.payload.SearchRequestPayload;
 import io.micronaut.transaction.annotation.Transactional;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
 @Repository
 @JdbcRepository(dialect = Dialect.POSTGRES)
 public abstract class MerchantRepositoryImpl {
+    /**
+     * One array parameter per column, so the statement text is identical for every batch size.
+     * Rows hitting the unique email index (or the primary key) are skipped instead of failing the batch.
+     */
+    private static final String INSERT_BATCH_SQL = "INSERT INTO operators.merchant "
+            + "(id, name, email, phone, status, address, business_name) "
+            + "SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[]) "
+            + "ON CONFLICT DO NOTHING RETURNING id";
+
     private final JdbcOperations jdbcOperations;
 
     public MerchantRepositoryImpl(JdbcOperations jdbcOperations) {
@@ -38,65 +54,104 @@ public abstract class MerchantRepositoryImpl {
                 .pageSize(payload.pageSize())
                 .sortField(payload.sortField())
                 .sortOrder(payload.sortOrder())
+                .sortRegistry(MerchantSort.REGISTRY)
+                .rankByRelevance(true)
                 .build();
         SearchModel searchModel = DynamicQueryBuilder.getSearchModel(queryCriteria);
         return jdbcOperations.prepareStatement(searchModel.sqlQuery(),
                 statement -> {
-                    searchModel.queryValues()
-                            .forEach((key, value) -> {
-                                try {
-                                    if (value instanceof String) {
-                                        statement.setString(key, (String) value);
-                                    }
-                                    if (value instanceof Integer) {
-                                        statement.setInt(key, (Integer) value);
-                                    }
-
-                                    if (value instanceof Long) {
-                                        statement.setLong(key, (Long) value);
-                                    }
-
-                                } catch (SQLException sqlException) {
-                                    sqlException.printStackTrace();
-                                    throw new RuntimeException("Database error occurred while processing the request", sqlException);
-                                }
-                            });
+                    searchModel.parameters().bindTo(statement);
                     ResultSet resultSet = statement.executeQuery();
                     return jdbcOperations.entityStream(resultSet, Merchant.class)
                             .collect(Collectors.toList());
                 });
     }
 
+    /**
+     * Page rows and the total match count from one statement, so the search filter runs once.
+     * A page past the end carries no rows to read the count from; only then is a count query issued.
+     */
+    @Transactional
+    public MerchantSearchPage dynamicSearchWithCount(SearchRequestPayload payload) {
+        String sql = "SELECT * FROM operators.merchant WHERE 1=1 ";
+        long startingIndex = HelperUtils.getStartingIndex(payload.pageNumber(), payload.pageSize());
+        QueryCriteria queryCriteria = QueryCriteriaBuilder.builder()
+                .sql(sql)
+                .field(payload.searchParameter() != null ? this.prepareConcatanatedFieldForSearch() : null)
+                .value(payload.searchParameter())
+                .startingIndex(startingIndex)
+                .pageSize(payload.pageSize())
+                .sortField(payload.sortField())
+                .sortOrder(payload.sortOrder())
+                .sortRegistry(MerchantSort.REGISTRY)
+                .rankByRelevance(true)
+                .withTotalCount(true)
+                .build();
+        SearchModel searchModel = DynamicQueryBuilder.getSearchModel(queryCriteria);
+        MerchantSearchPage page = jdbcOperations.prepareStatement(searchModel.sqlQuery(),
+                statement -> {
+                    searchModel.parameters().bindTo(statement);
+                    List<Merchant> merchants = new ArrayList<>();
+                    int totalRecord = 0;
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            totalRecord = resultSet.getInt(DynamicQueryBuilder.TOTAL_COUNT_COLUMN);
+                            merchants.add(jdbcOperations.readEntity(resultSet, Merchant.class));
+                        }
+                    }
+                    return new MerchantSearchPage(totalRecord, merchants, startingIndex + merchants.size() < totalRecord);
+                });
+        if (page.merchants().isEmpty() && startingIndex > 0) {
+            return new MerchantSearchPage(countDynamicSearch(payload), page.merchants(), false);
+        }
+        return page;
+    }
+
+    /**
+     * Page of merchants strictly after the cursor position, read from the (sort column, id) index.
+     * No total is counted; one extra row is read to tell whether another page follows.
+     */
+    @Transactional
+    public MerchantSearchPage dynamicSearchAfter(SearchRequestPayload payload, MerchantCursor cursor) {
+        String sql = "SELECT * FROM operators.merchant WHERE 1=1 ";
+        int pageSize = payload.pageSize();
+        QueryCriteria queryCriteria = QueryCriteriaBuilder.builder()
+                .sql(sql)
+                .field(payload.searchParameter() != null ? this.prepareConcatanatedFieldForSearch() : null)
+                .value(payload.searchParameter())
+                .pageSize(pageSize != 0 ? pageSize + 1 : 0)
+                .sortField(cursor.sortKey())
+                .sortOrder(cursor.descending() ? "DESC" : "ASC")
+                .sortRegistry(MerchantSort.REGISTRY)
+                .after(new KeysetPosition(cursor.sortValue(), cursor.id()))
+                .build();
+        SearchModel searchModel = DynamicQueryBuilder.getSearchModel(queryCriteria);
+        return jdbcOperations.prepareStatement(searchModel.sqlQuery(),
+                statement -> {
+                    searchModel.parameters().bindTo(statement);
+                    List<Merchant> merchants = new ArrayList<>();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            merchants.add(jdbcOperations.readEntity(resultSet, Merchant.class));
+                        }
+                    }
+                    boolean hasMore = pageSize != 0 && merchants.size() > pageSize;
+                    return new MerchantSearchPage(-1, hasMore ? merchants.subList(0, pageSize) : merchants, hasMore);
+                });
+    }
+
     @Transactional
     public int countDynamicSearch(SearchRequestPayload payload) {
         String sql = "SELECT count(*) FROM operators.merchant WHERE 1=1 ";
         QueryCriteria queryCriteria = QueryCriteriaBuilder.builder()
                 .sql(sql)
-                .field(this.prepareConcatanatedFieldForSearch())
+                .field(payload.searchParameter() != null ? this.prepareConcatanatedFieldForSearch() : null)
                 .value(payload.searchParameter())
                 .build();
         SearchModel searchModel = DynamicQueryBuilder.getSearchModel(queryCriteria);
         return jdbcOperations.prepareStatement(searchModel.sqlQuery(),
                 statement -> {
-                    searchModel.queryValues()
-                            .forEach((key, value) -> {
-                                try {
-                                    if (value instanceof String) {
-                                        statement.setString(key, (String) value);
-                                    }
-                                    if (value instanceof Integer) {
-                                        statement.setInt(key, (Integer) value);
-                                    }
-
-                                    if (value instanceof Long) {
-                                        statement.setLong(key, (Long) value);
-                                    }
-
-                                } catch (SQLException sqlException) {
-                                    sqlException.printStackTrace();
-                                    throw new RuntimeException("Database error occurred while processing the request", sqlException);
-                                }
-                            });
+                    searchModel.parameters().bindTo(statement);
                     ResultSet resultSet = statement.executeQuery();
                     if (resultSet.next()) {
                         return resultSet.getInt(1);
@@ -106,8 +161,50 @@ public abstract class MerchantRepositoryImpl {
                 });
     }
 
+    /**
+     * Inserts the merchants with a single multi-row statement.
+     * @return ids of the merchants that were inserted; the others already existed
+     */
+    @Transactional
+    public Set<String> insertAllSkippingDuplicates(List<Merchant> merchants) {
+        if (merchants.isEmpty()) {
+            return Set.of();
+        }
+        return jdbcOperations.prepareStatement(INSERT_BATCH_SQL,
+                statement -> {
+                    Connection connection = statement.getConnection();
+                    statement.setArray(1, connection.createArrayOf("text", column(merchants, Merchant::getId)));
+                    statement.setArray(2, connection.createArrayOf("text", column(merchants, Merchant::getName)));
+                    statement.setArray(3, connection.createArrayOf("text", column(merchants, Merchant::getEmail)));
+                    statement.setArray(4, connection.createArrayOf("text", column(merchants, Merchant::getPhone)));
+                    statement.setArray(5, connection.createArrayOf("text", column(merchants, Merchant::getStatus)));
+                    statement.setArray(6, connection.createArrayOf("text", column(merchants, Merchant::getAddress)));
+                    statement.setArray(7, connection.createArrayOf("text", column(merchants, Merchant::getBusinessName)));
+                    Set<String> inserted = new HashSet<>();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            inserted.add(resultSet.getString(1));
+                        }
+                    }
+                    return inserted;
+                });
+    }
+
+    private static String[] column(List<Merchant> merchants, Function<Merchant, String> getter) {
+        String[] values = new String[merchants.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getter.apply(merchants.get(i));
+        }
+        return values;
+    }
+
+    /**
+     * Stored lower(id, name, email, business_name) column, newline-separated like
+     * MerchantTrigramIndex.key, with a GIN trigram index (see schema.sql) so ILIKE '%term%'
+     * avoids a sequential scan and matches what the in-memory index matches
+     */
     private String prepareConcatanatedFieldForSearch() {
-        return "lower(concat(id,name,email))";
+        return "search_text";
     }
 
 }
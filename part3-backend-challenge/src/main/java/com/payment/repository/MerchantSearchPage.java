@@ -0,0 +1,16 @@
+package com.payment.repository;
+
+import com.payment.entity.Merchant;
+
+import java.util.List;
+
+/**
+ * One page of merchant search results with the total number of matches (-1 when not counted)
+ * and whether more rows follow
+ */
+public record MerchantSearchPage(
+        int totalRecord,
+        List<Merchant> merchants,
+        boolean hasMore
+) {
+}
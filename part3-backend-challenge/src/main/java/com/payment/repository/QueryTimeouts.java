@@ -0,0 +1,24 @@
+package com.payment.repository;
+
+import java.time.Duration;
+
+/**
+ * Converts the configured query timeout to the whole seconds Statement.setQueryTimeout takes.
+ * The driver cancels the statement on the server when it expires, so its connection is released
+ * instead of staying busy after the caller has given up.
+ */
+final class QueryTimeouts {
+
+    private QueryTimeouts() {
+    }
+
+    /**
+     * Rounded up, so a sub-second timeout still sets one; zero or negative disables the timeout
+     */
+    static int seconds(Duration timeout) {
+        if (timeout.isZero() || timeout.isNegative()) {
+            return 0;
+        }
+        return (int) Math.max(1, (timeout.toMillis() + 999) / 1000);
+    }
+}
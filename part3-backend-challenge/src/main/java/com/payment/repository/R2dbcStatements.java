@@ -0,0 +1,49 @@
+package com.payment.repository;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Statement;
+
+import java.util.List;
+
+/**
+ * Runs the JDBC repositories' statement text over R2DBC.
+ * The SQL builders emit JDBC '?' placeholders; the PostgreSQL R2DBC driver expects '$1', '$2', ...
+ */
+final class R2dbcStatements {
+
+    private R2dbcStatements() {
+    }
+
+    /**
+     * Rewrites '?' placeholders to '$n'. The builders never put '?' inside literals or comments.
+     */
+    static String toNumberedPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                numbered.append('$').append(++index);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    /**
+     * Prepares the statement and binds the values in order; a null value binds as a typed null of nullType
+     */
+    static Statement prepare(Connection connection, String sql, List<Object> values, Class<?> nullType) {
+        Statement statement = connection.createStatement(toNumberedPlaceholders(sql));
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                statement.bindNull(i, nullType);
+            } else {
+                statement.bind(i, value);
+            }
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,20 @@
+package com.payment.repository;
+
+import com.payment.entity.Member;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
+import io.micronaut.data.repository.GenericRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+/**
+ * R2DBC variant of MemberRepository; resolves member directory misses on the reactive path.
+ */
+@R2dbcRepository(value = "reactive", dialect = Dialect.POSTGRES)
+@Requires(property = "payment.transactions.reactive", value = "true")
+public interface ReactiveMemberRepository extends GenericRepository<Member, Long> {
+
+    Flux<Member> findByMemberIdInList(Collection<Long> memberIds);
+}
@@ -0,0 +1,20 @@
+package com.payment.repository;
+
+import com.payment.entity.TransactionDetail;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
+import io.micronaut.data.repository.GenericRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * R2DBC variant of TransactionDetailRepository for the reactive transaction list path.
+ */
+@R2dbcRepository(value = "reactive", dialect = Dialect.POSTGRES)
+@Requires(property = "payment.transactions.reactive", value = "true")
+public interface ReactiveTransactionDetailRepository extends GenericRepository<TransactionDetail, Long> {
+
+    Flux<TransactionDetail> findByMasterTxnIdInList(List<Long> masterTxnIds);
+}
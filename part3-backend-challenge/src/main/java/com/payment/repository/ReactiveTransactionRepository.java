@@ -0,0 +1,111 @@
+package com.payment.repository;
+
+import com.payment.entity.TransactionMaster;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.model.Pageable;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * R2DBC variant of the TransactionRepository finders, used by the reactive transaction list path.
+ * Runs exactly the statements TransactionRepository builds, so both paths hit the same indexes,
+ * partitions and server-side plans; only the driver differs.
+ */
+@Singleton
+@Requires(property = "payment.transactions.reactive", value = "true")
+public class ReactiveTransactionRepository {
+
+    private final ConnectionFactory connectionFactory;
+
+    public ReactiveTransactionRepository(@Named("reactive") ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * Same rows and order as TransactionRepository.findByMerchantIdWithFilters
+     */
+    public Flux<TransactionMaster> findByMerchantIdWithFilters(
+            String merchantId,
+            @Nullable Instant startDate,
+            @Nullable Instant endDate,
+            @Nullable String status,
+            Pageable pageable
+    ) {
+        List<Object> values = new ArrayList<>(TransactionRepository.filterValues(merchantId, startDate, endDate, status));
+        if (pageable.isUnpaged()) {
+            values.add(null);
+            values.add(0L);
+        } else {
+            values.add(pageable.getSize());
+            values.add(pageable.getOffset());
+        }
+        return query(TransactionRepository.pageSql(startDate, endDate, status), values);
+    }
+
+    /**
+     * Same rows and order as TransactionRepository.findByMerchantIdAfterCursor
+     */
+    public Flux<TransactionMaster> findByMerchantIdAfterCursor(
+            String merchantId,
+            @Nullable Instant startDate,
+            @Nullable Instant endDate,
+            @Nullable String status,
+            Instant cursorDateTime,
+            Long cursorTxnId,
+            int limit
+    ) {
+        List<Object> values = new ArrayList<>(TransactionRepository.filterValues(merchantId, startDate, endDate, status));
+        values.add(TxnDates.upperBound(cursorDateTime));
+        values.add(OffsetDateTime.ofInstant(cursorDateTime, ZoneOffset.UTC));
+        values.add(cursorTxnId);
+        values.add(limit);
+        return query(TransactionRepository.cursorSql(startDate, endDate, status), values);
+    }
+
+    private Flux<TransactionMaster> query(String sql, List<Object> values) {
+        return Flux.usingWhen(
+                connectionFactory.create(),
+                connection -> Flux.from(R2dbcStatements.prepare(connection, sql, values, Integer.class).execute())
+                        .flatMap(result -> result.map((row, metadata) -> toEntity(row))),
+                Connection::close
+        );
+    }
+
+    private static TransactionMaster toEntity(Row row) {
+        TransactionMaster txn = new TransactionMaster();
+        txn.setTxnId(row.get("txn_id", Long.class));
+        txn.setMerchantId(row.get("merchant_id", String.class));
+        txn.setGpAcquirerId(row.get("gp_acquirer_id", Long.class));
+        txn.setGpIssuerId(row.get("gp_issuer_id", Long.class));
+        LocalDate txnDate = row.get("txn_date", LocalDate.class);
+        txn.setTxnDate(txnDate != null ? java.sql.Date.valueOf(txnDate) : null);
+        txn.setLocalTxnDateTime(toInstant(row.get("local_txn_date_time", OffsetDateTime.class)));
+        txn.setAmount(row.get("amount", BigDecimal.class));
+        txn.setCurrency(row.get("currency", String.class));
+        txn.setStatus(row.get("status", String.class));
+        txn.setCardType(row.get("card_type", String.class));
+        txn.setCardLast4(row.get("card_last4", String.class));
+        txn.setAuthCode(row.get("auth_code", String.class));
+        txn.setResponseCode(row.get("response_code", String.class));
+        txn.setExternalRef(row.get("external_ref", String.class));
+        txn.setCreatedAt(toInstant(row.get("created_at", OffsetDateTime.class)));
+        return txn;
+    }
+
+    private static Instant toInstant(OffsetDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant() : null;
+    }
+}
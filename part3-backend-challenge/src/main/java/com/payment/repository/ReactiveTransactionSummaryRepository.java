@@ -0,0 +1,91 @@
+package com.payment.repository;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.IsolationLevel;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * R2DBC variant of TransactionSummaryRepository.summarizeByStatus for the reactive transaction list path.
+ * Builds the same rollup and raw statements and reads them in one REPEATABLE READ snapshot,
+ * so the watermark and the rollup rows agree exactly as they do on the JDBC path.
+ */
+@Singleton
+@Requires(property = "payment.transactions.reactive", value = "true")
+public class ReactiveTransactionSummaryRepository {
+
+    private final ConnectionFactory connectionFactory;
+
+    public ReactiveTransactionSummaryRepository(@Named("reactive") ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * Per-status counts and amounts plus the total row, as TransactionSummaryRepository.summarizeByStatus returns them
+     */
+    public Mono<List<StatusSummaryResult>> summarizeByStatus(
+            String merchantId,
+            @Nullable Instant startDate,
+            @Nullable Instant endDate
+    ) {
+        TransactionSummaryRepository.WholeDays wholeDays = TransactionSummaryRepository.WholeDays.of(startDate, endDate);
+        return Mono.usingWhen(
+                connectionFactory.create(),
+                connection -> Mono.from(connection.beginTransaction(IsolationLevel.REPEATABLE_READ))
+                        .then(summarize(connection, merchantId, startDate, endDate, wholeDays))
+                        .flatMap(rows -> Mono.from(connection.commitTransaction()).thenReturn(rows))
+                        .onErrorResume(e -> Mono.from(connection.rollbackTransaction()).then(Mono.error(e))),
+                Connection::close
+        );
+    }
+
+    private Mono<List<StatusSummaryResult>> summarize(
+            Connection connection,
+            String merchantId,
+            Instant startDate,
+            Instant endDate,
+            TransactionSummaryRepository.WholeDays wholeDays
+    ) {
+        if (wholeDays.isEmpty()) {
+            return query(connection, TransactionSummaryRepository.rawQuery(merchantId, startDate, endDate, null))
+                    .map(raw -> TransactionSummaryRepository.combine(List.of(raw)));
+        }
+        // Statements on one connection run one after another, so they are chained rather than zipped
+        return findWatermark(connection).flatMap(watermark ->
+                query(connection, TransactionSummaryRepository.rollupQuery(merchantId, wholeDays)).flatMap(rollup ->
+                        query(connection, TransactionSummaryRepository.rawQuery(
+                                merchantId, startDate, endDate, wholeDays.rawWindow(watermark)))
+                                .map(raw -> TransactionSummaryRepository.combine(List.of(rollup, raw)))));
+    }
+
+    private Mono<Long> findWatermark(Connection connection) {
+        return Flux.from(R2dbcStatements.prepare(
+                        connection,
+                        TransactionSummaryRepository.WATERMARK_SQL,
+                        List.of(TransactionSummaryRepository.ROLLUP_NAME),
+                        String.class
+                ).execute())
+                .flatMap(result -> result.map((row, metadata) -> row.get(0, Long.class)))
+                .next()
+                .defaultIfEmpty(0L);
+    }
+
+    private Mono<List<StatusSummaryResult>> query(Connection connection, TransactionSummaryRepository.SqlQuery query) {
+        return Flux.from(R2dbcStatements.prepare(connection, query.sql(), query.values(), String.class).execute())
+                .flatMap(result -> result.map((row, metadata) -> new StatusSummaryResult(
+                        row.get("status", String.class),
+                        row.get("count", Long.class),
+                        row.get("total_amount", BigDecimal.class)
+                )))
+                .collectList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.payment.repository;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for per-status summary query results
+ * The total row carries a null status and holds the totals across all statuses
+ */
+@Introspected
+public class StatusSummaryResult {
+    @Nullable
+    private String status;
+    private Long count;
+    private BigDecimal totalAmount;
+
+    public StatusSummaryResult() {
+    }
+
+    public StatusSummaryResult(String status, Long count, BigDecimal totalAmount) {
+        this.status = status;
+        this.count = count;
+        this.totalAmount = totalAmount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public boolean isRollup() {
+        return status == null;
+    }
+}
@@ -1,21 +1,60 @@
 package com.payment.repository;
 
 import com.payment.entity.TransactionDetail;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.jdbc.runtime.JdbcOperations;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.repository.CrudRepository;
+import io.micronaut.transaction.annotation.Transactional;
 
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Repository for TransactionDetail entities.
+ * The batch lookup used by the transaction list is written by hand so it can carry
+ * payment.transactions.query-timeout as a statement timeout.
  */
 @Repository
 @JdbcRepository(dialect = Dialect.POSTGRES)
-public interface TransactionDetailRepository extends CrudRepository<TransactionDetail, Long> {
+public abstract class TransactionDetailRepository implements CrudRepository<TransactionDetail, Long> {
 
-    List<TransactionDetail> findByMasterTxnId(Long masterTxnId);
+    private static final String FIND_BY_MASTER_TXN_IDS_SQL =
+            "SELECT * FROM operators.transaction_details WHERE master_txn_id = ANY(?)";
 
-    List<TransactionDetail> findByMasterTxnIdInList(List<Long> masterTxnIds);
+    private final JdbcOperations jdbcOperations;
+    private final int queryTimeoutSeconds;
+
+    public TransactionDetailRepository(
+            JdbcOperations jdbcOperations,
+            @Value("${payment.transactions.query-timeout:5s}") Duration queryTimeout
+    ) {
+        this.jdbcOperations = jdbcOperations;
+        this.queryTimeoutSeconds = QueryTimeouts.seconds(queryTimeout);
+    }
+
+    public abstract List<TransactionDetail> findByMasterTxnId(Long masterTxnId);
+
+    /**
+     * Details of all the given transactions; one statement with the ids bound as a bigint[]
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionDetail> findByMasterTxnIdInList(List<Long> masterTxnIds) {
+        if (masterTxnIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcOperations.prepareStatement(FIND_BY_MASTER_TXN_IDS_SQL, statement -> {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+            statement.setArray(1, statement.getConnection().createArrayOf("bigint", masterTxnIds.toArray()));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return jdbcOperations.entityStream(resultSet, TransactionDetail.class)
+                        .collect(Collectors.toCollection(ArrayList::new));
+            }
+        });
+    }
 }
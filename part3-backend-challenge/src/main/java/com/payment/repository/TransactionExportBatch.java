@@ -0,0 +1,15 @@
+package com.payment.repository;
+
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+
+import java.util.List;
+
+/**
+ * One fetch-size batch of exported transactions together with their details
+ */
+public record TransactionExportBatch(
+        List<TransactionMaster> transactions,
+        List<TransactionDetail> details
+) {
+}
@@ -0,0 +1,177 @@
+package com.payment.repository;
+
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.jdbc.runtime.JdbcOperations;
+import io.micronaut.jdbc.DataSourceResolver;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a merchant's transactions through a server-side cursor.
+ * Rows are pulled one fetch-size batch at a time as the subscriber requests more,
+ * so memory stays flat no matter how many rows the export covers.
+ */
+@Singleton
+public class TransactionExportRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionExportRepository.class);
+
+    private static final String DETAILS_SQL = """
+            SELECT td.* FROM operators.transaction_details td
+            WHERE td.master_txn_id = ANY(?)
+            ORDER BY td.master_txn_id, td.txn_detail_id
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcOperations jdbcOperations;
+
+    public TransactionExportRepository(
+            DataSource dataSource,
+            @Nullable DataSourceResolver dataSourceResolver,
+            JdbcOperations jdbcOperations
+    ) {
+        // The export owns its connection for the whole stream, outside any managed transaction
+        this.dataSource = dataSourceResolver != null ? dataSourceResolver.resolve(dataSource) : dataSource;
+        this.jdbcOperations = jdbcOperations;
+    }
+
+    public Flux<TransactionExportBatch> streamByMerchantId(
+            String merchantId,
+            @Nullable Instant startDate,
+            @Nullable Instant endDate,
+            @Nullable String status,
+            int fetchSize
+    ) {
+        return Flux.<TransactionExportBatch, ExportCursor>generate(
+                        () -> open(merchantId, startDate, endDate, status, fetchSize),
+                        (cursor, sink) -> {
+                            try {
+                                List<TransactionMaster> transactions = cursor.nextBatch();
+                                if (transactions.isEmpty()) {
+                                    sink.complete();
+                                } else {
+                                    sink.next(new TransactionExportBatch(transactions, cursor.detailsOf(transactions)));
+                                }
+                            } catch (SQLException e) {
+                                sink.error(new IllegalStateException("Database error occurred while exporting transactions", e));
+                            }
+                            return cursor;
+                        },
+                        ExportCursor::close
+                )
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private ExportCursor open(
+            String merchantId,
+            Instant startDate,
+            Instant endDate,
+            String status,
+            int fetchSize
+    ) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT tm.* FROM operators.transaction_master tm WHERE tm.merchant_id = ?");
+        List<Object> values = new ArrayList<>();
+        values.add(merchantId);
+        if (startDate != null) {
+            sql.append(" AND tm.txn_date >= ? AND tm.local_txn_date_time >= ?");
+            values.add(TxnDates.lowerBound(startDate));
+            values.add(OffsetDateTime.ofInstant(startDate, ZoneOffset.UTC));
+        }
+        if (endDate != null) {
+            sql.append(" AND tm.txn_date <= ? AND tm.local_txn_date_time <= ?");
+            values.add(TxnDates.upperBound(endDate));
+            values.add(OffsetDateTime.ofInstant(endDate, ZoneOffset.UTC));
+        }
+        if (status != null) {
+            sql.append(" AND tm.status = ?");
+            values.add(status);
+        }
+        sql.append(" ORDER BY tm.local_txn_date_time, tm.txn_id");
+
+        Connection connection = dataSource.getConnection();
+        try {
+            // PostgreSQL only honours fetchSize as a cursor inside a transaction
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            PreparedStatement statement = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+            ResultSet resultSet = statement.executeQuery();
+            PreparedStatement detailStatement = connection.prepareStatement(DETAILS_SQL);
+            return new ExportCursor(connection, statement, resultSet, detailStatement, fetchSize);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private final class ExportCursor {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final ResultSet resultSet;
+        private final PreparedStatement detailStatement;
+        private final int batchSize;
+
+        private ExportCursor(
+                Connection connection,
+                PreparedStatement statement,
+                ResultSet resultSet,
+                PreparedStatement detailStatement,
+                int batchSize
+        ) {
+            this.connection = connection;
+            this.statement = statement;
+            this.resultSet = resultSet;
+            this.detailStatement = detailStatement;
+            this.batchSize = batchSize;
+        }
+
+        List<TransactionMaster> nextBatch() throws SQLException {
+            List<TransactionMaster> batch = new ArrayList<>(batchSize);
+            while (batch.size() < batchSize && resultSet.next()) {
+                batch.add(jdbcOperations.readEntity(resultSet, TransactionMaster.class));
+            }
+            return batch;
+        }
+
+        List<TransactionDetail> detailsOf(List<TransactionMaster> transactions) throws SQLException {
+            Long[] txnIds = transactions.stream()
+                    .map(TransactionMaster::getTxnId)
+                    .toArray(Long[]::new);
+            detailStatement.setArray(1, connection.createArrayOf("bigint", txnIds));
+            List<TransactionDetail> details = new ArrayList<>();
+            try (ResultSet detailResultSet = detailStatement.executeQuery()) {
+                while (detailResultSet.next()) {
+                    details.add(jdbcOperations.readEntity(detailResultSet, TransactionDetail.class));
+                }
+            }
+            return details;
+        }
+
+        void close() {
+            try (connection; statement; detailStatement; resultSet) {
+                // Read-only work: end the transaction so the pooled connection comes back clean
+                connection.rollback();
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                LOG.warn("Failed to release export cursor", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.payment.repository;
+
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.jdbc.runtime.JdbcOperations;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Bulk writes of transactions and their details.
+ * A whole batch of masters is one INSERT ... SELECT FROM unnest(...) statement; RETURNING hands back
+ * the generated txn_ids, which link the details, and those are again one statement. Masters whose
+ * (merchant_id, external_ref, txn_date) already exists are skipped by uq_transaction_master_external_ref.
+ */
+@Repository
+@JdbcRepository(dialect = Dialect.POSTGRES)
+public abstract class TransactionIngestRepository {
+
+    private static final String INSERT_MASTERS_SQL = """
+            INSERT INTO operators.transaction_master
+                (external_ref, merchant_id, gp_acquirer_id, gp_issuer_id, txn_date, local_txn_date_time,
+                 amount, currency, status, card_type, card_last4, auth_code, response_code)
+            SELECT * FROM unnest(?::text[], ?::text[], ?::bigint[], ?::bigint[], ?::date[], ?::timestamptz[],
+                                 ?::numeric[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[])
+            ON CONFLICT (merchant_id, external_ref, txn_date) DO NOTHING
+            RETURNING txn_id, merchant_id, external_ref, txn_date
+            """;
+
+    private static final String FIND_EXISTING_SQL = """
+            SELECT tm.txn_id, tm.merchant_id, tm.external_ref, tm.txn_date
+            FROM unnest(?::text[], ?::text[], ?::date[]) AS k(merchant_id, external_ref, txn_date)
+            JOIN operators.transaction_master tm
+              ON tm.merchant_id = k.merchant_id AND tm.external_ref = k.external_ref AND tm.txn_date = k.txn_date
+            """;
+
+    private static final String INSERT_DETAILS_SQL = """
+            INSERT INTO operators.transaction_details
+                (master_txn_id, detail_type, amount, currency, description, local_txn_date_time)
+            SELECT * FROM unnest(?::bigint[], ?::text[], ?::numeric[], ?::text[], ?::text[], ?::timestamptz[])
+            """;
+
+    /**
+     * Stored txn_id of one input transaction; inserted is false when it already existed
+     */
+    public record IngestOutcome(long txnId, boolean inserted) {}
+
+    private final JdbcOperations jdbcOperations;
+
+    public TransactionIngestRepository(JdbcOperations jdbcOperations) {
+        this.jdbcOperations = jdbcOperations;
+    }
+
+    /**
+     * Inserts the masters, skipping already stored external refs, and the details of the inserted ones,
+     * in one transaction. details.get(i) belongs to masters.get(i); their masterTxnId is filled in here.
+     * Keys must be unique within the call. Returns one outcome per master, in input order.
+     */
+    @Transactional
+    public List<IngestOutcome> insertAllSkippingDuplicates(
+            List<TransactionMaster> masters,
+            List<List<TransactionDetail>> details
+    ) {
+        if (masters.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Integer> indexByKey = new HashMap<>(masters.size() * 2);
+        for (int i = 0; i < masters.size(); i++) {
+            indexByKey.put(keyOf(masters.get(i)), i);
+        }
+
+        IngestOutcome[] outcomes = new IngestOutcome[masters.size()];
+        jdbcOperations.prepareStatement(INSERT_MASTERS_SQL, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setArray(1, connection.createArrayOf("text", column(masters, TransactionMaster::getExternalRef)));
+            statement.setArray(2, connection.createArrayOf("text", column(masters, TransactionMaster::getMerchantId)));
+            statement.setArray(3, connection.createArrayOf("text", column(masters, TransactionMaster::getGpAcquirerId)));
+            statement.setArray(4, connection.createArrayOf("text", column(masters, TransactionMaster::getGpIssuerId)));
+            statement.setArray(5, connection.createArrayOf("text", column(masters, TransactionMaster::getTxnDate)));
+            statement.setArray(6, connection.createArrayOf("text", column(masters, TransactionMaster::getLocalTxnDateTime)));
+            statement.setArray(7, connection.createArrayOf("text", column(masters, txn -> txn.getAmount().toPlainString())));
+            statement.setArray(8, connection.createArrayOf("text", column(masters, TransactionMaster::getCurrency)));
+            statement.setArray(9, connection.createArrayOf("text", column(masters, TransactionMaster::getStatus)));
+            statement.setArray(10, connection.createArrayOf("text", column(masters, TransactionMaster::getCardType)));
+            statement.setArray(11, connection.createArrayOf("text", column(masters, TransactionMaster::getCardLast4)));
+            statement.setArray(12, connection.createArrayOf("text", column(masters, TransactionMaster::getAuthCode)));
+            statement.setArray(13, connection.createArrayOf("text", column(masters, TransactionMaster::getResponseCode)));
+            readKeys(statement, indexByKey, outcomes, true);
+            return null;
+        });
+
+        List<TransactionMaster> skipped = new ArrayList<>();
+        List<TransactionDetail> insertedDetails = new ArrayList<>();
+        for (int i = 0; i < outcomes.length; i++) {
+            if (outcomes[i] == null) {
+                skipped.add(masters.get(i));
+                continue;
+            }
+            for (TransactionDetail detail : details.get(i)) {
+                detail.setMasterTxnId(outcomes[i].txnId());
+                insertedDetails.add(detail);
+            }
+        }
+        if (!skipped.isEmpty()) {
+            findExisting(skipped, indexByKey, outcomes);
+        }
+        if (!insertedDetails.isEmpty()) {
+            insertDetails(insertedDetails);
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    private void findExisting(List<TransactionMaster> skipped, Map<String, Integer> indexByKey, IngestOutcome[] outcomes) {
+        jdbcOperations.prepareStatement(FIND_EXISTING_SQL, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setArray(1, connection.createArrayOf("text", column(skipped, TransactionMaster::getMerchantId)));
+            statement.setArray(2, connection.createArrayOf("text", column(skipped, TransactionMaster::getExternalRef)));
+            statement.setArray(3, connection.createArrayOf("text", column(skipped, TransactionMaster::getTxnDate)));
+            readKeys(statement, indexByKey, outcomes, false);
+            return null;
+        });
+    }
+
+    private void insertDetails(List<TransactionDetail> details) {
+        jdbcOperations.prepareStatement(INSERT_DETAILS_SQL, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setArray(1, connection.createArrayOf("text", column(details, TransactionDetail::getMasterTxnId)));
+            statement.setArray(2, connection.createArrayOf("text", column(details, TransactionDetail::getDetailType)));
+            statement.setArray(3, connection.createArrayOf("text", column(details, detail -> detail.getAmount().toPlainString())));
+            statement.setArray(4, connection.createArrayOf("text", column(details, TransactionDetail::getCurrency)));
+            statement.setArray(5, connection.createArrayOf("text", column(details, TransactionDetail::getDescription)));
+            statement.setArray(6, connection.createArrayOf("text", column(details, TransactionDetail::getLocalTxnDateTime)));
+            return statement.executeUpdate();
+        });
+    }
+
+    private static void readKeys(
+            PreparedStatement statement,
+            Map<String, Integer> indexByKey,
+            IngestOutcome[] outcomes,
+            boolean inserted
+    ) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                Integer index = indexByKey.get(keyOf(
+                        resultSet.getString("merchant_id"),
+                        resultSet.getString("external_ref"),
+                        resultSet.getString("txn_date")
+                ));
+                if (index != null) {
+                    outcomes[index] = new IngestOutcome(resultSet.getLong("txn_id"), inserted);
+                }
+            }
+        }
+    }
+
+    /**
+     * The idempotency key of a transaction: (merchant_id, external_ref, txn_date)
+     */
+    public static String keyOf(TransactionMaster txn) {
+        return keyOf(txn.getMerchantId(), txn.getExternalRef(), String.valueOf(txn.getTxnDate()));
+    }
+
+    private static String keyOf(String merchantId, String externalRef, String txnDate) {
+        return merchantId + '\u0000' + externalRef + '\u0000' + txnDate;
+    }
+
+    /**
+     * One text[] column for unnest; values are cast to the column types in SQL
+     */
+    private static <T> String[] column(List<T> rows, Function<T, Object> getter) {
+        String[] values = new String[rows.size()];
+        for (int i = 0; i < values.length; i++) {
+            Object value = getter.apply(rows.get(i));
+            values[i] = value != null ? value.toString() : null;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,82 @@
+package com.payment.repository;
+
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.jdbc.runtime.JdbcOperations;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Catalog access for txn_date range partitions of operators.transaction_master
+ */
+@Repository
+@JdbcRepository(dialect = Dialect.POSTGRES)
+public abstract class TransactionPartitionRepository {
+
+    private final JdbcOperations jdbcOperations;
+
+    public TransactionPartitionRepository(JdbcOperations jdbcOperations) {
+        this.jdbcOperations = jdbcOperations;
+    }
+
+    /**
+     * True when transaction_master is a partitioned table; the plain table used in development is not
+     */
+    @Transactional(readOnly = true)
+    public boolean isPartitioned() {
+        return jdbcOperations.prepareStatement("""
+                SELECT EXISTS (
+                    SELECT 1 FROM pg_partitioned_table pt
+                    JOIN pg_class c ON c.oid = pt.partrelid
+                    JOIN pg_namespace n ON n.oid = c.relnamespace
+                    WHERE n.nspname = 'operators' AND c.relname = 'transaction_master'
+                )
+                """,
+                statement -> {
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        return resultSet.next() && resultSet.getBoolean(1);
+                    }
+                });
+    }
+
+    /**
+     * Names of the existing partitions of transaction_master
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findPartitionNames() {
+        return jdbcOperations.prepareStatement("""
+                SELECT child.relname FROM pg_inherits i
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                JOIN pg_class child ON child.oid = i.inhrelid
+                JOIN pg_namespace n ON n.oid = parent.relnamespace
+                WHERE n.nspname = 'operators' AND parent.relname = 'transaction_master'
+                """,
+                statement -> {
+                    Set<String> names = new HashSet<>();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            names.add(resultSet.getString(1));
+                        }
+                    }
+                    return names;
+                });
+    }
+
+    /**
+     * Creates a partition covering txn_date in [from, to).
+     * The name is generated by the caller from dates only, never from request input.
+     */
+    @Transactional
+    public void createPartition(String name, LocalDate from, LocalDate to) {
+        // DDL cannot take bind parameters; all three values are formatted locally
+        String sql = "CREATE TABLE IF NOT EXISTS operators." + name
+                + " PARTITION OF operators.transaction_master"
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+        jdbcOperations.prepareStatement(sql, statement -> statement.executeUpdate());
+    }
+}
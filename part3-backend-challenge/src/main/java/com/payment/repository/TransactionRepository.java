@@ -1,87 +1,225 @@
 package com.payment.repository;
 
 import com.payment.entity.TransactionMaster;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.core.annotation.Nullable;
-import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.jdbc.annotation.JdbcRepository;
-import io.micronaut.data.model.Page;
+import io.micronaut.data.jdbc.runtime.JdbcOperations;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.repository.CrudRepository;
+import io.micronaut.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Repository for TransactionMaster entities.
+ * The filtered finders emit SQL containing only the predicates that are present, so each
+ * combination of filters gets its own fixed statement text (and its own cached server-side
+ * plan) that can range-scan (merchant_id, local_txn_date_time DESC, txn_id DESC).
+ * Date filters also bound txn_date so a txn_date-partitioned table only touches the partitions in range.
+ * The list finders carry payment.transactions.query-timeout as a statement timeout.
  */
 @Repository
 @JdbcRepository(dialect = Dialect.POSTGRES)
-public interface TransactionRepository extends CrudRepository<TransactionMaster, Long> {
+public abstract class TransactionRepository implements CrudRepository<TransactionMaster, Long> {
+
+    private static final int HAS_START = 1;
+    private static final int HAS_END = 1 << 1;
+    private static final int HAS_STATUS = 1 << 2;
+
+    private static final String[] PAGE_SQL = new String[8];
+    private static final String[] CURSOR_SQL = new String[8];
+
+    static {
+        for (int shape = 0; shape < PAGE_SQL.length; shape++) {
+            PAGE_SQL[shape] = filteredSql(shape, "") + " LIMIT ? OFFSET ?";
+            CURSOR_SQL[shape] = filteredSql(shape, " AND tm.txn_date <= ? AND (tm.local_txn_date_time, tm.txn_id) < (?, ?)")
+                    + " LIMIT ?";
+        }
+    }
+
+    private final JdbcOperations jdbcOperations;
+    private final int queryTimeoutSeconds;
+
+    public TransactionRepository(
+            JdbcOperations jdbcOperations,
+            @Value("${payment.transactions.query-timeout:5s}") Duration queryTimeout
+    ) {
+        this.jdbcOperations = jdbcOperations;
+        this.queryTimeoutSeconds = QueryTimeouts.seconds(queryTimeout);
+    }
 
     // Example: Basic finder method (provided)
-    List<TransactionMaster> findByMerchantId(String merchantId);
+    public abstract List<TransactionMaster> findByMerchantId(String merchantId);
+
+    /**
+     * What the merchant's transaction pages are derived from, read in one statement: the highest
+     * txn_id stored for the merchant (a backward probe of (merchant_id, txn_id)) and the rollup
+     * watermark row, whose updated_at also moves when reconciliation corrects a status update.
+     */
+    @Transactional(readOnly = true)
+    public PageVersion findPageVersion(String merchantId) {
+        return jdbcOperations.prepareStatement("""
+                SELECT m.max_txn_id, coalesce(w.last_txn_id, 0),
+                       coalesce((extract(epoch FROM w.updated_at) * 1000000)::bigint, 0)
+                FROM (SELECT coalesce(max(txn_id), 0) AS max_txn_id
+                      FROM operators.transaction_master WHERE merchant_id = ?) m
+                LEFT JOIN operators.summary_watermark w ON w.name = ?
+                """,
+                statement -> {
+                    statement.setString(1, merchantId);
+                    statement.setString(2, TransactionSummaryRepository.ROLLUP_NAME);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        resultSet.next();
+                        return new PageVersion(resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3));
+                    }
+                });
+    }
 
     /**
      * Find transactions by merchant ID with optional date range and status filtering
-     * Supports pagination
+     * Supports pagination; totals come from TransactionSummaryRepository rather than a count query
      */
-    @Query(value = """
-            SELECT tm.* FROM operators.transaction_master tm
-            WHERE tm.merchant_id = :merchantId
-            AND (CAST(:startDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR tm.local_txn_date_time >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
-            AND (CAST(:endDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR tm.local_txn_date_time <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
-            AND (CAST(:status AS VARCHAR) IS NULL OR tm.status = CAST(:status AS VARCHAR))
-            ORDER BY tm.local_txn_date_time DESC
-            """,
-            countQuery = """
-            SELECT COUNT(*) FROM operators.transaction_master tm
-            WHERE tm.merchant_id = :merchantId
-            AND (CAST(:startDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR tm.local_txn_date_time >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
-            AND (CAST(:endDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR tm.local_txn_date_time <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
-            AND (CAST(:status AS VARCHAR) IS NULL OR tm.status = CAST(:status AS VARCHAR))
-            """)
-    Page<TransactionMaster> findByMerchantIdWithFilters(
+    @Transactional(readOnly = true)
+    public List<TransactionMaster> findByMerchantIdWithFilters(
             String merchantId,
             @Nullable Instant startDate,
             @Nullable Instant endDate,
             @Nullable String status,
             Pageable pageable
-    );
+    ) {
+        String sql = pageSql(startDate, endDate, status);
+        return jdbcOperations.prepareStatement(sql, statement -> {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+            int index = bindFilters(statement, merchantId, startDate, endDate, status);
+            if (pageable.isUnpaged()) {
+                statement.setNull(index++, Types.INTEGER);
+                statement.setLong(index, 0L);
+            } else {
+                statement.setInt(index++, pageable.getSize());
+                statement.setLong(index, pageable.getOffset());
+            }
+            return readAll(statement);
+        });
+    }
 
     /**
-     * Get transaction count by status for a merchant with optional date filtering
+     * Find the next page of transactions strictly after the given keyset position.
+     * Uses the same ordering as findByMerchantIdWithFilters, so a cursor taken from
+     * either method can be continued here without skipping or repeating rows.
      */
-    @Query(value = """
-            SELECT tm.status, COUNT(*) as count
-            FROM operators.transaction_master tm
-            WHERE tm.merchant_id = :merchantId
-            AND (CAST(:startDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR tm.local_txn_date_time >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
-            AND (CAST(:endDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR tm.local_txn_date_time <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
-            GROUP BY tm.status
-            """)
-    List<StatusCountResult> countByStatus(
+    @Transactional(readOnly = true)
+    public List<TransactionMaster> findByMerchantIdAfterCursor(
             String merchantId,
             @Nullable Instant startDate,
-            @Nullable Instant endDate
-    );
+            @Nullable Instant endDate,
+            @Nullable String status,
+            Instant cursorDateTime,
+            Long cursorTxnId,
+            int limit
+    ) {
+        String sql = cursorSql(startDate, endDate, status);
+        return jdbcOperations.prepareStatement(sql, statement -> {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+            int index = bindFilters(statement, merchantId, startDate, endDate, status);
+            statement.setObject(index++, TxnDates.upperBound(cursorDateTime));
+            statement.setObject(index++, OffsetDateTime.ofInstant(cursorDateTime, ZoneOffset.UTC));
+            statement.setLong(index++, cursorTxnId);
+            statement.setInt(index, limit);
+            return readAll(statement);
+        });
+    }
+
+    private List<TransactionMaster> readAll(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return jdbcOperations.entityStream(resultSet, TransactionMaster.class)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
 
     /**
-     * Get total transaction amount for a merchant with optional date and status filtering
+     * Binds merchant and present filters in the order filteredSql emits them; returns the next index
      */
-    @Query(value = """
-            SELECT COALESCE(SUM(tm.amount), 0) as total_amount
-            FROM operators.transaction_master tm
-            WHERE tm.merchant_id = :merchantId
-            AND (CAST(:startDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR tm.local_txn_date_time >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
-            AND (CAST(:endDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR tm.local_txn_date_time <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
-            AND (CAST(:status AS VARCHAR) IS NULL OR tm.status = CAST(:status AS VARCHAR))
-            """)
-    TotalAmountResult getTotalAmount(
+    private static int bindFilters(
+            PreparedStatement statement,
             String merchantId,
-            @Nullable Instant startDate,
-            @Nullable Instant endDate,
-            @Nullable String status
-    );
+            Instant startDate,
+            Instant endDate,
+            String status
+    ) throws SQLException {
+        List<Object> values = filterValues(merchantId, startDate, endDate, status);
+        for (int i = 0; i < values.size(); i++) {
+            statement.setObject(i + 1, values.get(i));
+        }
+        return values.size() + 1;
+    }
+
+    /**
+     * Merchant and present filter values in the order filteredSql emits their placeholders.
+     * Shared with ReactiveTransactionRepository, which runs the same statements over R2DBC.
+     */
+    static List<Object> filterValues(String merchantId, Instant startDate, Instant endDate, String status) {
+        List<Object> values = new ArrayList<>(6);
+        values.add(merchantId);
+        if (startDate != null) {
+            values.add(TxnDates.lowerBound(startDate));
+            values.add(OffsetDateTime.ofInstant(startDate, ZoneOffset.UTC));
+        }
+        if (endDate != null) {
+            values.add(TxnDates.upperBound(endDate));
+            values.add(OffsetDateTime.ofInstant(endDate, ZoneOffset.UTC));
+        }
+        if (status != null) {
+            values.add(status);
+        }
+        return values;
+    }
+
+    static String pageSql(Instant startDate, Instant endDate, String status) {
+        return PAGE_SQL[shapeOf(startDate, endDate, status)];
+    }
+
+    static String cursorSql(Instant startDate, Instant endDate, String status) {
+        return CURSOR_SQL[shapeOf(startDate, endDate, status)];
+    }
+
+    private static int shapeOf(Instant startDate, Instant endDate, String status) {
+        return (startDate != null ? HAS_START : 0)
+                | (endDate != null ? HAS_END : 0)
+                | (status != null ? HAS_STATUS : 0);
+    }
+
+    private static String filteredSql(int shape, String keysetPredicate) {
+        StringBuilder sql = new StringBuilder("SELECT tm.* FROM operators.transaction_master tm WHERE tm.merchant_id = ?");
+        if ((shape & HAS_START) != 0) {
+            sql.append(" AND tm.txn_date >= ? AND tm.local_txn_date_time >= ?");
+        }
+        if ((shape & HAS_END) != 0) {
+            sql.append(" AND tm.txn_date <= ? AND tm.local_txn_date_time <= ?");
+        }
+        if ((shape & HAS_STATUS) != 0) {
+            sql.append(" AND tm.status = ?");
+        }
+        sql.append(keysetPredicate);
+        sql.append(" ORDER BY tm.local_txn_date_time DESC, tm.txn_id DESC");
+        return sql.toString();
+    }
+
+    /**
+     * Database state a transaction page ETag is built from; equal on every instance
+     */
+    public record PageVersion(long maxTxnId, long watermark, long watermarkUpdatedMicros) {
+    }
 }
@@ -0,0 +1,425 @@
+package com.payment.repository;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.jdbc.runtime.JdbcOperations;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.transaction.TransactionDefinition;
+import io.micronaut.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Transaction summaries backed by the merchant_daily_summary rollup.
+ * Whole UTC days inside the requested range are answered from the rollup; the partial days
+ * at the edges, and any rows newer than the rollup high-water mark, are aggregated from
+ * transaction_master. New txn_ids are folded in incrementally; rows that change after being
+ * folded in (a status update) are corrected by reconcileDays, which recomputes recent days.
+ */
+@Repository
+@JdbcRepository(dialect = Dialect.POSTGRES)
+public abstract class TransactionSummaryRepository {
+
+    public static final String ROLLUP_NAME = "merchant_daily_summary";
+
+    static final String WATERMARK_SQL = "SELECT last_txn_id FROM operators.summary_watermark WHERE name = ?";
+
+    private final JdbcOperations jdbcOperations;
+    private final int queryTimeoutSeconds;
+
+    public TransactionSummaryRepository(
+            JdbcOperations jdbcOperations,
+            @Value("${payment.transactions.query-timeout:5s}") Duration queryTimeout
+    ) {
+        this.jdbcOperations = jdbcOperations;
+        this.queryTimeoutSeconds = QueryTimeouts.seconds(queryTimeout);
+    }
+
+    /**
+     * Get count and amount per status for a merchant with optional date filtering.
+     * The result contains one row with a null status holding the overall count and amount.
+     * Runs in one REPEATABLE READ snapshot so the watermark and the rollup rows agree.
+     * Each aggregate query carries payment.transactions.query-timeout as a statement timeout.
+     */
+    @Transactional(readOnly = true, isolation = TransactionDefinition.Isolation.REPEATABLE_READ)
+    public List<StatusSummaryResult> summarizeByStatus(
+            String merchantId,
+            @Nullable Instant startDate,
+            @Nullable Instant endDate
+    ) {
+        WholeDays wholeDays = WholeDays.of(startDate, endDate);
+        if (wholeDays.isEmpty()) {
+            return combine(List.of(query(rawQuery(merchantId, startDate, endDate, null))));
+        }
+        long watermark = findWatermark();
+        return combine(List.of(
+                query(rollupQuery(merchantId, wholeDays)),
+                query(rawQuery(merchantId, startDate, endDate, wholeDays.rawWindow(watermark)))
+        ));
+    }
+
+    /**
+     * Highest txn_id currently visible, with the xmax of the snapshot it was read in.
+     * A txn_id is drawn from the sequence when a row is inserted, not when its transaction commits,
+     * so lower ids may still appear later; they can only belong to transactions that had not
+     * finished when this snapshot was taken, i.e. with an xid below its xmax.
+     */
+    @Transactional(readOnly = true)
+    public TxnIdHorizon observeHorizon() {
+        return jdbcOperations.prepareStatement(
+                "SELECT COALESCE(MAX(txn_id), 0), pg_snapshot_xmax(pg_current_snapshot())::text "
+                        + "FROM operators.transaction_master",
+                statement -> {
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        resultSet.next();
+                        return new TxnIdHorizon(resultSet.getLong(1), resultSet.getString(2));
+                    }
+                });
+    }
+
+    /**
+     * Whether every transaction that was running when the horizon was observed has committed or
+     * aborted, so no txn_id at or below its maxTxnId can still appear
+     */
+    @Transactional(readOnly = true)
+    public boolean isSettled(TxnIdHorizon horizon) {
+        return jdbcOperations.prepareStatement(
+                "SELECT pg_snapshot_xmin(pg_current_snapshot()) >= ?::xid8",
+                statement -> {
+                    statement.setString(1, horizon.snapshotXmax());
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        return resultSet.next() && resultSet.getBoolean(1);
+                    }
+                });
+    }
+
+    /**
+     * Merchants that have transactions with txn_id in (afterTxnId, upToTxnId]; a primary key range scan
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findMerchantIdsBetween(long afterTxnId, long upToTxnId) {
+        return jdbcOperations.prepareStatement(
+                "SELECT DISTINCT merchant_id FROM operators.transaction_master WHERE txn_id > ? AND txn_id <= ?",
+                statement -> {
+                    statement.setLong(1, afterTxnId);
+                    statement.setLong(2, upToTxnId);
+                    Set<String> merchantIds = new HashSet<>();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            merchantIds.add(resultSet.getString(1));
+                        }
+                    }
+                    return merchantIds;
+                });
+    }
+
+    /**
+     * Folds transaction_master rows with txn_id in (watermark, min(upperTxnId, watermark + maxRows)]
+     * into the rollup and moves the watermark, all in one transaction.
+     */
+    @Transactional
+    public RollupProgress advanceRollup(long upperTxnId, long maxRows) {
+        long watermark = jdbcOperations.prepareStatement(
+                "SELECT last_txn_id FROM operators.summary_watermark WHERE name = ? FOR UPDATE",
+                statement -> {
+                    statement.setString(1, ROLLUP_NAME);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        return resultSet.next() ? resultSet.getLong(1) : 0L;
+                    }
+                });
+        long nextWatermark = Math.min(upperTxnId, watermark + maxRows);
+        if (nextWatermark <= watermark) {
+            return new RollupProgress(watermark, Set.of());
+        }
+
+        Set<String> merchantIds = jdbcOperations.prepareStatement("""
+                INSERT INTO operators.merchant_daily_summary (merchant_id, bucket_date, status, txn_count, total_amount)
+                SELECT tm.merchant_id, (tm.local_txn_date_time AT TIME ZONE 'UTC')::date, tm.status, COUNT(*), SUM(tm.amount)
+                FROM operators.transaction_master tm
+                WHERE tm.txn_id > ? AND tm.txn_id <= ?
+                GROUP BY 1, 2, 3
+                ON CONFLICT (merchant_id, bucket_date, status) DO UPDATE
+                SET txn_count = operators.merchant_daily_summary.txn_count + EXCLUDED.txn_count,
+                    total_amount = operators.merchant_daily_summary.total_amount + EXCLUDED.total_amount
+                RETURNING merchant_id
+                """,
+                statement -> {
+                    statement.setLong(1, watermark);
+                    statement.setLong(2, nextWatermark);
+                    Set<String> changed = new HashSet<>();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            changed.add(resultSet.getString(1));
+                        }
+                    }
+                    return changed;
+                });
+
+        jdbcOperations.prepareStatement(
+                "UPDATE operators.summary_watermark SET last_txn_id = ?, updated_at = NOW() WHERE name = ?",
+                statement -> {
+                    statement.setLong(1, nextWatermark);
+                    statement.setString(2, ROLLUP_NAME);
+                    return statement.executeUpdate();
+                });
+        return new RollupProgress(nextWatermark, merchantIds);
+    }
+
+    /**
+     * Recomputes the rollup rows of the UTC days [fromDate, toDate) from the transactions up to the
+     * watermark, correcting rows that changed after they were folded in. Holds the watermark lock,
+     * so it never interleaves with advanceRollup. A correction touches the watermark's updated_at,
+     * which transaction page ETags include. Returns the merchants whose totals changed.
+     */
+    @Transactional
+    public Set<String> reconcileDays(LocalDate fromDate, LocalDate toDate) {
+        long watermark = jdbcOperations.prepareStatement(
+                "SELECT last_txn_id FROM operators.summary_watermark WHERE name = ? FOR UPDATE",
+                statement -> {
+                    statement.setString(1, ROLLUP_NAME);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        return resultSet.next() ? resultSet.getLong(1) : 0L;
+                    }
+                });
+        Instant from = fromDate.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = toDate.atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        Set<String> changed = jdbcOperations.prepareStatement("""
+                WITH fresh AS (
+                    SELECT tm.merchant_id, (tm.local_txn_date_time AT TIME ZONE 'UTC')::date AS bucket_date, tm.status,
+                           COUNT(*) AS txn_count, SUM(tm.amount) AS total_amount
+                    FROM operators.transaction_master tm
+                    WHERE tm.txn_id <= ?
+                      AND tm.txn_date >= ? AND tm.txn_date <= ?
+                      AND tm.local_txn_date_time >= ? AND tm.local_txn_date_time < ?
+                    GROUP BY 1, 2, 3
+                ), upserted AS (
+                    INSERT INTO operators.merchant_daily_summary (merchant_id, bucket_date, status, txn_count, total_amount)
+                    SELECT * FROM fresh
+                    ON CONFLICT (merchant_id, bucket_date, status) DO UPDATE
+                    SET txn_count = EXCLUDED.txn_count, total_amount = EXCLUDED.total_amount
+                    WHERE (operators.merchant_daily_summary.txn_count, operators.merchant_daily_summary.total_amount)
+                          IS DISTINCT FROM (EXCLUDED.txn_count, EXCLUDED.total_amount)
+                    RETURNING merchant_id
+                ), deleted AS (
+                    DELETE FROM operators.merchant_daily_summary mds
+                    WHERE mds.bucket_date >= ? AND mds.bucket_date < ?
+                      AND NOT EXISTS (SELECT 1 FROM fresh f WHERE f.merchant_id = mds.merchant_id
+                                      AND f.bucket_date = mds.bucket_date AND f.status = mds.status)
+                    RETURNING mds.merchant_id
+                )
+                SELECT merchant_id FROM upserted UNION SELECT merchant_id FROM deleted
+                """,
+                statement -> {
+                    statement.setLong(1, watermark);
+                    statement.setObject(2, TxnDates.lowerBound(from));
+                    statement.setObject(3, TxnDates.upperBound(to));
+                    statement.setObject(4, OffsetDateTime.ofInstant(from, ZoneOffset.UTC));
+                    statement.setObject(5, OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+                    statement.setObject(6, fromDate);
+                    statement.setObject(7, toDate);
+                    Set<String> merchantIds = new HashSet<>();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            merchantIds.add(resultSet.getString(1));
+                        }
+                    }
+                    return merchantIds;
+                });
+        if (!changed.isEmpty()) {
+            jdbcOperations.prepareStatement(
+                    "UPDATE operators.summary_watermark SET updated_at = NOW() WHERE name = ?",
+                    statement -> {
+                        statement.setString(1, ROLLUP_NAME);
+                        return statement.executeUpdate();
+                    });
+        }
+        return changed;
+    }
+
+    private long findWatermark() {
+        return jdbcOperations.prepareStatement(
+                WATERMARK_SQL,
+                statement -> {
+                    statement.setString(1, ROLLUP_NAME);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        return resultSet.next() ? resultSet.getLong(1) : 0L;
+                    }
+                });
+    }
+
+    /**
+     * Rollup rows for the whole days; the JDBC and R2DBC summaries run the same statement
+     */
+    static SqlQuery rollupQuery(String merchantId, WholeDays wholeDays) {
+        Instant wholeStart = wholeDays.start();
+        Instant wholeEnd = wholeDays.end();
+        StringBuilder sql = new StringBuilder("""
+                SELECT mds.status, SUM(mds.txn_count) AS count, SUM(mds.total_amount) AS total_amount
+                FROM operators.merchant_daily_summary mds
+                WHERE mds.merchant_id = ?""");
+        List<Object> values = new ArrayList<>();
+        values.add(merchantId);
+        if (wholeStart != null) {
+            sql.append(" AND mds.bucket_date >= ?");
+            values.add(LocalDate.ofInstant(wholeStart, ZoneOffset.UTC));
+        }
+        if (wholeEnd != null) {
+            sql.append(" AND mds.bucket_date < ?");
+            values.add(LocalDate.ofInstant(wholeEnd, ZoneOffset.UTC));
+        }
+        sql.append(" GROUP BY mds.status");
+        return new SqlQuery(sql.toString(), values);
+    }
+
+    /**
+     * Aggregates raw rows in [startDate, endDate]; with a window, only the rows the rollup does not cover.
+     */
+    static SqlQuery rawQuery(
+            String merchantId,
+            Instant startDate,
+            Instant endDate,
+            RawWindow window
+    ) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT tm.status, COUNT(*) AS count, COALESCE(SUM(tm.amount), 0) AS total_amount
+                FROM operators.transaction_master tm
+                WHERE tm.merchant_id = ?""");
+        List<Object> values = new ArrayList<>();
+        values.add(merchantId);
+        if (startDate != null) {
+            sql.append(" AND tm.txn_date >= ? AND tm.local_txn_date_time >= ?");
+            values.add(TxnDates.lowerBound(startDate));
+            values.add(OffsetDateTime.ofInstant(startDate, ZoneOffset.UTC));
+        }
+        if (endDate != null) {
+            sql.append(" AND tm.txn_date <= ? AND tm.local_txn_date_time <= ?");
+            values.add(TxnDates.upperBound(endDate));
+            values.add(OffsetDateTime.ofInstant(endDate, ZoneOffset.UTC));
+        }
+        if (window != null) {
+            sql.append(" AND (tm.txn_id > ?");
+            values.add(window.watermark());
+            if (window.wholeStart() != null) {
+                sql.append(" OR tm.local_txn_date_time < ?");
+                values.add(OffsetDateTime.ofInstant(window.wholeStart(), ZoneOffset.UTC));
+            }
+            if (window.wholeEnd() != null) {
+                sql.append(" OR tm.local_txn_date_time >= ?");
+                values.add(OffsetDateTime.ofInstant(window.wholeEnd(), ZoneOffset.UTC));
+            }
+            sql.append(")");
+        }
+        sql.append(" GROUP BY tm.status");
+        return new SqlQuery(sql.toString(), values);
+    }
+
+    private List<StatusSummaryResult> query(SqlQuery query) {
+        return jdbcOperations.prepareStatement(query.sql(), statement -> {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+            bind(statement, query.values());
+            List<StatusSummaryResult> rows = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(new StatusSummaryResult(
+                            resultSet.getString("status"),
+                            resultSet.getLong("count"),
+                            resultSet.getBigDecimal("total_amount")
+                    ));
+                }
+            }
+            return rows;
+        });
+    }
+
+    private void bind(PreparedStatement statement, List<Object> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            statement.setObject(i + 1, values.get(i));
+        }
+    }
+
+    /**
+     * Merges the per-status rows of the rollup and raw parts and appends the total row
+     */
+    static List<StatusSummaryResult> combine(List<List<StatusSummaryResult>> parts) {
+        Map<String, StatusSummaryResult> byStatus = new HashMap<>();
+        for (List<StatusSummaryResult> part : parts) {
+            for (StatusSummaryResult row : part) {
+                byStatus.merge(row.getStatus(), row, (left, right) -> new StatusSummaryResult(
+                        left.getStatus(),
+                        left.getCount() + right.getCount(),
+                        left.getTotalAmount().add(right.getTotalAmount())
+                ));
+            }
+        }
+        List<StatusSummaryResult> result = new ArrayList<>(byStatus.values());
+        long count = 0L;
+        BigDecimal amount = BigDecimal.ZERO;
+        for (StatusSummaryResult row : byStatus.values()) {
+            count += row.getCount();
+            amount = amount.add(row.getTotalAmount());
+        }
+        result.add(new StatusSummaryResult(null, count, amount));
+        return result;
+    }
+
+    private static Instant ceilToDay(Instant instant) {
+        Instant day = instant.truncatedTo(ChronoUnit.DAYS);
+        return day.equals(instant) ? day : day.plus(1, ChronoUnit.DAYS);
+    }
+
+    /**
+     * Whole UTC days [start, end) inside a requested range; a null bound is open
+     */
+    record WholeDays(@Nullable Instant start, @Nullable Instant end) {
+
+        static WholeDays of(@Nullable Instant startDate, @Nullable Instant endDate) {
+            // endDate is inclusive at microsecond precision
+            return new WholeDays(
+                    startDate != null ? ceilToDay(startDate) : null,
+                    endDate != null ? endDate.plus(1, ChronoUnit.MICROS).truncatedTo(ChronoUnit.DAYS) : null
+            );
+        }
+
+        /**
+         * True when the range holds no whole day, so the rollup has nothing to contribute
+         */
+        boolean isEmpty() {
+            return start != null && end != null && !start.isBefore(end);
+        }
+
+        RawWindow rawWindow(long watermark) {
+            return new RawWindow(start, end, watermark);
+        }
+    }
+
+    record RawWindow(@Nullable Instant wholeStart, @Nullable Instant wholeEnd, long watermark) {
+    }
+
+    record SqlQuery(String sql, List<Object> values) {
+    }
+
+    /**
+     * Outcome of one rollup step: the new watermark and the merchants whose totals changed
+     */
+    public record RollupProgress(long watermark, Set<String> merchantIds) {
+    }
+
+    /**
+     * Highest visible txn_id and the xmax (as text) of the snapshot it was read in
+     */
+    public record TxnIdHorizon(long maxTxnId, String snapshotXmax) {
+    }
+}
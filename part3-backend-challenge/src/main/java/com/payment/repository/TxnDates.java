@@ -0,0 +1,24 @@
+package com.payment.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Derives txn_date bounds from requested instants so queries can prune txn_date partitions.
+ * txn_date is the merchant's local calendar date, which lies within one day of the UTC date
+ * for every offset between -14:00 and +14:00, so the bounds are widened by a day each side.
+ */
+final class TxnDates {
+
+    private TxnDates() {
+    }
+
+    static LocalDate lowerBound(Instant from) {
+        return LocalDate.ofInstant(from, ZoneOffset.UTC).minusDays(1);
+    }
+
+    static LocalDate upperBound(Instant to) {
+        return LocalDate.ofInstant(to, ZoneOffset.UTC).plusDays(1);
+    }
+}
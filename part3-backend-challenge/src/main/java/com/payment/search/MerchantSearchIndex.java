@@ -0,0 +1,166 @@
+package com.payment.search;
+
+import com.payment.entity.Merchant;
+import com.payment.repository.MerchantRepository;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * In-memory merchant search for the merchant picker.
+ * The whole merchant table is indexed at startup and on a schedule; merchants written through
+ * this instance are applied immediately to a small overlay that is folded into a rebuilt
+ * index once it grows. Until the first load completes the index is cold and callers should
+ * search the database instead.
+ */
+@Singleton
+public class MerchantSearchIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MerchantSearchIndex.class);
+    static final int OVERLAY_LIMIT = 1024;
+
+    private final MerchantRepository merchantRepository;
+
+    private volatile MerchantTrigramIndex index;
+    private volatile Map<String, Merchant> overlay = Map.of();
+
+    public MerchantSearchIndex(MerchantRepository merchantRepository) {
+        this.merchantRepository = merchantRepository;
+    }
+
+    @EventListener
+    public void onStartup(StartupEvent event) {
+        refreshQuietly();
+    }
+
+    @Scheduled(
+            fixedDelay = "${payment.merchants.search-refresh-interval:15m}",
+            initialDelay = "${payment.merchants.search-refresh-interval:15m}"
+    )
+    public void scheduledRefresh() {
+        refreshQuietly();
+    }
+
+    public boolean isWarm() {
+        return index != null;
+    }
+
+    /**
+     * Reloads every merchant and replaces the index and overlay in one step.
+     */
+    public synchronized void refresh() {
+        List<Merchant> loaded = new ArrayList<>();
+        merchantRepository.findAll().forEach(merchant -> loaded.add(intern(merchant)));
+        index = MerchantTrigramIndex.build(loaded);
+        overlay = Map.of();
+        LOG.info("Merchant search index loaded {} merchants", loaded.size());
+    }
+
+    /**
+     * Makes a merchant that was just inserted or updated searchable.
+     */
+    public void upsert(Merchant merchant) {
+        upsertAll(List.of(merchant));
+    }
+
+    /**
+     * Makes a batch of merchants searchable with a single overlay swap.
+     */
+    public synchronized void upsertAll(Collection<Merchant> merchants) {
+        if (index == null || merchants.isEmpty()) {
+            // Nothing to patch yet; the first load will pick it up from the database
+            return;
+        }
+        Map<String, Merchant> next = new HashMap<>(overlay);
+        merchants.forEach(merchant -> next.put(merchant.getId(), intern(merchant)));
+        if (next.size() > OVERLAY_LIMIT) {
+            Map<String, Merchant> merged = new LinkedHashMap<>();
+            index.merchants().forEach(existing -> merged.put(existing.getId(), existing));
+            merged.putAll(next);
+            index = MerchantTrigramIndex.build(merged.values());
+            overlay = Map.of();
+        } else {
+            overlay = Map.copyOf(next);
+        }
+    }
+
+    /**
+     * Every merchant matching the term in id, name, email or business name.
+     * With a sort field the results follow MerchantSort order; otherwise the closest matches by
+     * pg_trgm similarity come first, then merchants are ordered by name. DynamicQueryBuilder ranks
+     * a database search with similarity() the same way, so results do not depend on whether the
+     * index is warm.
+     */
+    public List<Merchant> search(String term, String sortField, String sortOrder) {
+        MerchantTrigramIndex snapshot = index;
+        Map<String, Merchant> pending = overlay;
+        if (snapshot == null) {
+            throw new IllegalStateException("Merchant search index is not loaded");
+        }
+        String needle = term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+
+        List<Merchant> matches = new ArrayList<>();
+        snapshot.search(needle, pending.keySet(), matches);
+        List<Merchant> pendingMatches = new ArrayList<>();
+        for (Merchant merchant : pending.values()) {
+            if (MerchantTrigramIndex.key(merchant).contains(needle)) {
+                pendingMatches.add(merchant);
+            }
+        }
+        if (!pendingMatches.isEmpty()) {
+            matches.addAll(pendingMatches);
+            matches.sort(MerchantTrigramIndex.byName());
+        }
+
+        if (sortField != null && !sortField.isBlank()) {
+            matches.sort(MerchantSort.from(sortField).comparator("DESC".equalsIgnoreCase(sortOrder)));
+        } else if (!needle.isEmpty()) {
+            // A stable sort keeps the name order among equal scores
+            Set<Long> termTrigrams = MerchantTrigramIndex.wordTrigrams(needle);
+            Map<Merchant, Float> scores = new IdentityHashMap<>(matches.size() * 2);
+            for (Merchant merchant : matches) {
+                scores.put(merchant, MerchantTrigramIndex.similarity(termTrigrams, MerchantTrigramIndex.key(merchant)));
+            }
+            matches.sort(Comparator.comparing(scores::get, Comparator.reverseOrder()));
+        }
+        return matches;
+    }
+
+    public int size() {
+        MerchantTrigramIndex snapshot = index;
+        if (snapshot == null) {
+            return 0;
+        }
+        int added = 0;
+        for (String id : overlay.keySet()) {
+            if (!snapshot.contains(id)) {
+                added++;
+            }
+        }
+        return snapshot.size() + added;
+    }
+
+    /**
+     * Shares the few distinct status values across all merchants
+     */
+    private static Merchant intern(Merchant merchant) {
+        if (merchant.getStatus() != null) {
+            merchant.setStatus(merchant.getStatus().intern());
+        }
+        return merchant;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Stay cold (or on the previous index); searches fall back to the database
+            LOG.warn("Merchant search index refresh failed", e);
+        }
+    }
+}
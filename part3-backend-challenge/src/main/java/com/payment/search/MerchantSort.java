@@ -0,0 +1,104 @@
+package com.payment.search;
+
+import com.payment.entity.Merchant;
+import com.payment.sqlutils.SortRegistry;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Sort keys accepted by merchant search. Each maps to a column with a (column, id) index
+ * in schema.sql; id breaks ties so paging is deterministic.
+ */
+public enum MerchantSort {
+    ID("id", "id", Merchant::getId),
+    NAME("name", "name", Merchant::getName),
+    EMAIL("email", "email", Merchant::getEmail),
+    STATUS("status", "status", Merchant::getStatus),
+    BUSINESS_NAME("businessName", "business_name", Merchant::getBusinessName);
+
+    public static final MerchantSort DEFAULT = NAME;
+    // Byte order, which for UTF-8 is code point order and so matches String.compareTo
+    // outside the supplementary planes; the sort indexes in schema.sql are built with it
+    public static final String COLLATION = "C";
+    public static final SortRegistry REGISTRY = buildRegistry();
+
+    private final String key;
+    private final String column;
+    private final Function<Merchant, String> accessor;
+
+    MerchantSort(String key, String column, Function<Merchant, String> accessor) {
+        this.key = key;
+        this.column = column;
+        this.accessor = accessor;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String valueOf(Merchant merchant) {
+        return accessor.apply(merchant);
+    }
+
+    /**
+     * Resolves an API sort key (or its column name); blank means the default sort
+     */
+    public static MerchantSort from(String key) {
+        if (key == null || key.isBlank()) {
+            return DEFAULT;
+        }
+        return Arrays.stream(values())
+                .filter(sort -> sort.key.equals(key) || sort.column.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + key));
+    }
+
+    /**
+     * In-memory order matching the SQL ORDER BY column, id in the registry's COLLATION
+     */
+    public Comparator<Merchant> comparator(boolean descending) {
+        Comparator<Merchant> comparator = Comparator.comparing(accessor, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+                .thenComparing(Merchant::getId, Comparator.nullsLast(Comparator.<String>naturalOrder()));
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    /**
+     * Index of the first merchant in a list sorted by comparator(descending) that lies after the position
+     */
+    public int positionAfter(List<Merchant> sorted, boolean descending, String sortValue, String id) {
+        Comparator<String> values = Comparator.nullsLast(Comparator.<String>naturalOrder());
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Merchant merchant = sorted.get(mid);
+            int compared = values.compare(valueOf(merchant), sortValue);
+            if (compared == 0) {
+                compared = values.compare(merchant.getId(), id);
+            }
+            if (descending) {
+                compared = -compared;
+            }
+            if (compared > 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static SortRegistry buildRegistry() {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (MerchantSort sort : values()) {
+            columns.put(sort.key, sort.column);
+            columns.put(sort.column, sort.column);
+        }
+        return new SortRegistry(columns, ID.column, DEFAULT.key, COLLATION);
+    }
+}
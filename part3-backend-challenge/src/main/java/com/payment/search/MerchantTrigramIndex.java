@@ -0,0 +1,207 @@
+package com.payment.search;
+
+import com.payment.entity.Merchant;
+
+import java.util.*;
+
+/**
+ * Immutable trigram index over merchant id, name, email and business name.
+ * Each merchant is reduced to one lower-cased key string; a term of three or more characters
+ * is answered by intersecting the posting lists of its trigrams and confirming the candidates
+ * with a substring check, shorter terms by scanning the keys.
+ */
+final class MerchantTrigramIndex {
+
+    private static final Comparator<Merchant> BY_NAME = Comparator.comparing(
+            (Merchant merchant) -> merchant.getName() == null ? "" : merchant.getName().toLowerCase(Locale.ROOT))
+            .thenComparing(merchant -> merchant.getId() == null ? "" : merchant.getId());
+
+    // Sorted by name, so unsorted and relevance results come out in a stable, readable order
+    private final Merchant[] merchants;
+    private final String[] keys;
+    private final Map<Long, int[]> postings;
+    private final Set<String> ids;
+
+    private MerchantTrigramIndex(Merchant[] merchants, String[] keys, Map<Long, int[]> postings, Set<String> ids) {
+        this.merchants = merchants;
+        this.keys = keys;
+        this.postings = postings;
+        this.ids = ids;
+    }
+
+    static MerchantTrigramIndex build(Collection<Merchant> source) {
+        Merchant[] merchants = source.toArray(new Merchant[0]);
+        Arrays.sort(merchants, BY_NAME);
+        String[] keys = new String[merchants.length];
+        Set<String> ids = new HashSet<>();
+        Map<Long, int[]> building = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (int position = 0; position < merchants.length; position++) {
+            keys[position] = key(merchants[position]);
+            ids.add(merchants[position].getId());
+            for (long trigram : trigrams(keys[position])) {
+                int size = sizes.getOrDefault(trigram, 0);
+                int[] list = building.get(trigram);
+                if (list == null) {
+                    list = new int[4];
+                } else if (size == list.length) {
+                    list = Arrays.copyOf(list, size * 2);
+                }
+                list[size] = position;
+                building.put(trigram, list);
+                sizes.put(trigram, size + 1);
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(building.size() * 2);
+        building.forEach((trigram, list) -> postings.put(trigram, Arrays.copyOf(list, sizes.get(trigram))));
+        return new MerchantTrigramIndex(merchants, keys, postings, ids);
+    }
+
+    int size() {
+        return merchants.length;
+    }
+
+    boolean contains(String id) {
+        return ids.contains(id);
+    }
+
+    List<Merchant> merchants() {
+        return Arrays.asList(merchants);
+    }
+
+    /**
+     * Adds merchants whose key contains the lower-cased term, skipping excluded ids, in index order
+     */
+    void search(String term, Set<String> excludedIds, List<Merchant> out) {
+        if (term.isEmpty()) {
+            for (Merchant merchant : merchants) {
+                if (!excludedIds.contains(merchant.getId())) {
+                    out.add(merchant);
+                }
+            }
+            return;
+        }
+        int[] candidates = candidates(term);
+        if (candidates == null) {
+            for (int position = 0; position < keys.length; position++) {
+                collect(position, term, excludedIds, out);
+            }
+        } else {
+            for (int position : candidates) {
+                collect(position, term, excludedIds, out);
+            }
+        }
+    }
+
+    static String key(Merchant merchant) {
+        // Fields are separated by a newline so a match cannot straddle two fields
+        return (nullToEmpty(merchant.getId()) + '\n'
+                + nullToEmpty(merchant.getName()) + '\n'
+                + nullToEmpty(merchant.getEmail()) + '\n'
+                + nullToEmpty(merchant.getBusinessName())).toLowerCase(Locale.ROOT);
+    }
+
+    static Comparator<Merchant> byName() {
+        return BY_NAME;
+    }
+
+    /**
+     * pg_trgm's similarity(): distinct word trigrams the two texts share, divided by the distinct
+     * trigrams of both. Words are runs of letters and digits, each padded with two spaces in front
+     * and one behind; the score is a float like PostgreSQL's real, so equal scores tie the same way.
+     */
+    static float similarity(Set<Long> termTrigrams, String key) {
+        Set<Long> keyTrigrams = wordTrigrams(key);
+        if (termTrigrams.isEmpty() || keyTrigrams.isEmpty()) {
+            return 0f;
+        }
+        int shared = 0;
+        for (long trigram : termTrigrams) {
+            if (keyTrigrams.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (float) shared / (float) (termTrigrams.size() + keyTrigrams.size() - shared);
+    }
+
+    /**
+     * Word trigrams of lower-cased text as pg_trgm extracts them, one code point per 21 bits
+     */
+    static Set<Long> wordTrigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        int[] codePoints = text.codePoints().toArray();
+        int start = 0;
+        while (start < codePoints.length) {
+            if (!Character.isLetterOrDigit(codePoints[start])) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < codePoints.length && Character.isLetterOrDigit(codePoints[end])) {
+                end++;
+            }
+            int[] padded = new int[end - start + 3];
+            Arrays.fill(padded, ' ');
+            System.arraycopy(codePoints, start, padded, 2, end - start);
+            for (int i = 0; i + 3 <= padded.length; i++) {
+                trigrams.add(((long) padded[i] << 42) | ((long) padded[i + 1] << 21) | padded[i + 2]);
+            }
+            start = end;
+        }
+        return trigrams;
+    }
+
+    private void collect(int position, String term, Set<String> excludedIds, List<Merchant> out) {
+        Merchant merchant = merchants[position];
+        if (keys[position].contains(term) && !excludedIds.contains(merchant.getId())) {
+            out.add(merchant);
+        }
+    }
+
+    /**
+     * Positions containing every trigram of the term, or null when the term is too short to use the index
+     */
+    private int[] candidates(String term) {
+        Set<Long> termTrigrams = trigrams(term);
+        if (termTrigrams.isEmpty()) {
+            return null;
+        }
+        List<int[]> lists = new ArrayList<>(termTrigrams.size());
+        for (long trigram : termTrigrams) {
+            int[] list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] smaller, int[] larger) {
+        int[] result = new int[smaller.length];
+        int size = 0;
+        for (int position : smaller) {
+            if (Arrays.binarySearch(larger, position) >= 0) {
+                result[size++] = position;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -1,12 +1,11 @@
 package com.payment.search;
 
+import com.payment.sqlutils.SqlParameters;
 import io.soabase.recordbuilder.core.RecordBuilder;
 
-import java.util.Map;
-
 @RecordBuilder
 public record SearchModel(
         String sqlQuery,
-        Map<Integer, Object> queryValues
+        SqlParameters parameters
 ) {
 }
@@ -3,37 +3,191 @@ package com.payment.sqlutils;
 import com.payment.search.SearchModel;
 import com.payment.search.SearchModelBuilder;
 
-import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Builds search statements from a small set of SQL shapes.
+ * Every value, including LIMIT and OFFSET, is a bind parameter, so the SQL text depends only
+ * on the shape and is built once per shape; sort columns come from a SortRegistry because
+ * identifiers cannot be bound.
+ */
 public class DynamicQueryBuilder {
 
+    public static final String TOTAL_COUNT_COLUMN = "total_count";
+
+    // Bounded: base SQL strings are constants and sort columns are registered
+    private static final Map<QueryShape, String> SHAPES = new ConcurrentHashMap<>();
+
     public static SearchModel getSearchModel(QueryCriteria queryCriteria) {
-        var query = queryCriteria.sql();
-        Map<Integer, Object> values = new HashMap();
-        StringBuilder queryBuilder = new StringBuilder(query);
+        boolean hasSearch = queryCriteria.field() != null && !queryCriteria.field().isBlank()
+                && queryCriteria.value() != null;
+        String term = hasSearch ? queryCriteria.value().toString().trim() : null;
+        boolean keyset = queryCriteria.after() != null;
+        boolean afterNull = keyset && queryCriteria.after().sortValue() == null;
+        boolean ranked = !keyset && hasSearch && queryCriteria.rankByRelevance() && isBlank(queryCriteria.sortField());
+        boolean descending = "DESC".equalsIgnoreCase(queryCriteria.sortOrder());
+        boolean paged = queryCriteria.pageSize() != 0;
 
-        if (queryCriteria.field() != null && !queryCriteria.field().isBlank()) {
-            queryBuilder.append(" AND ");
-            queryBuilder.append(queryCriteria.field() + " ILIKE ?");
-            values.put(1, "%" + queryCriteria.value() + "%");
+        SortRegistry registry = queryCriteria.sortRegistry();
+        String sortColumn = null;
+        String tiebreaker = null;
+        if (!isBlank(queryCriteria.sortField()) || keyset) {
+            if (registry == null) {
+                throw new IllegalArgumentException("Sorting is not supported for this query");
+            }
+            sortColumn = registry.column(isBlank(queryCriteria.sortField()) ? registry.defaultKey() : queryCriteria.sortField());
+        } else if (registry != null) {
+            // Same direction as an explicit sort on the default key, so cursors issued for it seek the right way;
+            // a ranked query orders by it within each rank
+            sortColumn = registry.column(registry.defaultKey());
         }
+        if (registry != null) {
+            tiebreaker = registry.tiebreakerColumn();
+        }
+
+        QueryShape shape = new QueryShape(
+                queryCriteria.sql(),
+                hasSearch ? queryCriteria.field() : null,
+                sortColumn,
+                tiebreaker,
+                registry != null ? registry.collation() : null,
+                descending,
+                ranked,
+                keyset,
+                afterNull,
+                paged,
+                queryCriteria.withTotalCount()
+        );
+        String sql = SHAPES.computeIfAbsent(shape, DynamicQueryBuilder::render);
 
-        if (queryCriteria.sortField() != null && !queryCriteria.sortField().isBlank()) {
-            queryBuilder.append(" ORDER BY ");
-            queryBuilder.append(queryCriteria.sortField()).append(" ");
-            queryBuilder.append(queryCriteria.sortOrder());
+        SqlParameters parameters = new SqlParameters();
+        if (hasSearch) {
+            parameters.addString("%" + escapeLike(term) + "%");
         }
-        if (queryCriteria.pageSize() != 0) {
-            queryBuilder.append(" LIMIT ");
-            queryBuilder.append(queryCriteria.pageSize());
-            queryBuilder.append(" OFFSET ");
-            queryBuilder.append(queryCriteria.startingIndex());
+        if (keyset) {
+            if (!afterNull) {
+                parameters.addString(queryCriteria.after().sortValue());
+            }
+            parameters.addString(queryCriteria.after().tiebreakerValue());
+        }
+        if (ranked) {
+            parameters.addString(term.toLowerCase(Locale.ROOT));
+        }
+        if (paged) {
+            parameters.addInt(queryCriteria.pageSize());
+            if (!keyset) {
+                parameters.addLong(queryCriteria.startingIndex());
+            }
         }
         return SearchModelBuilder.builder()
-                .sqlQuery(queryBuilder.toString())
-                .queryValues(values)
+                .sqlQuery(sql)
+                .parameters(parameters)
                 .build();
+    }
+
+    static int cachedShapes() {
+        return SHAPES.size();
+    }
+
+    private static String render(QueryShape shape) {
+        StringBuilder queryBuilder = new StringBuilder(
+                shape.withTotalCount() ? withTotalCountColumn(shape.sql()) : shape.sql());
+        String direction = shape.descending() ? " DESC" : " ASC";
+        if (shape.searchField() != null) {
+            queryBuilder.append(" AND ").append(shape.searchField()).append(" ILIKE ?");
+        }
+        if (shape.keyset()) {
+            queryBuilder.append(" AND ").append(keysetPredicate(shape));
+        }
+        if (shape.ranked()) {
+            queryBuilder.append(" ORDER BY ").append(rankOrder(shape));
+        } else if (shape.sortColumn() != null) {
+            queryBuilder.append(" ORDER BY ").append(collated(shape.sortColumn(), shape)).append(direction)
+                    .append(", ").append(collated(shape.tiebreaker(), shape)).append(direction);
+        }
+        if (shape.paged()) {
+            queryBuilder.append(shape.keyset() ? " LIMIT ?" : " LIMIT ? OFFSET ?");
+        }
+        return queryBuilder.toString();
+    }
+
+    /**
+     * Best matches first by pg_trgm similarity to the whole search column, then by the lower-cased
+     * default sort column and the tiebreaker in the registry's collation. MerchantSearchIndex
+     * computes the same score, so a cold index and a warm one return the same page.
+     */
+    private static String rankOrder(QueryShape shape) {
+        StringBuilder order = new StringBuilder("similarity(").append(shape.searchField()).append(", ?) DESC");
+        if (shape.sortColumn() != null) {
+            order.append(", ").append(collated("lower(coalesce(" + shape.sortColumn() + ", ''))", shape))
+                    .append(", ").append(collated(shape.tiebreaker(), shape));
+        }
+        return order.toString();
+    }
+
+    private static String collated(String expression, QueryShape shape) {
+        return shape.collation() == null ? expression : expression + " COLLATE \"" + shape.collation() + "\"";
+    }
+
+    /**
+     * Rows after the keyset position. NULL sort values come last ascending and first descending
+     * (PostgreSQL's default, and MerchantSort's in-memory order); a row comparison is never true
+     * for them, so they are matched explicitly. The row comparison still follows the
+     * (column, tiebreaker) index order in either direction.
+     */
+    private static String keysetPredicate(QueryShape shape) {
+        String column = shape.sortColumn();
+        String sortKey = collated(column, shape);
+        String tiebreaker = collated(shape.tiebreaker(), shape);
+        if (shape.afterNull()) {
+            return shape.descending()
+                    ? "(" + column + " IS NOT NULL OR " + tiebreaker + " < ?)"
+                    : "(" + column + " IS NULL AND " + tiebreaker + " > ?)";
+        }
+        return shape.descending()
+                ? "(" + sortKey + ", " + tiebreaker + ") < (?, ?)"
+                : "((" + sortKey + ", " + tiebreaker + ") > (?, ?) OR " + column + " IS NULL)";
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Adds count(*) OVER() as total_count to the select list; the window is evaluated after
+     * WHERE and before LIMIT, so every page row carries the number of matching rows
+     */
+    static String withTotalCountColumn(String sql) {
+        String select = "SELECT ";
+        if (!sql.regionMatches(true, 0, select, 0, select.length())) {
+            throw new IllegalArgumentException("Total count mode needs a SELECT statement");
+        }
+        return select + "count(*) OVER() AS " + TOTAL_COUNT_COLUMN + ", " + sql.substring(select.length());
+    }
+
+    /**
+     * Escapes LIKE wildcards so user input is matched literally
+     */
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 
+    private record QueryShape(
+            String sql,
+            String searchField,
+            String sortColumn,
+            String tiebreaker,
+            String collation,
+            boolean descending,
+            boolean ranked,
+            boolean keyset,
+            boolean afterNull,
+            boolean paged,
+            boolean withTotalCount
+    ) {
     }
 }
@@ -0,0 +1,12 @@
+package com.payment.sqlutils;
+
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Last row of the previous page: its sort column value (null when the column was NULL) and tiebreaker value
+ */
+public record KeysetPosition(
+        @Nullable String sortValue,
+        String tiebreakerValue
+) {
+}
@@ -5,6 +5,10 @@ import io.micronaut.core.annotation.Introspected;
 import io.soabase.recordbuilder.core.RecordBuilder;
 
 
+/**
+ * sortField is resolved through sortRegistry; without a registry no ORDER BY column can be requested.
+ * With after set, rows are read strictly after that position instead of skipping startingIndex rows.
+ */
 @RecordBuilder
 @Introspected
 public record QueryCriteria (
@@ -14,6 +18,10 @@ public record QueryCriteria (
         long startingIndex,
         int pageSize,
         String sortField,
-        String sortOrder
+        String sortOrder,
+        SortRegistry sortRegistry,
+        KeysetPosition after,
+        boolean rankByRelevance,
+        boolean withTotalCount
 ) {
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.payment.sqlutils;
+
+import java.util.Map;
+
+/**
+ * Allowed sort keys for one table and the indexed column behind each.
+ * Every ORDER BY ends with the tiebreaker column, so equal sort values still page deterministically.
+ * With a collation, ordering and keyset comparisons use it instead of the database default, so
+ * they can match an in-memory order of the same rows; the indexes must be built with it too.
+ */
+public final class SortRegistry {
+
+    private final Map<String, String> columns;
+    private final String tiebreakerColumn;
+    private final String defaultKey;
+    private final String collation;
+
+    public SortRegistry(Map<String, String> columns, String tiebreakerColumn, String defaultKey) {
+        this(columns, tiebreakerColumn, defaultKey, null);
+    }
+
+    public SortRegistry(Map<String, String> columns, String tiebreakerColumn, String defaultKey, String collation) {
+        if (!columns.containsKey(defaultKey)) {
+            throw new IllegalArgumentException("Default sort key must be registered: " + defaultKey);
+        }
+        this.columns = Map.copyOf(columns);
+        this.tiebreakerColumn = tiebreakerColumn;
+        this.defaultKey = defaultKey;
+        this.collation = collation;
+    }
+
+    /**
+     * Column for an API sort key; anything not registered is rejected
+     */
+    public String column(String key) {
+        String column = key == null ? null : columns.get(key);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported sort field: " + key);
+        }
+        return column;
+    }
+
+    public String tiebreakerColumn() {
+        return tiebreakerColumn;
+    }
+
+    public String defaultKey() {
+        return defaultKey;
+    }
+
+    /**
+     * Collation name for ORDER BY and keyset comparisons, or null for the column's own
+     */
+    public String collation() {
+        return collation;
+    }
+}
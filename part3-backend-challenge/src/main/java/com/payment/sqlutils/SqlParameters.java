@@ -0,0 +1,94 @@
+package com.payment.sqlutils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Positional statement parameters kept in parallel arrays, so numbers are stored unboxed
+ * and binding calls the matching typed setter without instanceof checks.
+ */
+public final class SqlParameters {
+
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+
+    private byte[] types;
+    private String[] strings;
+    private long[] numbers;
+    private int size;
+
+    public SqlParameters() {
+        this(4);
+    }
+
+    public SqlParameters(int expectedSize) {
+        this.types = new byte[expectedSize];
+        this.strings = new String[expectedSize];
+        this.numbers = new long[expectedSize];
+    }
+
+    public SqlParameters addString(String value) {
+        int index = next();
+        types[index] = STRING;
+        strings[index] = value;
+        return this;
+    }
+
+    public SqlParameters addInt(int value) {
+        int index = next();
+        types[index] = INT;
+        numbers[index] = value;
+        return this;
+    }
+
+    public SqlParameters addLong(long value) {
+        int index = next();
+        types[index] = LONG;
+        numbers[index] = value;
+        return this;
+    }
+
+    /**
+     * Binds every parameter in order, starting at position 1
+     */
+    public void bindTo(PreparedStatement statement) throws SQLException {
+        for (int i = 0; i < size; i++) {
+            switch (types[i]) {
+                case STRING -> statement.setString(i + 1, strings[i]);
+                case INT -> statement.setInt(i + 1, (int) numbers[i]);
+                default -> statement.setLong(i + 1, numbers[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Boxed value at a 1-based position; for logging and tests, not the bind path
+     */
+    public Object get(int position) {
+        int index = position - 1;
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("No parameter at position " + position);
+        }
+        return switch (types[index]) {
+            case STRING -> strings[index];
+            case INT -> (int) numbers[index];
+            default -> numbers[index];
+        };
+    }
+
+    private int next() {
+        if (size == types.length) {
+            int capacity = Math.max(4, size * 2);
+            types = Arrays.copyOf(types, capacity);
+            strings = Arrays.copyOf(strings, capacity);
+            numbers = Arrays.copyOf(numbers, capacity);
+        }
+        return size++;
+    }
+}
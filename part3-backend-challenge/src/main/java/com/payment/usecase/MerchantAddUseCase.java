@@ -1,73 +1,108 @@
 package com.payment.usecase;
 
 import com.payment.entity.Merchant;
-import com.payment.payload.SearchRequestPayload;
-import com.payment.payload.SearchRequestPayloadBuilder;
 import com.payment.payload.merchants.MerchantAddPayload;
 import com.payment.payload.merchants.MerchantAddResponse;
 import com.payment.repository.MerchantRepository;
-import com.payment.repository.MerchantRepositoryImpl;
-import com.payment.sqlutils.QueryCriteria;
-import com.payment.sqlutils.QueryCriteriaBuilder;
+import com.payment.search.MerchantSearchIndex;
 import com.payment.utils.HelperUtils;
 import jakarta.inject.Inject;
 
-import java.util.List;
 import java.util.Optional;
 
 public class MerchantAddUseCase implements UseCase<MerchantAddPayload, MerchantAddResponse> {
+    // Column lengths of operators.merchant (see schema.sql)
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_EMAIL_LENGTH = 255;
+    private static final int MAX_PHONE_LENGTH = 50;
+    private static final int MAX_STATUS_LENGTH = 20;
+    private static final int MAX_BUSINESS_NAME_LENGTH = 255;
+
     private final MerchantRepository merchantRepository;
-    private final MerchantRepositoryImpl merchantRepositoryImpl;
+    private final MerchantSearchIndex merchantSearchIndex;
 
     @Inject
-    public MerchantAddUseCase(MerchantRepository merchantRepository, MerchantRepositoryImpl merchantRepositoryImpl) {
+    public MerchantAddUseCase(MerchantRepository merchantRepository, MerchantSearchIndex merchantSearchIndex) {
         this.merchantRepository = merchantRepository;
-        this.merchantRepositoryImpl = merchantRepositoryImpl;
+        this.merchantSearchIndex = merchantSearchIndex;
     }
 
 
     @Override
     public Optional<MerchantAddResponse> execute(MerchantAddPayload payload) {
         validateRequestPayload(payload);
-        var response = this.merchantRepository.save(prepareMerchantEntityFromPayload(payload));
+        Merchant response;
+        try {
+            response = this.merchantRepository.save(prepareMerchantEntityFromPayload(payload));
+        } catch (RuntimeException e) {
+            // A concurrent add can pass the exists check; the unique index has the final say
+            if (HelperUtils.isUniqueViolation(e)) {
+                throw new IllegalArgumentException("Merchant email already exists");
+            }
+            throw e;
+        }
+        this.merchantSearchIndex.upsert(response);
         var merchantAddResponse = new MerchantAddResponse(response.getId());
         return Optional.of(merchantAddResponse);
     }
 
     public void validateRequestPayload(MerchantAddPayload payload) {
-        SearchRequestPayload searchRequestPayload = SearchRequestPayloadBuilder.builder()
-                .pageNumber(0)
-                .pageSize(0)
-                .sortField(null)
-                .sortOrder(null)
-                .searchParameter(null)
-                .build();
-        List<Merchant> merchantList = this.merchantRepositoryImpl.dynamicSearch(searchRequestPayload);
-        if (merchantList.stream().anyMatch(merchant -> merchant.getEmail().equalsIgnoreCase(payload.getEmail()))) {
+        String fieldError = fieldError(payload);
+        if (fieldError != null) {
+            throw new IllegalArgumentException(fieldError);
+        }
+        if (this.merchantRepository.existsByEmailIgnoreCase(payload.getEmail())) {
             throw new IllegalArgumentException("Merchant email already exists");
         }
+
+    }
+
+    /**
+     * Message for the first field the payload is missing or that does not fit its column, or null
+     * when the merchant can be written. Shared with the bulk import so both paths accept the same merchants.
+     */
+    public static String fieldError(MerchantAddPayload payload) {
         if(HelperUtils.isBlankOrNull(payload.getName())) {
-            throw new IllegalArgumentException("Name is required");
+            return "Name is required";
         }
         if (HelperUtils.isBlankOrNull(payload.getEmail())) {
-            throw new IllegalArgumentException("Email is required");
+            return "Email is required";
         }
         if (HelperUtils.isBlankOrNull(payload.getPhone())) {
-            throw new IllegalArgumentException("Phone is required");
+            return "Phone is required";
         }
         if (HelperUtils.isBlankOrNull(payload.getStatus())) {
-            throw new IllegalArgumentException("Status is required");
+            return "Status is required";
         }
         if (HelperUtils.isBlankOrNull(payload.getAddress())) {
-            throw new IllegalArgumentException("Address is required");
+            return "Address is required";
         }
         if (HelperUtils.isBlankOrNull(payload.getBusinessName())) {
-            throw new IllegalArgumentException("Business name is required");
+            return "Business name is required";
         }
+        if (payload.getName().length() > MAX_NAME_LENGTH) {
+            return lengthError("Name", MAX_NAME_LENGTH);
+        }
+        if (payload.getEmail().length() > MAX_EMAIL_LENGTH) {
+            return lengthError("Email", MAX_EMAIL_LENGTH);
+        }
+        if (payload.getPhone().length() > MAX_PHONE_LENGTH) {
+            return lengthError("Phone", MAX_PHONE_LENGTH);
+        }
+        if (payload.getStatus().length() > MAX_STATUS_LENGTH) {
+            return lengthError("Status", MAX_STATUS_LENGTH);
+        }
+        if (payload.getBusinessName().length() > MAX_BUSINESS_NAME_LENGTH) {
+            return lengthError("Business name", MAX_BUSINESS_NAME_LENGTH);
+        }
+        return null;
+    }
 
+    private static String lengthError(String field, int maxLength) {
+        return field + " must be at most " + maxLength + " characters";
     }
 
-    public Merchant prepareMerchantEntityFromPayload(MerchantAddPayload payload) {
+    public static Merchant prepareMerchantEntityFromPayload(MerchantAddPayload payload) {
         Merchant merchant = new Merchant();
         merchant.setId(HelperUtils.generateUUID());
         merchant.setName(payload.getName());
@@ -8,7 +8,9 @@ import com.payment.payload.merchants.MerchantEditPayload;
 import com.payment.payload.merchants.MerchantEditResponse;
 import com.payment.repository.MerchantRepository;
 import com.payment.repository.MerchantRepositoryImpl;
+import com.payment.search.MerchantSearchIndex;
 import com.payment.utils.HelperUtils;
+import io.micronaut.data.exceptions.OptimisticLockException;
 import jakarta.inject.Inject;
 
 import java.util.List;
@@ -17,11 +19,13 @@ import java.util.Optional;
 public class MerchantEditUseCase implements UseCase<MerchantEditPayload, MerchantEditResponse>{
     private final MerchantRepository merchantRepository;
     private final MerchantRepositoryImpl merchantRepositoryImpl;
+    private final MerchantSearchIndex merchantSearchIndex;
 
     @Inject
-    public MerchantEditUseCase(MerchantRepository merchantRepository, MerchantRepositoryImpl merchantRepositoryImpl) {
+    public MerchantEditUseCase(MerchantRepository merchantRepository, MerchantRepositoryImpl merchantRepositoryImpl, MerchantSearchIndex merchantSearchIndex) {
         this.merchantRepository = merchantRepository;
         this.merchantRepositoryImpl = merchantRepositoryImpl;
+        this.merchantSearchIndex = merchantSearchIndex;
     }
 
     @Override
@@ -38,7 +42,18 @@ public class MerchantEditUseCase implements UseCase<MerchantEditPayload, Merchan
         existing.setAddress(request.getAddress());
         existing.setBusinessName(request.getBusinessName());
 
-        merchantRepository.update(existing); // ✅ force UPDATE
+        try {
+            merchantRepository.update(existing); // ✅ force UPDATE
+        } catch (OptimisticLockException e) {
+            // Version moved between our read and the update
+            throw new IllegalArgumentException("Merchant was modified concurrently, please retry");
+        } catch (RuntimeException e) {
+            if (HelperUtils.isUniqueViolation(e)) {
+                throw new IllegalArgumentException("Merchant email already exists");
+            }
+            throw e;
+        }
+        this.merchantSearchIndex.upsert(existing);
 
         return Optional.of(new MerchantEditResponse(existing.getId()));
     }
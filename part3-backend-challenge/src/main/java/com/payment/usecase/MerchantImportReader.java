@@ -0,0 +1,180 @@
+package com.payment.usecase;
+
+import com.payment.payload.merchants.MerchantAddPayload;
+import com.payment.payload.merchants.MerchantImportFormat;
+import io.micronaut.json.JsonMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads an import file one row at a time so that only the current row is held in memory.
+ * A row that cannot be parsed is returned with an error instead of ending the import.
+ */
+abstract class MerchantImportReader implements Closeable {
+
+    record Row(MerchantAddPayload payload, String error) {}
+
+    protected final BufferedReader reader;
+
+    private MerchantImportReader(InputStream body) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    static MerchantImportReader open(MerchantImportFormat format, InputStream body, JsonMapper jsonMapper) {
+        return switch (format) {
+            case CSV -> new Csv(body);
+            case NDJSON -> new Ndjson(body, jsonMapper);
+        };
+    }
+
+    /**
+     * Next data row, or null at the end of the file
+     */
+    abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class Ndjson extends MerchantImportReader {
+        private final JsonMapper jsonMapper;
+
+        private Ndjson(InputStream body, JsonMapper jsonMapper) {
+            super(body);
+            this.jsonMapper = jsonMapper;
+        }
+
+        @Override
+        Row next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    MerchantAddPayload payload = jsonMapper.readValue(line, MerchantAddPayload.class);
+                    return payload != null ? new Row(payload, null) : new Row(null, "Row is not a JSON object");
+                } catch (IOException e) {
+                    return new Row(null, "Malformed JSON row");
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row. Columns are matched by name, ignoring case, spaces and
+     * underscores, so both businessName and business_name work; unknown columns are ignored.
+     */
+    private static final class Csv extends MerchantImportReader {
+        private static final List<String> COLUMNS = List.of("name", "email", "phone", "status", "address", "businessname");
+
+        private int[] positions;
+        private int headerWidth;
+
+        private Csv(InputStream body) {
+            super(body);
+        }
+
+        @Override
+        Row next() throws IOException {
+            if (positions == null && !readHeader()) {
+                return null;
+            }
+            List<String> fields;
+            while ((fields = readRecord()) != null) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                if (fields.size() != headerWidth) {
+                    return new Row(null, "Expected " + headerWidth + " columns but found " + fields.size());
+                }
+                MerchantAddPayload payload = new MerchantAddPayload();
+                payload.setName(field(fields, 0));
+                payload.setEmail(field(fields, 1));
+                payload.setPhone(field(fields, 2));
+                payload.setStatus(field(fields, 3));
+                payload.setAddress(field(fields, 4));
+                payload.setBusinessName(field(fields, 5));
+                return new Row(payload, null);
+            }
+            return null;
+        }
+
+        private boolean readHeader() throws IOException {
+            List<String> header = readRecord();
+            if (header == null) {
+                return false;
+            }
+            positions = new int[COLUMNS.size()];
+            Arrays.fill(positions, -1);
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+                int column = COLUMNS.indexOf(name);
+                if (column >= 0) {
+                    positions[column] = i;
+                }
+            }
+            for (int column = 0; column < positions.length; column++) {
+                if (positions[column] < 0) {
+                    throw new IllegalArgumentException("CSV header is missing column " + COLUMNS.get(column));
+                }
+            }
+            headerWidth = header.size();
+            return true;
+        }
+
+        private String field(List<String> fields, int column) {
+            return fields.get(positions[column]).trim();
+        }
+
+        /**
+         * Fields of the next record; quoted fields may contain commas, doubled quotes and line breaks
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                read = true;
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch != '"') {
+                        field.append(ch);
+                        continue;
+                    }
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (ch != '\r') {
+                    field.append(ch);
+                }
+            }
+            if (!read) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.payment.usecase;
+
+import com.payment.config.DatabaseConnectionLimiter;
+import com.payment.entity.Merchant;
+import com.payment.payload.merchants.MerchantImportRequest;
+import com.payment.payload.merchants.MerchantImportResponse;
+import com.payment.payload.merchants.MerchantImportRowResult;
+import com.payment.repository.MerchantRepositoryImpl;
+import com.payment.search.MerchantSearchIndex;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Bulk merchant onboarding from a CSV or NDJSON file.
+ * Rows are validated as they are read and inserted in batches of batchSize with one statement
+ * each; the unique lower(email) index rejects emails that already exist. Every batch commits on
+ * its own: a batch that fails rolls back alone, its rows are reported FAILED and the import goes
+ * on, so the report always says which rows were stored. Each insert takes a
+ * DatabaseConnectionLimiter permit of its own, so a slow upload holds none while it is being read.
+ */
+public class MerchantImportUseCase implements UseCase<MerchantImportRequest, MerchantImportResponse> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MerchantImportUseCase.class);
+
+    private record PendingRow(int row, Merchant merchant) {}
+
+    private final MerchantRepositoryImpl merchantRepositoryImpl;
+    private final MerchantSearchIndex merchantSearchIndex;
+    private final DatabaseConnectionLimiter databaseConnectionLimiter;
+    private final JsonMapper jsonMapper;
+    private final int batchSize;
+
+    @Inject
+    public MerchantImportUseCase(
+            MerchantRepositoryImpl merchantRepositoryImpl,
+            MerchantSearchIndex merchantSearchIndex,
+            DatabaseConnectionLimiter databaseConnectionLimiter,
+            JsonMapper jsonMapper,
+            @Value("${payment.merchants.import.batch-size:1000}") int batchSize
+    ) {
+        this.merchantRepositoryImpl = merchantRepositoryImpl;
+        this.merchantSearchIndex = merchantSearchIndex;
+        this.databaseConnectionLimiter = databaseConnectionLimiter;
+        this.jsonMapper = jsonMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Optional<MerchantImportResponse> execute(MerchantImportRequest request) {
+        List<MerchantImportRowResult> results = new ArrayList<>();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        Set<String> seenEmails = new HashSet<>();
+        int rowNumber = 0;
+        try (MerchantImportReader reader = MerchantImportReader.open(request.format(), request.body(), jsonMapper)) {
+            MerchantImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                rowNumber++;
+                if (row.error() != null) {
+                    results.add(MerchantImportRowResult.invalid(rowNumber, null, row.error()));
+                    continue;
+                }
+                String email = row.payload().getEmail();
+                String fieldError = MerchantAddUseCase.fieldError(row.payload());
+                if (fieldError != null) {
+                    results.add(MerchantImportRowResult.invalid(rowNumber, email, fieldError));
+                    continue;
+                }
+                if (!seenEmails.add(email.toLowerCase(Locale.ROOT))) {
+                    results.add(MerchantImportRowResult.duplicate(rowNumber, email, "Duplicate email in import file"));
+                    continue;
+                }
+                batch.add(new PendingRow(rowNumber, MerchantAddUseCase.prepareMerchantEntityFromPayload(row.payload())));
+                if (batch.size() >= batchSize) {
+                    insertBatch(batch, results);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        insertBatch(batch, results);
+
+        results.sort(Comparator.comparingInt(MerchantImportRowResult::row));
+        int imported = count(results, MerchantImportRowResult.Status.IMPORTED);
+        int failed = count(results, MerchantImportRowResult.Status.FAILED);
+        return Optional.of(new MerchantImportResponse(rowNumber, imported, rowNumber - imported - failed, failed, results));
+    }
+
+    private void insertBatch(List<PendingRow> batch, List<MerchantImportRowResult> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Merchant> merchants = batch.stream().map(PendingRow::merchant).toList();
+        Set<String> insertedIds;
+        try {
+            insertedIds = databaseConnectionLimiter.call(() -> merchantRepositoryImpl.insertAllSkippingDuplicates(merchants));
+        } catch (RuntimeException e) {
+            LOG.error("Merchant import batch of {} rows failed and was rolled back", batch.size(), e);
+            for (PendingRow pending : batch) {
+                results.add(MerchantImportRowResult.failed(pending.row(), pending.merchant().getEmail(),
+                        "Write failed and was rolled back, import this row again"));
+            }
+            batch.clear();
+            return;
+        }
+        List<Merchant> inserted = new ArrayList<>(insertedIds.size());
+        for (PendingRow pending : batch) {
+            Merchant merchant = pending.merchant();
+            if (insertedIds.contains(merchant.getId())) {
+                inserted.add(merchant);
+                results.add(MerchantImportRowResult.imported(pending.row(), merchant.getId(), merchant.getEmail()));
+            } else {
+                results.add(MerchantImportRowResult.duplicate(pending.row(), merchant.getEmail(), "Merchant email already exists"));
+            }
+        }
+        merchantSearchIndex.upsertAll(inserted);
+        batch.clear();
+    }
+
+    private static int count(List<MerchantImportRowResult> results, MerchantImportRowResult.Status status) {
+        return (int) results.stream().filter(result -> result.status() == status).count();
+    }
+}
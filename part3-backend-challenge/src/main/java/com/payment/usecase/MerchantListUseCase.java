@@ -3,32 +3,102 @@ package com.payment.usecase;
 import java.util.List;
 import java.util.Optional;
 
+import com.payment.config.DatabaseConnectionLimiter;
 import com.payment.entity.Merchant;
+import com.payment.payload.MerchantCursor;
 import com.payment.payload.SearchRequestPayload;
 import com.payment.payload.SearchResponse;
 import com.payment.payload.SearchResponseBuilder;
 import com.payment.repository.MerchantRepositoryImpl;
+import com.payment.repository.MerchantSearchPage;
+import com.payment.search.MerchantSearchIndex;
+import com.payment.search.MerchantSort;
+import com.payment.utils.HelperUtils;
 import jakarta.inject.Inject;
 
+/**
+ * Merchant search and listing, answered from MerchantSearchIndex once it is warm and from the
+ * database before that; only the database path takes a DatabaseConnectionLimiter permit.
+ */
 public class MerchantListUseCase implements UseCase<SearchRequestPayload, SearchResponse> {
     private final MerchantRepositoryImpl merchantRepository;
+    private final MerchantSearchIndex merchantSearchIndex;
+    private final DatabaseConnectionLimiter databaseConnectionLimiter;
 
     @Inject
-    public MerchantListUseCase(MerchantRepositoryImpl merchantRepository) {
+    public MerchantListUseCase(
+            MerchantRepositoryImpl merchantRepository,
+            MerchantSearchIndex merchantSearchIndex,
+            DatabaseConnectionLimiter databaseConnectionLimiter
+    ) {
         this.merchantRepository = merchantRepository;
+        this.merchantSearchIndex = merchantSearchIndex;
+        this.databaseConnectionLimiter = databaseConnectionLimiter;
     }
 
     public Optional<SearchResponse> execute(SearchRequestPayload payload) {
-        int count = this.merchantRepository.countDynamicSearch(payload);
-        List<Merchant> merchantList = this.merchantRepository.dynamicSearch(payload);
-        int totalPage = (int) Math.ceil((double) count / (double) payload.pageSize());
-        SearchResponse searchResponse = SearchResponseBuilder.<Merchant>builder()
+        MerchantSort sort = MerchantSort.from(payload.sortField());
+        boolean descending = "DESC".equalsIgnoreCase(payload.sortOrder());
+        MerchantCursor cursor = decodeCursor(payload, sort, descending);
+        // Relevance order has no stable keyset, so only sorted lists hand out cursors
+        boolean ranked = cursor == null && HelperUtils.isBlankOrNull(payload.sortField())
+                && !HelperUtils.isBlankOrNull(payload.searchParameter());
+
+        MerchantSearchPage page;
+        if (this.merchantSearchIndex.isWarm()) {
+            page = searchIndex(payload, sort, descending, cursor, ranked);
+        } else if (cursor != null) {
+            page = this.databaseConnectionLimiter.call(() -> this.merchantRepository.dynamicSearchAfter(payload, cursor));
+        } else {
+            page = this.databaseConnectionLimiter.call(() -> this.merchantRepository.dynamicSearchWithCount(payload));
+        }
+
+        String nextCursor = null;
+        if (!ranked && page.hasMore() && !page.merchants().isEmpty()) {
+            Merchant last = page.merchants().get(page.merchants().size() - 1);
+            nextCursor = new MerchantCursor(sort.key(), descending, last.getId(), sort.valueOf(last)).encode();
+        }
+        return Optional.of(toResponse(payload, page, nextCursor));
+    }
+
+    private MerchantSearchPage searchIndex(
+            SearchRequestPayload payload,
+            MerchantSort sort,
+            boolean descending,
+            MerchantCursor cursor,
+            boolean ranked
+    ) {
+        List<Merchant> matches = this.merchantSearchIndex.search(
+                payload.searchParameter(), ranked ? null : sort.key(), descending ? "DESC" : "ASC");
+        int count = matches.size();
+        int from = cursor != null
+                ? sort.positionAfter(matches, descending, cursor.sortValue(), cursor.id())
+                : (int) Math.min(HelperUtils.getStartingIndex(payload.pageNumber(), payload.pageSize()), count);
+        int to = payload.pageSize() != 0 ? Math.min(from + payload.pageSize(), count) : count;
+        return new MerchantSearchPage(count, matches.subList(from, to), to < count);
+    }
+
+    private MerchantCursor decodeCursor(SearchRequestPayload payload, MerchantSort sort, boolean descending) {
+        if (HelperUtils.isBlankOrNull(payload.cursor())) {
+            return null;
+        }
+        MerchantCursor cursor = MerchantCursor.decode(payload.cursor());
+        if (!cursor.sortKey().equals(sort.key()) || cursor.descending() != descending) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        return cursor;
+    }
+
+    private SearchResponse toResponse(SearchRequestPayload payload, MerchantSearchPage page, String nextCursor) {
+        int count = page.totalRecord();
+        int totalPage = count < 0 ? -1 : (int) Math.ceil((double) count / (double) payload.pageSize());
+        return SearchResponseBuilder.<Merchant>builder()
                         .currentPage(payload.pageNumber())
                         .totalRecord(count)
                         .pageSize(payload.pageSize())
                         .totalPage(totalPage)
-                        .data(merchantList)
+                        .data(page.merchants())
+                        .nextCursor(nextCursor)
                         .build();
-        return Optional.of(searchResponse);
     }
 }
@@ -0,0 +1,185 @@
+package com.payment.usecase;
+
+import com.payment.cache.MemberDirectory;
+import com.payment.cache.TransactionListCache;
+import com.payment.entity.Member;
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import com.payment.exception.QueryTimeoutException;
+import com.payment.payload.*;
+import com.payment.repository.ReactiveMemberRepository;
+import com.payment.repository.ReactiveTransactionDetailRepository;
+import com.payment.repository.ReactiveTransactionRepository;
+import com.payment.repository.ReactiveTransactionSummaryRepository;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.data.model.Pageable;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reactive variant of TransactionListUseCase over R2DBC, enabled with payment.transactions.reactive.
+ * No step blocks a thread, so the controller can return the Mono straight from the event loop.
+ * Fetches the same rows with the same statements and builds the response with the same
+ * TransactionListAssembler, and shares TransactionListCache with the JDBC path.
+ */
+@Singleton
+@Requires(property = "payment.transactions.reactive", value = "true")
+public class ReactiveTransactionListUseCase implements UseCase<TransactionListRequest, Mono<TransactionListResponse>> {
+
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveTransactionDetailRepository transactionDetailRepository;
+    private final ReactiveTransactionSummaryRepository transactionSummaryRepository;
+    private final ReactiveMemberRepository memberRepository;
+    private final MemberDirectory memberDirectory;
+    private final TransactionListCache transactionListCache;
+    private final Duration queryTimeout;
+
+    public ReactiveTransactionListUseCase(
+            ReactiveTransactionRepository transactionRepository,
+            ReactiveTransactionDetailRepository transactionDetailRepository,
+            ReactiveTransactionSummaryRepository transactionSummaryRepository,
+            ReactiveMemberRepository memberRepository,
+            MemberDirectory memberDirectory,
+            TransactionListCache transactionListCache,
+            @Value("${payment.transactions.query-timeout:5s}") Duration queryTimeout
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.transactionDetailRepository = transactionDetailRepository;
+        this.transactionSummaryRepository = transactionSummaryRepository;
+        this.memberRepository = memberRepository;
+        this.memberDirectory = memberDirectory;
+        this.transactionListCache = transactionListCache;
+        this.queryTimeout = queryTimeout;
+    }
+
+    @Override
+    public Optional<Mono<TransactionListResponse>> execute(TransactionListRequest request) {
+        Mono<TransactionListResponse> response = Mono
+                .fromFuture(() -> transactionListCache.getAsync(request, exact -> load(exact).toFuture()))
+                .flatMap(Mono::justOrEmpty);
+        return Optional.of(response);
+    }
+
+    private Mono<Optional<TransactionListResponse>> load(TransactionListRequest request) {
+        Mono<TransactionListResponse> response = request.isCursorMode()
+                ? loadAfterCursor(request)
+                : loadPage(request);
+        return response.map(Optional::of);
+    }
+
+    /**
+     * Offset paging. The page and the summary are independent, so both queries run at the same time
+     * on separate connections; details and member misses follow once the page's txn_ids are known.
+     */
+    private Mono<TransactionListResponse> loadPage(TransactionListRequest request) {
+        Pageable pageable = Pageable.from(request.page(), request.size());
+        Mono<List<TransactionMaster>> page = withTimeout(transactionRepository.findByMerchantIdWithFilters(
+                request.merchantId(),
+                request.startDate(),
+                request.endDate(),
+                request.status(),
+                pageable
+        ).collectList());
+
+        return Mono.zip(page, calculateSummary(request)).flatMap(pageAndSummary -> {
+            List<TransactionMaster> transactions = pageAndSummary.getT1();
+            if (transactions.isEmpty()) {
+                return Mono.just(TransactionListAssembler.createEmptyResponse(request));
+            }
+            TransactionSummaryDTO summary = pageAndSummary.getT2();
+            PaginationDTO pagination = TransactionListAssembler.offsetPagination(request, transactions, summary);
+            return assemble(request, transactions, summary, pagination);
+        });
+    }
+
+    /**
+     * Keyset paging; fetches one extra row to find out whether another page exists
+     */
+    private Mono<TransactionListResponse> loadAfterCursor(TransactionListRequest request) {
+        TransactionCursor cursor = TransactionCursor.decode(request.cursor());
+        Mono<List<TransactionMaster>> rows = withTimeout(transactionRepository.findByMerchantIdAfterCursor(
+                request.merchantId(),
+                request.startDate(),
+                request.endDate(),
+                request.status(),
+                cursor.localTxnDateTime(),
+                cursor.txnId(),
+                request.size() + 1
+        ).collectList());
+
+        return Mono.zip(rows, calculateSummary(request)).flatMap(rowsAndSummary -> {
+            List<TransactionMaster> fetched = rowsAndSummary.getT1();
+            if (fetched.isEmpty()) {
+                return Mono.just(TransactionListAssembler.createEmptyResponse(request));
+            }
+            boolean hasNext = fetched.size() > request.size();
+            List<TransactionMaster> transactions = hasNext ? fetched.subList(0, request.size()) : fetched;
+            TransactionSummaryDTO summary = rowsAndSummary.getT2();
+            PaginationDTO pagination = TransactionListAssembler.cursorPagination(request, transactions, hasNext, summary);
+            return assemble(request, transactions, summary, pagination);
+        });
+    }
+
+    private Mono<TransactionListResponse> assemble(
+            TransactionListRequest request,
+            List<TransactionMaster> transactions,
+            TransactionSummaryDTO summary,
+            PaginationDTO pagination
+    ) {
+        List<Long> txnIds = transactions.stream()
+                .map(TransactionMaster::getTxnId)
+                .toList();
+        Mono<List<TransactionDetail>> details = withTimeout(
+                transactionDetailRepository.findByMasterTxnIdInList(txnIds).collectList());
+
+        return Mono.zip(details, resolveMembers(TransactionListAssembler.memberIdsOf(transactions)))
+                .map(detailsAndMembers -> TransactionListAssembler.buildResponse(
+                        request,
+                        transactions,
+                        detailsAndMembers.getT1(),
+                        detailsAndMembers.getT2(),
+                        summary,
+                        pagination
+                ));
+    }
+
+    /**
+     * Members from the in-memory directory; only its misses go to the database, in one query
+     */
+    private Mono<Map<Long, Member>> resolveMembers(Set<Long> memberIds) {
+        List<Long> missing = new ArrayList<>();
+        Map<Long, Member> found = memberDirectory.findAllLoadedById(memberIds, missing);
+        if (missing.isEmpty()) {
+            return Mono.just(found);
+        }
+        return withTimeout(memberRepository.findByMemberIdInList(missing).collectList())
+                .map(loaded -> {
+                    memberDirectory.addAll(missing, loaded);
+                    loaded.forEach(member -> found.put(member.getMemberId(), member));
+                    return found;
+                });
+    }
+
+    private Mono<TransactionSummaryDTO> calculateSummary(TransactionListRequest request) {
+        return withTimeout(transactionSummaryRepository.summarizeByStatus(
+                request.merchantId(),
+                request.startDate(),
+                request.endDate()
+        )).map(rows -> TransactionListAssembler.summaryOf(request, rows));
+    }
+
+    /**
+     * Applies the configured per-query timeout, surfacing it the way the JDBC path does
+     */
+    private <T> Mono<T> withTimeout(Mono<T> query) {
+        return query
+                .timeout(queryTimeout)
+                .onErrorMap(TimeoutException.class, e ->
+                        new QueryTimeoutException("Transaction query timed out after " + queryTimeout.toMillis() + " ms"));
+    }
+}
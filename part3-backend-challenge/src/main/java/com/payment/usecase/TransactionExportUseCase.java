@@ -0,0 +1,169 @@
+package com.payment.usecase;
+
+import com.payment.cache.MemberDirectory;
+import com.payment.entity.Member;
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import com.payment.exception.QueryTimeoutException;
+import com.payment.payload.ExportFormat;
+import com.payment.payload.TransactionDTO;
+import com.payment.payload.TransactionDetailDTO;
+import com.payment.payload.TransactionExportRequest;
+import com.payment.repository.TransactionExportBatch;
+import com.payment.repository.TransactionExportRepository;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Use case for exporting all of a merchant's transactions as a CSV or NDJSON stream.
+ * Each emitted chunk is one fetch-size batch, already joined with its details and member names.
+ * A stream holds a pooled connection for as long as it runs, so at most maxConcurrentExports run
+ * at once; further exports are turned away with a 503 straight away rather than queued behind
+ * streams that may take minutes. The slot is taken when the stream is subscribed to, not when it is
+ * built, so a response that is never written holds none, and released when the stream completes,
+ * fails or is cancelled.
+ */
+@Singleton
+public class TransactionExportUseCase implements UseCase<TransactionExportRequest, Flux<byte[]>> {
+
+    private static final String CSV_HEADER = "txn_id,timestamp,amount,currency,status,card_type,card_last4,"
+            + "acquirer,issuer,detail_id,detail_type,detail_amount,detail_description\n";
+
+    private final TransactionExportRepository transactionExportRepository;
+    private final MemberDirectory memberDirectory;
+    private final JsonMapper jsonMapper;
+    private final int fetchSize;
+    private final Semaphore exportSlots;
+
+    public TransactionExportUseCase(
+            TransactionExportRepository transactionExportRepository,
+            MemberDirectory memberDirectory,
+            JsonMapper jsonMapper,
+            @Value("${payment.transactions.export.fetch-size:500}") int fetchSize,
+            @Value("${payment.transactions.export.max-concurrent:2}") int maxConcurrentExports
+    ) {
+        this.transactionExportRepository = transactionExportRepository;
+        this.memberDirectory = memberDirectory;
+        this.jsonMapper = jsonMapper;
+        this.fetchSize = fetchSize;
+        this.exportSlots = new Semaphore(maxConcurrentExports);
+    }
+
+    @Override
+    public Optional<Flux<byte[]>> execute(TransactionExportRequest request) {
+        // Turns the request away before the response starts while every slot is busy; a stream
+        // that still finds none on subscription fails before its first byte, which is also a 503
+        if (exportSlots.availablePermits() == 0) {
+            throw tooManyExports();
+        }
+        return Optional.of(Flux.using(this::acquireSlot, slot -> export(request), slot -> slot.release()));
+    }
+
+    private Semaphore acquireSlot() {
+        if (!exportSlots.tryAcquire()) {
+            throw tooManyExports();
+        }
+        return exportSlots;
+    }
+
+    private static QueryTimeoutException tooManyExports() {
+        return new QueryTimeoutException("Too many exports running, please retry later");
+    }
+
+    private Flux<byte[]> export(TransactionExportRequest request) {
+        Flux<byte[]> batches = transactionExportRepository.streamByMerchantId(
+                        request.merchantId(),
+                        request.startDate(),
+                        request.endDate(),
+                        request.status(),
+                        fetchSize
+                )
+                .map(batch -> encode(toDTOs(batch), request.format()));
+
+        if (request.format() == ExportFormat.CSV) {
+            batches = Flux.concat(Flux.just(CSV_HEADER.getBytes(StandardCharsets.UTF_8)), batches);
+        }
+        return batches;
+    }
+
+    private List<TransactionDTO> toDTOs(TransactionExportBatch batch) {
+        Set<Long> memberIds = new HashSet<>();
+        batch.transactions().forEach(txn -> {
+            if (txn.getGpAcquirerId() != null) memberIds.add(txn.getGpAcquirerId());
+            if (txn.getGpIssuerId() != null) memberIds.add(txn.getGpIssuerId());
+        });
+        Map<Long, Member> membersById = memberDirectory.findAllById(memberIds);
+        Map<Long, List<TransactionDetail>> detailsByTxnId = TransactionMapper.groupByMasterTxnId(batch.details());
+
+        List<TransactionDTO> dtos = new ArrayList<>(batch.transactions().size());
+        for (TransactionMaster txn : batch.transactions()) {
+            dtos.add(TransactionMapper.toDTO(txn, detailsByTxnId.getOrDefault(txn.getTxnId(), List.of()), membersById));
+        }
+        return dtos;
+    }
+
+    private byte[] encode(List<TransactionDTO> transactions, ExportFormat format) {
+        return format == ExportFormat.CSV ? encodeCsv(transactions) : encodeNdjson(transactions);
+    }
+
+    private byte[] encodeNdjson(List<TransactionDTO> transactions) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(transactions.size() * 512);
+        try {
+            for (TransactionDTO transaction : transactions) {
+                out.write(jsonMapper.writeValueAsBytes(transaction));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize exported transaction", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * One CSV line per detail; transactions without details get a single line with empty detail columns.
+     */
+    private byte[] encodeCsv(List<TransactionDTO> transactions) {
+        StringBuilder csv = new StringBuilder(transactions.size() * 256);
+        for (TransactionDTO txn : transactions) {
+            List<TransactionDetailDTO> details = txn.details().isEmpty()
+                    ? Collections.singletonList(null)
+                    : txn.details();
+            for (TransactionDetailDTO detail : details) {
+                appendField(csv, txn.txnId()).append(',');
+                appendField(csv, txn.timestamp()).append(',');
+                appendField(csv, txn.amount()).append(',');
+                appendField(csv, txn.currency()).append(',');
+                appendField(csv, txn.status()).append(',');
+                appendField(csv, txn.cardType()).append(',');
+                appendField(csv, txn.cardLast4()).append(',');
+                appendField(csv, txn.acquirer()).append(',');
+                appendField(csv, txn.issuer()).append(',');
+                appendField(csv, detail != null ? detail.detailId() : null).append(',');
+                appendField(csv, detail != null ? detail.type() : null).append(',');
+                appendField(csv, detail != null ? detail.amount() : null).append(',');
+                appendField(csv, detail != null ? detail.description() : null).append('\n');
+            }
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private StringBuilder appendField(StringBuilder csv, Object value) {
+        if (value == null) {
+            return csv;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return csv.append(text);
+        }
+        return csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
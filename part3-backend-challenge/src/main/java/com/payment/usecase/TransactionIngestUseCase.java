@@ -0,0 +1,307 @@
+package com.payment.usecase;
+
+import com.payment.cache.MemberDirectory;
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import com.payment.event.TransactionsChangedEvent;
+import com.payment.payload.*;
+import com.payment.repository.TransactionIngestRepository;
+import com.payment.repository.TransactionIngestRepository.IngestOutcome;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Use case for ingesting a batch of transactions with their details.
+ * Valid transactions are written in chunks of batchSize, each chunk being one master insert, one
+ * detail insert and one transaction (see TransactionIngestRepository). A chunk that fails rolls back
+ * alone: its transactions are reported as FAILED and the remaining chunks are still written. The
+ * committed chunks, being keyed by externalRef, make resending the whole batch as is safe.
+ */
+@Singleton
+public class TransactionIngestUseCase implements UseCase<TransactionBatchRequest, TransactionBatchResponse> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionIngestUseCase.class);
+    private static final Set<String> STATUSES = Set.of("pending", "completed", "failed", "reversed");
+    private static final Set<String> DETAIL_TYPES = Set.of("fee", "tax", "adjustment", "refund", "chargeback");
+    // Column lengths of operators.transaction_master (see schema.sql)
+    private static final int MAX_EXTERNAL_REF_LENGTH = 64;
+    private static final int MAX_MERCHANT_ID_LENGTH = 50;
+    private static final int MAX_CARD_TYPE_LENGTH = 20;
+    private static final int MAX_CARD_LAST4_LENGTH = 4;
+    private static final int MAX_AUTH_CODE_LENGTH = 20;
+    private static final int MAX_RESPONSE_CODE_LENGTH = 10;
+
+    record PendingTransaction(int index, TransactionMaster master, List<TransactionDetail> details) {}
+
+    private final TransactionIngestRepository transactionIngestRepository;
+    private final MemberDirectory memberDirectory;
+    private final ApplicationEventPublisher<TransactionsChangedEvent> eventPublisher;
+    private final int batchSize;
+    private final int maxTransactions;
+
+    public TransactionIngestUseCase(
+            TransactionIngestRepository transactionIngestRepository,
+            MemberDirectory memberDirectory,
+            ApplicationEventPublisher<TransactionsChangedEvent> eventPublisher,
+            @Value("${payment.transactions.ingest.batch-size:1000}") int batchSize,
+            @Value("${payment.transactions.ingest.max-transactions:20000}") int maxTransactions
+    ) {
+        this.transactionIngestRepository = transactionIngestRepository;
+        this.memberDirectory = memberDirectory;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxTransactions = maxTransactions;
+    }
+
+    @Override
+    public Optional<TransactionBatchResponse> execute(TransactionBatchRequest request) {
+        List<TransactionIngestPayload> transactions = request != null ? request.transactions() : null;
+        if (transactions == null || transactions.isEmpty()) {
+            throw new IllegalArgumentException("transactions must not be empty");
+        }
+        if (transactions.size() > maxTransactions) {
+            throw new IllegalArgumentException("At most " + maxTransactions + " transactions per batch, got " + transactions.size());
+        }
+
+        long started = System.nanoTime();
+        List<TransactionBatchResult> results = new ArrayList<>(transactions.size());
+        List<PendingTransaction> batch = new ArrayList<>(Math.min(batchSize, transactions.size()));
+        Set<String> seenKeys = new HashSet<>();
+        Set<Long> knownMembers = memberDirectory.findAllById(memberIdsOf(transactions)).keySet();
+        long detailsInserted = 0;
+        int writeBatches = 0;
+
+        for (int index = 0; index < transactions.size(); index++) {
+            TransactionIngestPayload payload = transactions.get(index);
+            String error = validationError(payload, knownMembers);
+            if (error != null) {
+                results.add(TransactionBatchResult.invalid(index, payload != null ? payload.externalRef() : null, error));
+                continue;
+            }
+            PendingTransaction pending = toPending(index, payload);
+            if (!seenKeys.add(TransactionIngestRepository.keyOf(pending.master()))) {
+                results.add(TransactionBatchResult.duplicate(index, payload.externalRef(), null, "Duplicate externalRef in batch"));
+                continue;
+            }
+            batch.add(pending);
+            if (batch.size() >= batchSize) {
+                detailsInserted += write(batch, results);
+                writeBatches++;
+            }
+        }
+        if (!batch.isEmpty()) {
+            detailsInserted += write(batch, results);
+            writeBatches++;
+        }
+
+        results.sort(Comparator.comparingInt(TransactionBatchResult::index));
+        int inserted = count(results, TransactionBatchResult.Status.INSERTED);
+        int duplicates = count(results, TransactionBatchResult.Status.DUPLICATE);
+        int failed = count(results, TransactionBatchResult.Status.FAILED);
+        long elapsedNanos = System.nanoTime() - started;
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000d;
+        return Optional.of(new TransactionBatchResponse(
+                transactions.size(),
+                inserted,
+                duplicates,
+                transactions.size() - inserted - duplicates - failed,
+                failed,
+                detailsInserted,
+                writeBatches,
+                elapsedNanos / 1_000_000,
+                inserted / seconds,
+                detailsInserted / seconds,
+                results
+        ));
+    }
+
+    /**
+     * Writes one chunk and records its outcomes; returns the number of detail rows inserted.
+     * A chunk the repository fails on has rolled back as a whole, so all of it is reported FAILED.
+     */
+    private long write(List<PendingTransaction> batch, List<TransactionBatchResult> results) {
+        List<IngestOutcome> outcomes;
+        try {
+            outcomes = transactionIngestRepository.insertAllSkippingDuplicates(
+                    batch.stream().map(PendingTransaction::master).toList(),
+                    batch.stream().map(PendingTransaction::details).toList()
+            );
+        } catch (RuntimeException e) {
+            LOG.error("Ingest chunk of {} transactions failed and was rolled back", batch.size(), e);
+            for (PendingTransaction pending : batch) {
+                results.add(TransactionBatchResult.failed(pending.index(), pending.master().getExternalRef(),
+                        "Write failed and was rolled back, resend this transaction"));
+            }
+            batch.clear();
+            return 0;
+        }
+        long details = 0;
+        Set<String> changedMerchants = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingTransaction pending = batch.get(i);
+            IngestOutcome outcome = outcomes.get(i);
+            String externalRef = pending.master().getExternalRef();
+            if (outcome != null && outcome.inserted()) {
+                results.add(TransactionBatchResult.inserted(pending.index(), externalRef, outcome.txnId()));
+                details += pending.details().size();
+                changedMerchants.add(pending.master().getMerchantId());
+            } else {
+                results.add(TransactionBatchResult.duplicate(pending.index(), externalRef,
+                        outcome != null ? outcome.txnId() : null, "externalRef already ingested"));
+            }
+        }
+        batch.clear();
+        if (!changedMerchants.isEmpty()) {
+            eventPublisher.publishEvent(new TransactionsChangedEvent(changedMerchants));
+        }
+        return details;
+    }
+
+    /**
+     * First problem with the payload, or null when it can be written
+     */
+    static String validationError(TransactionIngestPayload payload, Set<Long> knownMembers) {
+        if (payload == null) {
+            return "Transaction must not be null";
+        }
+        if (isBlank(payload.externalRef())) {
+            return "externalRef is required";
+        }
+        if (payload.externalRef().length() > MAX_EXTERNAL_REF_LENGTH) {
+            return lengthError("externalRef", MAX_EXTERNAL_REF_LENGTH);
+        }
+        if (isBlank(payload.merchantId())) {
+            return "merchantId is required";
+        }
+        if (payload.merchantId().length() > MAX_MERCHANT_ID_LENGTH) {
+            return lengthError("merchantId", MAX_MERCHANT_ID_LENGTH);
+        }
+        if (payload.localTxnDateTime() == null) {
+            return "localTxnDateTime is required";
+        }
+        String amountError = amountError("amount", payload.amount());
+        if (amountError != null) {
+            return amountError;
+        }
+        if (payload.status() == null || !STATUSES.contains(payload.status())) {
+            return "status must be one of " + new TreeSet<>(STATUSES);
+        }
+        if (payload.currency() != null && !payload.currency().matches("[A-Z]{3}")) {
+            return "currency must be a 3-letter ISO code";
+        }
+        if (tooLong(payload.cardType(), MAX_CARD_TYPE_LENGTH)) {
+            return lengthError("cardType", MAX_CARD_TYPE_LENGTH);
+        }
+        if (tooLong(payload.cardLast4(), MAX_CARD_LAST4_LENGTH)) {
+            return lengthError("cardLast4", MAX_CARD_LAST4_LENGTH);
+        }
+        if (tooLong(payload.authCode(), MAX_AUTH_CODE_LENGTH)) {
+            return lengthError("authCode", MAX_AUTH_CODE_LENGTH);
+        }
+        if (tooLong(payload.responseCode(), MAX_RESPONSE_CODE_LENGTH)) {
+            return lengthError("responseCode", MAX_RESPONSE_CODE_LENGTH);
+        }
+        if (payload.gpAcquirerId() != null && !knownMembers.contains(payload.gpAcquirerId())) {
+            return "Unknown gpAcquirerId " + payload.gpAcquirerId();
+        }
+        if (payload.gpIssuerId() != null && !knownMembers.contains(payload.gpIssuerId())) {
+            return "Unknown gpIssuerId " + payload.gpIssuerId();
+        }
+        if (payload.details() != null) {
+            for (TransactionDetailIngestPayload detail : payload.details()) {
+                if (detail == null || detail.detailType() == null || !DETAIL_TYPES.contains(detail.detailType())) {
+                    return "details[].detailType must be one of " + new TreeSet<>(DETAIL_TYPES);
+                }
+                String detailAmountError = amountError("details[].amount", detail.amount());
+                if (detailAmountError != null) {
+                    return detailAmountError;
+                }
+                if (detail.currency() != null && !detail.currency().matches("[A-Z]{3}")) {
+                    return "details[].currency must be a 3-letter ISO code";
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean tooLong(String value, int maxLength) {
+        return value != null && value.length() > maxLength;
+    }
+
+    private static String lengthError(String field, int maxLength) {
+        return field + " must be at most " + maxLength + " characters";
+    }
+
+    private static String amountError(String field, BigDecimal amount) {
+        if (amount == null) {
+            return field + " is required";
+        }
+        // The columns are DECIMAL(15,2); anything finer would be rounded silently
+        if (amount.stripTrailingZeros().scale() > 2 || amount.precision() - amount.scale() > 13) {
+            return field + " must fit DECIMAL(15,2)";
+        }
+        return null;
+    }
+
+    static PendingTransaction toPending(int index, TransactionIngestPayload payload) {
+        String currency = payload.currency() != null ? payload.currency() : "USD";
+        LocalDate txnDate = payload.txnDate() != null
+                ? payload.txnDate()
+                : LocalDate.ofInstant(payload.localTxnDateTime(), ZoneOffset.UTC);
+
+        TransactionMaster master = new TransactionMaster();
+        master.setExternalRef(payload.externalRef());
+        master.setMerchantId(payload.merchantId());
+        master.setGpAcquirerId(payload.gpAcquirerId());
+        master.setGpIssuerId(payload.gpIssuerId());
+        master.setTxnDate(java.sql.Date.valueOf(txnDate));
+        master.setLocalTxnDateTime(payload.localTxnDateTime());
+        master.setAmount(payload.amount());
+        master.setCurrency(currency);
+        master.setStatus(payload.status());
+        master.setCardType(payload.cardType());
+        master.setCardLast4(payload.cardLast4());
+        master.setAuthCode(payload.authCode());
+        master.setResponseCode(payload.responseCode());
+
+        List<TransactionDetail> details = new ArrayList<>();
+        if (payload.details() != null) {
+            for (TransactionDetailIngestPayload detailPayload : payload.details()) {
+                TransactionDetail detail = new TransactionDetail();
+                detail.setDetailType(detailPayload.detailType());
+                detail.setAmount(detailPayload.amount());
+                detail.setCurrency(detailPayload.currency() != null ? detailPayload.currency() : currency);
+                detail.setDescription(detailPayload.description());
+                detail.setLocalTxnDateTime(payload.localTxnDateTime());
+                details.add(detail);
+            }
+        }
+        return new PendingTransaction(index, master, details);
+    }
+
+    static Set<Long> memberIdsOf(List<TransactionIngestPayload> transactions) {
+        Set<Long> memberIds = new HashSet<>();
+        for (TransactionIngestPayload payload : transactions) {
+            if (payload == null) continue;
+            if (payload.gpAcquirerId() != null) memberIds.add(payload.gpAcquirerId());
+            if (payload.gpIssuerId() != null) memberIds.add(payload.gpIssuerId());
+        }
+        return memberIds;
+    }
+
+    private static int count(List<TransactionBatchResult> results, TransactionBatchResult.Status status) {
+        return (int) results.stream().filter(result -> result.status() == status).count();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
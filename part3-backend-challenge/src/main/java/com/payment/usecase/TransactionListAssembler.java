@@ -0,0 +1,192 @@
+package com.payment.usecase;
+
+import com.payment.entity.Member;
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import com.payment.payload.*;
+import com.payment.repository.StatusSummaryResult;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Builds transaction list responses from fetched rows.
+ * Shared by the JDBC (TransactionListUseCase) and R2DBC (ReactiveTransactionListUseCase) paths,
+ * which differ only in how the rows are fetched.
+ */
+final class TransactionListAssembler {
+
+    private TransactionListAssembler() {
+    }
+
+    /**
+     * Pagination for offset paging; a cursor is handed out as well so clients can switch to keyset paging from any page
+     */
+    static PaginationDTO offsetPagination(
+            TransactionListRequest request,
+            List<TransactionMaster> transactions,
+            TransactionSummaryDTO summary
+    ) {
+        // Totals for pagination come from the same aggregate pass as the summary
+        long totalElements = countMatching(summary, request.status());
+        int totalPages = totalPages(totalElements, request.size());
+        boolean hasNext = request.page() + 1 < totalPages;
+        return new PaginationDTO(
+                request.page(),
+                request.size(),
+                totalPages,
+                totalElements,
+                hasNext ? cursorOf(transactions.get(transactions.size() - 1)) : null
+        );
+    }
+
+    /**
+     * Pagination for keyset paging; hasNext comes from the extra row fetched past the page
+     */
+    static PaginationDTO cursorPagination(
+            TransactionListRequest request,
+            List<TransactionMaster> transactions,
+            boolean hasNext,
+            TransactionSummaryDTO summary
+    ) {
+        // Totals come from the summary pass instead of a separate count query
+        long totalElements = countMatching(summary, request.status());
+        return new PaginationDTO(
+                null,
+                request.size(),
+                totalPages(totalElements, request.size()),
+                totalElements,
+                hasNext ? cursorOf(transactions.get(transactions.size() - 1)) : null
+        );
+    }
+
+    /**
+     * Acquirer and issuer IDs referenced by the page
+     */
+    static Set<Long> memberIdsOf(List<TransactionMaster> transactions) {
+        Set<Long> memberIds = new HashSet<>();
+        transactions.forEach(txn -> {
+            if (txn.getGpAcquirerId() != null) memberIds.add(txn.getGpAcquirerId());
+            if (txn.getGpIssuerId() != null) memberIds.add(txn.getGpIssuerId());
+        });
+        return memberIds;
+    }
+
+    static TransactionListResponse buildResponse(
+            TransactionListRequest request,
+            List<TransactionMaster> transactions,
+            List<TransactionDetail> details,
+            Map<Long, Member> membersById,
+            TransactionSummaryDTO summary,
+            PaginationDTO pagination
+    ) {
+        Map<Long, List<TransactionDetail>> detailsByTxnId = TransactionMapper.groupByMasterTxnId(details);
+
+        // Map to DTOs
+        List<TransactionDTO> transactionDTOs = transactions.stream()
+                .map(txn -> TransactionMapper.toDTO(txn, detailsByTxnId.getOrDefault(txn.getTxnId(), List.of()), membersById))
+                .toList();
+
+        // Create date range DTO
+        DateRangeDTO dateRange = new DateRangeDTO(
+                request.startDate() != null ? request.startDate() : getEarliestDate(transactions),
+                request.endDate() != null ? request.endDate() : getLatestDate(transactions)
+        );
+
+        return new TransactionListResponse(
+                request.merchantId(),
+                dateRange,
+                summary,
+                transactionDTOs,
+                pagination
+        );
+    }
+
+    static TransactionListResponse createEmptyResponse(TransactionListRequest request) {
+        TransactionSummaryDTO emptySummary = new TransactionSummaryDTO(
+                0L,
+                BigDecimal.ZERO,
+                "USD",
+                Map.of()
+        );
+
+        PaginationDTO emptyPagination = new PaginationDTO(
+                request.page(),
+                request.size(),
+                0,
+                0L
+        );
+
+        DateRangeDTO dateRange = new DateRangeDTO(
+                request.startDate(),
+                request.endDate()
+        );
+
+        return new TransactionListResponse(
+                request.merchantId(),
+                dateRange,
+                emptySummary,
+                Collections.emptyList(),
+                emptyPagination
+        );
+    }
+
+    /**
+     * Builds the summary from per-status counts and amounts plus the overall total row,
+     * served mostly from the daily rollup.
+     * Counts always span every status; the amount honours the status filter, as before.
+     */
+    static TransactionSummaryDTO summaryOf(TransactionListRequest request, List<StatusSummaryResult> rows) {
+        Map<String, Long> byStatus = new HashMap<>();
+        long totalTransactions = 0L;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        BigDecimal statusAmount = BigDecimal.ZERO;
+        for (StatusSummaryResult row : rows) {
+            if (row.isRollup()) {
+                totalTransactions = row.getCount();
+                totalAmount = row.getTotalAmount();
+            } else {
+                byStatus.put(row.getStatus(), row.getCount());
+                if (row.getStatus().equals(request.status())) {
+                    statusAmount = row.getTotalAmount();
+                }
+            }
+        }
+
+        return new TransactionSummaryDTO(
+                totalTransactions,
+                request.status() != null ? statusAmount : totalAmount,
+                "USD",
+                byStatus
+        );
+    }
+
+    private static String cursorOf(TransactionMaster txn) {
+        return new TransactionCursor(txn.getLocalTxnDateTime(), txn.getTxnId()).encode();
+    }
+
+    private static long countMatching(TransactionSummaryDTO summary, String status) {
+        return status == null
+                ? summary.totalTransactions()
+                : summary.byStatus().getOrDefault(status, 0L);
+    }
+
+    private static int totalPages(long totalElements, int size) {
+        return (int) Math.ceil((double) totalElements / size);
+    }
+
+    private static Instant getEarliestDate(List<TransactionMaster> transactions) {
+        return transactions.stream()
+                .map(TransactionMaster::getLocalTxnDateTime)
+                .min(Instant::compareTo)
+                .orElse(null);
+    }
+
+    private static Instant getLatestDate(List<TransactionMaster> transactions) {
+        return transactions.stream()
+                .map(TransactionMaster::getLocalTxnDateTime)
+                .max(Instant::compareTo)
+                .orElse(null);
+    }
+}
@@ -1,235 +1,194 @@
 package com.payment.usecase;
 
+import com.payment.cache.MemberDirectory;
+import com.payment.cache.TransactionListCache;
+import com.payment.config.DatabaseConnectionLimiter;
 import com.payment.entity.Member;
 import com.payment.entity.TransactionDetail;
 import com.payment.entity.TransactionMaster;
+import com.payment.exception.QueryTimeoutException;
 import com.payment.payload.*;
-import com.payment.repository.MemberRepository;
-import com.payment.repository.StatusCountResult;
-import com.payment.repository.TotalAmountResult;
 import com.payment.repository.TransactionDetailRepository;
 import com.payment.repository.TransactionRepository;
-import io.micronaut.data.model.Page;
+import com.payment.repository.TransactionSummaryRepository;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.data.model.Pageable;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Use case for listing transactions for a merchant
+ * Responses are served through TransactionListCache, keyed by the date-bucket normalized request;
+ * a miss is loaded with the exact request
+ * Blocks on JDBC; every query it fans out takes its own DatabaseConnectionLimiter permit on the
+ * query executor, so a request is counted for each connection it holds and cache hits take none
  */
 @Singleton
 public class TransactionListUseCase implements UseCase<TransactionListRequest, TransactionListResponse> {
 
     private final TransactionRepository transactionRepository;
     private final TransactionDetailRepository transactionDetailRepository;
-    private final MemberRepository memberRepository;
+    private final TransactionSummaryRepository transactionSummaryRepository;
+    private final MemberDirectory memberDirectory;
+    private final TransactionListCache transactionListCache;
+    private final DatabaseConnectionLimiter databaseConnectionLimiter;
+    private final ExecutorService queryExecutor;
+    private final Duration queryTimeout;
 
     public TransactionListUseCase(
             TransactionRepository transactionRepository,
             TransactionDetailRepository transactionDetailRepository,
-            MemberRepository memberRepository
+            TransactionSummaryRepository transactionSummaryRepository,
+            MemberDirectory memberDirectory,
+            TransactionListCache transactionListCache,
+            DatabaseConnectionLimiter databaseConnectionLimiter,
+            @Named("transaction-query") ExecutorService queryExecutor,
+            @Value("${payment.transactions.query-timeout:5s}") Duration queryTimeout
     ) {
         this.transactionRepository = transactionRepository;
         this.transactionDetailRepository = transactionDetailRepository;
-        this.memberRepository = memberRepository;
+        this.transactionSummaryRepository = transactionSummaryRepository;
+        this.memberDirectory = memberDirectory;
+        this.transactionListCache = transactionListCache;
+        this.databaseConnectionLimiter = databaseConnectionLimiter;
+        this.queryExecutor = queryExecutor;
+        this.queryTimeout = queryTimeout;
     }
 
     @Override
     public Optional<TransactionListResponse> execute(TransactionListRequest request) {
+        return transactionListCache.get(request, this::load);
+    }
+
+    private Optional<TransactionListResponse> load(TransactionListRequest request) {
+        if (request.isCursorMode()) {
+            return Optional.of(executeWithCursor(request));
+        }
+
         // Create pageable
         Pageable pageable = Pageable.from(request.page(), request.size());
         
-        // Fetch transactions with filters
-        Page<TransactionMaster> transactionPage = transactionRepository.findByMerchantIdWithFilters(
-                request.merchantId(),
-                request.startDate(),
-                request.endDate(),
-                request.status(),
-                pageable
-        );
-        System.out.println(transactionPage + " TP!!!!!!");
+        // The summary does not depend on the page, so both queries run at the same time
+        CompletableFuture<List<TransactionMaster>> pageFuture = supplyAsync(() ->
+                transactionRepository.findByMerchantIdWithFilters(
+                        request.merchantId(),
+                        request.startDate(),
+                        request.endDate(),
+                        request.status(),
+                        pageable
+                ));
+        CompletableFuture<TransactionSummaryDTO> summaryFuture = supplyAsync(() -> calculateSummary(request));
+
+        List<TransactionMaster> transactions = await(pageFuture);
         // If no transactions found, return empty response with zero summary
-        if (transactionPage.isEmpty()) {
-            System.out.println("yep its empty");
-            return Optional.of(createEmptyResponse(request));
+        if (transactions.isEmpty()) {
+            summaryFuture.cancel(false);
+            return Optional.of(TransactionListAssembler.createEmptyResponse(request));
         }
-        
-        // Get transaction IDs for batch fetching details
-        List<Long> txnIds = transactionPage.getContent().stream()
-                .map(TransactionMaster::getTxnId)
-                .toList();
+        CompletableFuture<List<TransactionDetail>> detailsFuture = fetchDetails(transactions);
 
-        // Batch fetch transaction details
-        List<TransactionDetail> allDetails = transactionDetailRepository.findByMasterTxnIdInList(txnIds);
-        Map<Long, List<TransactionDetail>> detailsByTxnId = allDetails.stream()
-                .collect(Collectors.groupingBy(TransactionDetail::getMasterTxnId));
-
-        // Fetch all unique member IDs
-        Set<Long> memberIds = new HashSet<>();
-        transactionPage.getContent().forEach(txn -> {
-            if (txn.getGpAcquirerId() != null) memberIds.add(txn.getGpAcquirerId());
-            if (txn.getGpIssuerId() != null) memberIds.add(txn.getGpIssuerId());
-        });
-
-        // Batch fetch members
-        Map<Long, Member> membersById = new HashMap<>();
-        memberIds.forEach(id -> {
-            memberRepository.findById(id).ifPresent(member -> 
-                membersById.put(id, member)
-            );
-        });
-
-        // Calculate summary
-        TransactionSummaryDTO summary = calculateSummary(request);
-
-        // Map to DTOs
-        List<TransactionDTO> transactionDTOs = transactionPage.getContent().stream()
-                .map(txn -> mapToDTO(txn, detailsByTxnId.getOrDefault(txn.getTxnId(), List.of()), membersById))
-                .toList();
-        System.out.println(transactionDTOs + " transactionDTOs");
-        // Create pagination DTO
-        PaginationDTO pagination = new PaginationDTO(
-                request.page(),
-                request.size(),
-                transactionPage.getTotalPages(),
-                transactionPage.getTotalSize()
-        );
-
-        // Create date range DTO
-        DateRangeDTO dateRange = new DateRangeDTO(
-                request.startDate() != null ? request.startDate() : getEarliestDate(transactionPage),
-                request.endDate() != null ? request.endDate() : getLatestDate(transactionPage)
-        );
-
-        return Optional.of(new TransactionListResponse(
-                request.merchantId(),
-                dateRange,
-                summary,
-                transactionDTOs,
-                pagination
-        ));
+        TransactionSummaryDTO summary = await(summaryFuture);
+        PaginationDTO pagination = TransactionListAssembler.offsetPagination(request, transactions, summary);
+
+        return Optional.of(buildResponse(request, transactions, detailsFuture, summary, pagination));
     }
 
-    private TransactionListResponse createEmptyResponse(TransactionListRequest request) {
-        TransactionSummaryDTO emptySummary = new TransactionSummaryDTO(
-                0L,
-                BigDecimal.ZERO,
-                "USD",
-                Map.of()
-        );
-
-        PaginationDTO emptyPagination = new PaginationDTO(
-                request.page(),
-                request.size(),
-                0,
-                0L
-        );
-
-        DateRangeDTO dateRange = new DateRangeDTO(
-                request.startDate(),
-                request.endDate()
-        );
+    /**
+     * Keyset paging: seeks directly to the row after the cursor, so every page costs
+     * the same regardless of how deep the client has scrolled.
+     */
+    private TransactionListResponse executeWithCursor(TransactionListRequest request) {
+        TransactionCursor cursor = TransactionCursor.decode(request.cursor());
+
+        // Fetch one extra row to find out whether another page exists
+        CompletableFuture<List<TransactionMaster>> rowsFuture = supplyAsync(() ->
+                transactionRepository.findByMerchantIdAfterCursor(
+                        request.merchantId(),
+                        request.startDate(),
+                        request.endDate(),
+                        request.status(),
+                        cursor.localTxnDateTime(),
+                        cursor.txnId(),
+                        request.size() + 1
+                ));
+        CompletableFuture<TransactionSummaryDTO> summaryFuture = supplyAsync(() -> calculateSummary(request));
 
-        return new TransactionListResponse(
-                request.merchantId(),
-                dateRange,
-                emptySummary,
-                Collections.emptyList(),
-                emptyPagination
-        );
-    }
+        List<TransactionMaster> rows = await(rowsFuture);
+        if (rows.isEmpty()) {
+            summaryFuture.cancel(false);
+            return TransactionListAssembler.createEmptyResponse(request);
+        }
 
-    private TransactionSummaryDTO calculateSummary(TransactionListRequest request) {
-        // Get status counts
-        List<StatusCountResult> statusCounts = transactionRepository.countByStatus(
-                request.merchantId(),
-                request.startDate(),
-                request.endDate()
-        );
+        boolean hasNext = rows.size() > request.size();
+        List<TransactionMaster> transactions = hasNext ? rows.subList(0, request.size()) : rows;
+        CompletableFuture<List<TransactionDetail>> detailsFuture = fetchDetails(transactions);
 
-        Map<String, Long> byStatus = statusCounts.stream()
-                .collect(Collectors.toMap(
-                        StatusCountResult::getStatus,
-                        StatusCountResult::getCount
-                ));
+        TransactionSummaryDTO summary = await(summaryFuture);
+        PaginationDTO pagination = TransactionListAssembler.cursorPagination(request, transactions, hasNext, summary);
 
-        // Calculate total transactions
-        long totalTransactions = byStatus.values().stream()
-                .mapToLong(Long::longValue)
-                .sum();
+        return buildResponse(request, transactions, detailsFuture, summary, pagination);
+    }
 
-        // Get total amount
-        TotalAmountResult totalAmountResult = transactionRepository.getTotalAmount(
-                request.merchantId(),
-                request.startDate(),
-                request.endDate(),
-                request.status()
-        );
-
-        BigDecimal totalAmount = totalAmountResult != null && totalAmountResult.getTotalAmount() != null
-                ? totalAmountResult.getTotalAmount()
-                : BigDecimal.ZERO;
-
-        return new TransactionSummaryDTO(
-                totalTransactions,
-                totalAmount,
-                "USD",
-                byStatus
-        );
+    private CompletableFuture<List<TransactionDetail>> fetchDetails(List<TransactionMaster> transactions) {
+        // Get transaction IDs for batch fetching details
+        List<Long> txnIds = transactions.stream()
+                .map(TransactionMaster::getTxnId)
+                .toList();
+        return supplyAsync(() -> transactionDetailRepository.findByMasterTxnIdInList(txnIds));
     }
 
-    private TransactionDTO mapToDTO(
-            TransactionMaster txn,
-            List<TransactionDetail> details,
-            Map<Long, Member> membersById
+    private TransactionListResponse buildResponse(
+            TransactionListRequest request,
+            List<TransactionMaster> transactions,
+            CompletableFuture<List<TransactionDetail>> detailsFuture,
+            TransactionSummaryDTO summary,
+            PaginationDTO pagination
     ) {
-        // Map transaction details
-        List<TransactionDetailDTO> detailDTOs = details.stream()
-                .map(detail -> new TransactionDetailDTO(
-                        detail.getTxnDetailId(),
-                        detail.getDetailType(),
-                        detail.getAmount(),
-                        detail.getDescription()
-                ))
-                .toList();
+        // Resolve members from the in-memory directory while the details query runs
+        Map<Long, Member> membersById = memberDirectory.findAllById(TransactionListAssembler.memberIdsOf(transactions));
 
-        // Get member names
-        String acquirerName = txn.getGpAcquirerId() != null && membersById.containsKey(txn.getGpAcquirerId())
-                ? membersById.get(txn.getGpAcquirerId()).getMemberName()
-                : null;
-
-        String issuerName = txn.getGpIssuerId() != null && membersById.containsKey(txn.getGpIssuerId())
-                ? membersById.get(txn.getGpIssuerId()).getMemberName()
-                : null;
-
-        return new TransactionDTO(
-                txn.getTxnId(),
-                txn.getAmount(),
-                txn.getCurrency(),
-                txn.getStatus(),
-                txn.getLocalTxnDateTime(),
-                txn.getCardType(),
-                txn.getCardLast4(),
-                acquirerName,
-                issuerName,
-                detailDTOs
-        );
+        return TransactionListAssembler.buildResponse(
+                request, transactions, await(detailsFuture), membersById, summary, pagination);
     }
 
-    private java.time.Instant getEarliestDate(Page<TransactionMaster> page) {
-        return page.getContent().stream()
-                .map(TransactionMaster::getLocalTxnDateTime)
-                .min(java.time.Instant::compareTo)
-                .orElse(null);
+    /**
+     * Runs a query on the bounded query executor, holding a connection permit while it runs, with
+     * the configured per-query timeout. The repositories set the same timeout on their statements, so the database cancels a slow
+     * query and frees its thread and connection; orTimeout is only the backstop for the caller.
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> databaseConnectionLimiter.call(query), queryExecutor)
+                .orTimeout(queryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new QueryTimeoutException("Transaction query timed out after " + queryTimeout.toMillis() + " ms");
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
-    private java.time.Instant getLatestDate(Page<TransactionMaster> page) {
-        return page.getContent().stream()
-                .map(TransactionMaster::getLocalTxnDateTime)
-                .max(java.time.Instant::compareTo)
-                .orElse(null);
+    private TransactionSummaryDTO calculateSummary(TransactionListRequest request) {
+        return TransactionListAssembler.summaryOf(request, transactionSummaryRepository.summarizeByStatus(
+                request.merchantId(),
+                request.startDate(),
+                request.endDate()
+        ));
     }
 }
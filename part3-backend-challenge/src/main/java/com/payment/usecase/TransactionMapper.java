@@ -0,0 +1,63 @@
+package com.payment.usecase;
+
+import com.payment.entity.Member;
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import com.payment.payload.TransactionDTO;
+import com.payment.payload.TransactionDetailDTO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maps transaction entities to API DTOs; shared by the list and export use cases
+ */
+public final class TransactionMapper {
+
+    private TransactionMapper() {
+    }
+
+    public static Map<Long, List<TransactionDetail>> groupByMasterTxnId(List<TransactionDetail> details) {
+        return details.stream()
+                .collect(Collectors.groupingBy(TransactionDetail::getMasterTxnId));
+    }
+
+    public static TransactionDTO toDTO(
+            TransactionMaster txn,
+            List<TransactionDetail> details,
+            Map<Long, Member> membersById
+    ) {
+        // Map transaction details
+        List<TransactionDetailDTO> detailDTOs = details.stream()
+                .map(detail -> new TransactionDetailDTO(
+                        detail.getTxnDetailId(),
+                        detail.getDetailType(),
+                        detail.getAmount(),
+                        detail.getDescription()
+                ))
+                .toList();
+
+        // Get member names
+        String acquirerName = txn.getGpAcquirerId() != null && membersById.containsKey(txn.getGpAcquirerId())
+                ? membersById.get(txn.getGpAcquirerId()).getMemberName()
+                : null;
+
+        String issuerName = txn.getGpIssuerId() != null && membersById.containsKey(txn.getGpIssuerId())
+                ? membersById.get(txn.getGpIssuerId()).getMemberName()
+                : null;
+
+        return new TransactionDTO(
+                txn.getTxnId(),
+                txn.getAmount(),
+                txn.getCurrency(),
+                txn.getStatus(),
+                txn.getLocalTxnDateTime(),
+                txn.getCardType(),
+                txn.getCardLast4(),
+                acquirerName,
+                issuerName,
+                detailDTOs
+        );
+    }
+}
@@ -0,0 +1,55 @@
+package com.payment.usecase;
+
+import com.payment.cache.MemberDirectory;
+import com.payment.ingest.TransactionWriteBehindQueue;
+import com.payment.payload.*;
+import com.payment.repository.TransactionIngestRepository.IngestOutcome;
+import com.payment.usecase.TransactionIngestUseCase.PendingTransaction;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Use case for ingesting a single transaction through the write-behind queue.
+ * The transaction is validated like one entry of a batch, then queued; with IngestAck.ENQUEUE the
+ * returned Mono is already complete with a QUEUED result, with IngestAck.COMMIT it completes once
+ * the group the transaction was written in has committed. Invalid transactions are rejected with
+ * an IllegalArgumentException before anything is queued.
+ */
+@Singleton
+public class TransactionSubmitUseCase implements UseCase<TransactionSubmitRequest, Mono<TransactionBatchResult>> {
+
+    private final TransactionWriteBehindQueue transactionWriteBehindQueue;
+    private final MemberDirectory memberDirectory;
+
+    public TransactionSubmitUseCase(TransactionWriteBehindQueue transactionWriteBehindQueue, MemberDirectory memberDirectory) {
+        this.transactionWriteBehindQueue = transactionWriteBehindQueue;
+        this.memberDirectory = memberDirectory;
+    }
+
+    @Override
+    public Optional<Mono<TransactionBatchResult>> execute(TransactionSubmitRequest request) {
+        TransactionIngestPayload payload = request.transaction();
+        List<TransactionIngestPayload> single = payload != null ? List.of(payload) : List.of();
+        String error = TransactionIngestUseCase.validationError(payload,
+                memberDirectory.findAllById(TransactionIngestUseCase.memberIdsOf(single)).keySet());
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        PendingTransaction pending = TransactionIngestUseCase.toPending(0, payload);
+        CompletableFuture<IngestOutcome> committed = transactionWriteBehindQueue.enqueue(
+                pending.master(), pending.details(), request.ack() == IngestAck.ENQUEUE);
+        String externalRef = payload.externalRef();
+        if (request.ack() == IngestAck.ENQUEUE) {
+            return Optional.of(Mono.just(TransactionBatchResult.queued(0, externalRef)));
+        }
+        return Optional.of(Mono.fromFuture(committed).map(outcome -> outcome.inserted()
+                        ? TransactionBatchResult.inserted(0, externalRef, outcome.txnId())
+                        : TransactionBatchResult.duplicate(0, externalRef, outcome.txnId(), "externalRef already ingested"))
+                .defaultIfEmpty(TransactionBatchResult.duplicate(0, externalRef, null, "externalRef already ingested")));
+    }
+}
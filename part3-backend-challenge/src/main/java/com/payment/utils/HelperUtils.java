@@ -1,5 +1,6 @@
 package com.payment.utils;
 
+import java.sql.SQLException;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -27,4 +28,16 @@ public class HelperUtils {
             return true;
         }
     }
+
+    /**
+     * True when the exception was caused by a PostgreSQL unique constraint violation (SQLState 23505)
+     */
+    public static boolean isUniqueViolation(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && "23505".equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
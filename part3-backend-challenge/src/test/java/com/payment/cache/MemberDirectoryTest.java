@@ -0,0 +1,161 @@
+package com.payment.cache;
+
+import com.payment.config.DatabaseConnectionLimiter;
+import com.payment.entity.Member;
+import com.payment.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class MemberDirectoryTest {
+
+    private MemberRepository memberRepository;
+    private MemberDirectory memberDirectory;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository = mock(MemberRepository.class);
+        memberDirectory = new MemberDirectory(memberRepository, new DatabaseConnectionLimiter(10, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void findAllById_AfterRefresh_ServesFromMemory() {
+        // Arrange
+        when(memberRepository.findAll())
+                .thenReturn(List.of(createMember(1L, "Global Payment Services"), createMember(4L, "Visa Worldwide")));
+        memberDirectory.refresh();
+
+        // Act
+        Map<Long, Member> members = memberDirectory.findAllById(List.of(1L, 4L));
+
+        // Assert
+        assertEquals("Global Payment Services", members.get(1L).getMemberName());
+        assertEquals("Visa Worldwide", members.get(4L).getMemberName());
+        verify(memberRepository, never()).findByMemberIdInList(anyCollection());
+        assertEquals(2L, memberDirectory.stats().hits());
+        assertEquals(0L, memberDirectory.stats().misses());
+    }
+
+    @Test
+    void findAllById_WhenMemberMissing_LoadsItOnceAndCachesIt() {
+        // Arrange
+        when(memberRepository.findAll()).thenReturn(List.of());
+        when(memberRepository.findByMemberIdInList(anyCollection())).thenReturn(List.of(createMember(7L, "New Member")));
+
+        // Act
+        memberDirectory.findAllById(List.of(7L));
+        Map<Long, Member> members = memberDirectory.findAllById(List.of(7L));
+
+        // Assert
+        assertEquals("New Member", members.get(7L).getMemberName());
+        verify(memberRepository, times(1)).findByMemberIdInList(List.of(7L));
+        assertEquals(1L, memberDirectory.stats().hits());
+        assertEquals(1L, memberDirectory.stats().misses());
+    }
+
+    @Test
+    void findAllById_WhenMemberUnknown_QueriesAgainOnlyAfterMissTtlOrRefresh() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2026-10-18T12:00:00Z"));
+        MemberDirectory directory = new MemberDirectory(
+                memberRepository, new DatabaseConnectionLimiter(10, Duration.ofSeconds(1)), clock);
+        when(memberRepository.findAll()).thenReturn(List.of());
+        when(memberRepository.findByMemberIdInList(anyCollection())).thenReturn(List.of());
+
+        // Act
+        directory.findAllById(List.of(9L));
+        directory.findAllById(List.of(9L));
+        clock.advance(MemberDirectory.MISS_TTL);
+        directory.findAllById(List.of(9L));
+        directory.refresh();
+        Map<Long, Member> members = directory.findAllById(List.of(9L));
+
+        // Assert: once at first, once after the ttl, once after the refresh
+        assertTrue(members.isEmpty());
+        verify(memberRepository, times(3)).findByMemberIdInList(List.of(9L));
+        assertEquals(1L, directory.stats().hits());
+    }
+
+    @Test
+    void findAllById_BeforeFirstLoad_LoadsOnADatabasePermit() {
+        // Arrange
+        DatabaseConnectionLimiter limiter = new DatabaseConnectionLimiter(1, Duration.ofSeconds(1));
+        MemberDirectory directory = new MemberDirectory(memberRepository, limiter);
+        int[] permitsDuringLoad = {-1};
+        when(memberRepository.findAll()).thenAnswer(invocation -> {
+            permitsDuringLoad[0] = limiter.availablePermits();
+            return List.of(createMember(1L, "Global Payment Services"));
+        });
+
+        // Act
+        Map<Long, Member> members = directory.findAllById(List.of(1L));
+
+        // Assert
+        assertEquals("Global Payment Services", members.get(1L).getMemberName());
+        assertEquals(0, permitsDuringLoad[0]);
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    @Test
+    void invalidate_ReloadsMembers() {
+        // Arrange
+        when(memberRepository.findAll())
+                .thenReturn(List.of(createMember(1L, "Old Name")))
+                .thenReturn(List.of(createMember(1L, "New Name")));
+        memberDirectory.refresh();
+
+        // Act
+        memberDirectory.invalidate();
+
+        // Assert
+        assertEquals("New Name", memberDirectory.findById(1L).orElseThrow().getMemberName());
+        assertEquals(1, memberDirectory.stats().size());
+    }
+
+    private Member createMember(Long id, String name) {
+        Member member = new Member();
+        member.setMemberId(id);
+        member.setMemberName(name);
+        member.setMemberType("acquirer");
+        member.setMemberCode("TEST-" + id);
+        return member;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.payment.cache;
+
+import com.payment.event.TransactionsChangedEvent;
+import com.payment.payload.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionListCacheTest {
+
+    private MutableClock clock;
+    private AtomicInteger loadCount;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-10-18T12:00:00Z"));
+        loadCount = new AtomicInteger();
+    }
+
+    @Test
+    void normalize_RequestsSecondsApart_ShareOneKey() {
+        // Arrange
+        TransactionListCache cache = new TransactionListCache(1000, Duration.ofMinutes(5), Duration.ofMinutes(1), clock);
+
+        // Act
+        TransactionListRequest first = cache.normalize(request("MCH-1",
+                Instant.parse("2026-10-11T12:00:05Z"), Instant.parse("2026-10-18T12:00:05Z")));
+        TransactionListRequest second = cache.normalize(request("MCH-1",
+                Instant.parse("2026-10-11T12:00:40Z"), Instant.parse("2026-10-18T12:00:40Z")));
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(Instant.parse("2026-10-11T12:00:00Z"), first.startDate());
+        assertEquals(Instant.parse("2026-10-18T12:00:59.999999Z"), first.endDate());
+    }
+
+    @Test
+    void get_RepeatedRequest_LoadsOnceUntilTtlExpires() {
+        // Arrange
+        TransactionListCache cache = new TransactionListCache(1000, Duration.ofMinutes(5), Duration.ofMinutes(1), clock);
+        TransactionListRequest request = request("MCH-1", null, null);
+
+        // Act
+        cache.get(request, loader(1));
+        cache.get(request, loader(1));
+        clock.advance(Duration.ofMinutes(6));
+        cache.get(request, loader(1));
+
+        // Assert
+        assertEquals(2, loadCount.get());
+        TransactionListCacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(2, stats.loads());
+    }
+
+    @Test
+    void get_SameBucketDifferentRange_LoadsEachExactRange() {
+        // Arrange
+        TransactionListCache cache = new TransactionListCache(1000, Duration.ofMinutes(5), Duration.ofMinutes(1), clock);
+        TransactionListRequest first = request("MCH-1",
+                Instant.parse("2026-10-11T12:00:05Z"), Instant.parse("2026-10-18T12:00:05Z"));
+        TransactionListRequest second = request("MCH-1",
+                Instant.parse("2026-10-11T12:00:40Z"), Instant.parse("2026-10-18T12:00:40Z"));
+        List<TransactionListRequest> loaded = new ArrayList<>();
+        Function<TransactionListRequest, Optional<TransactionListResponse>> loader = rangeLoader(loaded,
+                row(1L, Instant.parse("2026-10-11T12:00:10Z")),
+                row(2L, Instant.parse("2026-10-15T08:00:00Z")));
+
+        // Act
+        cache.get(first, loader);
+        TransactionListResponse secondResponse = cache.get(second, loader).orElseThrow();
+        cache.get(second, loader);
+
+        // Assert: the second range reaches past the first, so the cached summary may not hold for it
+        assertEquals(List.of(first, second), loaded);
+        assertEquals(new DateRangeDTO(second.startDate(), second.endDate()), secondResponse.dateRange());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void get_NarrowerRangeOverCompleteResult_ServesTheCachedResponse() {
+        // Arrange
+        TransactionListCache cache = new TransactionListCache(1000, Duration.ofMinutes(5), Duration.ofMinutes(1), clock);
+        TransactionListRequest wide = request("MCH-1",
+                Instant.parse("2026-10-11T12:00:05Z"), Instant.parse("2026-10-18T12:00:40Z"));
+        TransactionListRequest narrow = request("MCH-1",
+                Instant.parse("2026-10-11T12:00:30Z"), Instant.parse("2026-10-18T12:00:10Z"));
+        List<TransactionListRequest> loaded = new ArrayList<>();
+        Function<TransactionListRequest, Optional<TransactionListResponse>> loader = rangeLoader(loaded,
+                row(2L, Instant.parse("2026-10-15T08:00:00Z")));
+
+        // Act
+        TransactionListResponse wideResponse = cache.get(wide, loader).orElseThrow();
+        TransactionListResponse narrowResponse = cache.get(narrow, loader).orElseThrow();
+
+        // Assert: every transaction of the wide range is on the page and inside the narrow one
+        assertEquals(List.of(wide), loaded);
+        assertEquals(new DateRangeDTO(narrow.startDate(), narrow.endDate()), narrowResponse.dateRange());
+        assertEquals(wideResponse.summary(), narrowResponse.summary());
+        assertEquals(wideResponse.pagination(), narrowResponse.pagination());
+    }
+
+    @Test
+    void get_NarrowerRangeOverPartialPage_LoadsTheRequestedRange() {
+        // Arrange: the summary counts transactions the page does not hold
+        TransactionListCache cache = new TransactionListCache(1000, Duration.ofMinutes(5), Duration.ofMinutes(1), clock);
+        TransactionListRequest wide = request("MCH-1",
+                Instant.parse("2026-10-11T12:00:05Z"), Instant.parse("2026-10-18T12:00:40Z"));
+        TransactionListRequest narrow = request("MCH-1",
+                Instant.parse("2026-10-11T12:00:30Z"), Instant.parse("2026-10-18T12:00:10Z"));
+        List<TransactionListRequest> loaded = new ArrayList<>();
+        Function<TransactionListRequest, Optional<TransactionListResponse>> loader = request -> {
+            loaded.add(request);
+            return Optional.of(new TransactionListResponse(request.merchantId(),
+                    new DateRangeDTO(request.startDate(), request.endDate()),
+                    new TransactionSummaryDTO(2L, BigDecimal.TEN, "USD", Map.of("completed", 2L)),
+                    List.of(row(2L, Instant.parse("2026-10-15T08:00:00Z"))),
+                    new PaginationDTO(0, 1, 2, 2L)));
+        };
+
+        // Act
+        cache.get(wide, loader);
+        cache.get(narrow, loader);
+
+        // Assert
+        assertEquals(List.of(wide, narrow), loaded);
+    }
+
+    @Test
+    void get_PastMaxWeight_EvictsLeastRecentlyUsed() {
+        // Arrange: each response weighs 1 + 2 transactions x (1 + 1 detail) = 5
+        TransactionListCache cache = new TransactionListCache(10, Duration.ofMinutes(5), Duration.ZERO, clock);
+        TransactionListRequest a = request("MCH-A", null, null);
+        TransactionListRequest b = request("MCH-B", null, null);
+        TransactionListRequest c = request("MCH-C", null, null);
+        cache.get(a, loader(2));
+        cache.get(b, loader(2));
+        cache.get(a, loader(2));
+
+        // Act
+        cache.get(c, loader(2));
+        cache.get(a, loader(2));
+        cache.get(b, loader(2));
+
+        // Assert: b was the eldest when c arrived, so only b is reloaded
+        assertEquals(4, loadCount.get());
+        assertTrue(cache.stats().weight() <= 10);
+        assertTrue(cache.stats().evictions() >= 1);
+    }
+
+    @Test
+    void onTransactionsChanged_DropsOnlyThatMerchantsPages() {
+        // Arrange
+        TransactionListCache cache = new TransactionListCache(1000, Duration.ofMinutes(5), Duration.ZERO, clock);
+        TransactionListRequest mine = request("MCH-1", null, null);
+        TransactionListRequest other = request("MCH-2", null, null);
+        cache.get(mine, loader(1));
+        cache.get(other, loader(1));
+
+        // Act
+        cache.onTransactionsChanged(new TransactionsChangedEvent(Set.of("MCH-1")));
+        cache.get(mine, loader(1));
+        cache.get(other, loader(1));
+
+        // Assert
+        assertEquals(3, loadCount.get());
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    void get_WhenInvalidatedDuringLoad_DoesNotStoreStaleResponse() {
+        // Arrange
+        TransactionListCache cache = new TransactionListCache(1000, Duration.ofMinutes(5), Duration.ZERO, clock);
+        TransactionListRequest request = request("MCH-1", null, null);
+
+        // Act
+        cache.get(request, key -> {
+            cache.invalidate(List.of("MCH-1"));
+            return loader(1).apply(key);
+        });
+        cache.get(request, loader(1));
+
+        // Assert
+        assertEquals(2, loadCount.get());
+    }
+
+    private TransactionListRequest request(String merchantId, Instant startDate, Instant endDate) {
+        return new TransactionListRequest(merchantId, 0, 20, startDate, endDate, null);
+    }
+
+    private TransactionDTO row(long txnId, Instant timestamp) {
+        return new TransactionDTO(txnId, BigDecimal.ONE, "USD", "completed", timestamp,
+                "VISA", "4242", null, null, List.of());
+    }
+
+    // Answers every range with the given rows as its complete result
+    private Function<TransactionListRequest, Optional<TransactionListResponse>> rangeLoader(
+            List<TransactionListRequest> loaded, TransactionDTO... rows) {
+        return request -> {
+            loaded.add(request);
+            return Optional.of(new TransactionListResponse(request.merchantId(),
+                    new DateRangeDTO(request.startDate(), request.endDate()),
+                    new TransactionSummaryDTO((long) rows.length, BigDecimal.valueOf(rows.length), "USD",
+                            Map.of("completed", (long) rows.length)),
+                    List.of(rows),
+                    new PaginationDTO(0, 20, 1, (long) rows.length)));
+        };
+    }
+
+    private Function<TransactionListRequest, Optional<TransactionListResponse>> loader(int transactions) {
+        return request -> {
+            loadCount.incrementAndGet();
+            List<TransactionDTO> rows = new ArrayList<>();
+            for (int i = 0; i < transactions; i++) {
+                rows.add(new TransactionDTO((long) i, BigDecimal.ONE, "USD", "completed", Instant.EPOCH,
+                        "VISA", "4242", null, null,
+                        List.of(new TransactionDetailDTO((long) i, "fee", BigDecimal.ONE, null))));
+            }
+            return Optional.of(new TransactionListResponse(request.merchantId(), null, null, rows, null));
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
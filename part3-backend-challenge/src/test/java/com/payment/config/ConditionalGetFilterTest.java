@@ -0,0 +1,143 @@
+package com.payment.config;
+
+import com.payment.repository.MerchantRepository;
+import com.payment.repository.TransactionRepository;
+import com.payment.repository.TransactionRepository.PageVersion;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConditionalGetFilterTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+    private static final Duration CACHE_TTL = Duration.ofMinutes(5);
+
+    private MerchantRepository merchantRepository;
+    private TransactionRepository transactionRepository;
+    private ConditionalGetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        merchantRepository = mock(MerchantRepository.class);
+        transactionRepository = mock(TransactionRepository.class);
+        filter = filterAt(NOW);
+    }
+
+    @Test
+    void checkNotModified_WithCurrentMerchantVersion_Returns304() {
+        // Arrange
+        when(merchantRepository.findVersionById("m1")).thenReturn(Optional.of(3L));
+        MutableHttpRequest<?> request = HttpRequest.GET("/api/v1/merchants/m1").header(HttpHeaders.IF_NONE_MATCH, "\"m3\"");
+
+        // Act
+        MutableHttpResponse<?> response = filter.checkNotModified(request);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatus());
+        assertEquals("\"m3\"", response.getHeaders().get(HttpHeaders.ETAG));
+        assertEquals(ConditionalGetFilter.CACHE_CONTROL, response.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void checkNotModified_AfterMerchantUpdate_ProceedsAndTagsResponse() {
+        // Arrange
+        when(merchantRepository.findVersionById("m1")).thenReturn(Optional.of(4L));
+        MutableHttpRequest<?> request = HttpRequest.GET("/api/v1/merchants/m1").header(HttpHeaders.IF_NONE_MATCH, "\"m3\"");
+
+        // Act
+        MutableHttpResponse<?> notModified = filter.checkNotModified(request);
+        MutableHttpResponse<?> response = HttpResponse.ok("body");
+        filter.addValidators(request, response);
+
+        // Assert
+        assertNull(notModified);
+        assertEquals("\"m4\"", response.getHeaders().get(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void checkNotModified_ForTransactionPages_KeysOnDatabaseStateAndQuery() {
+        // Arrange
+        when(transactionRepository.findPageVersion("MCH-1")).thenReturn(new PageVersion(42, 40, 1000));
+
+        // Act
+        String firstPage = filter.resolveETag(HttpRequest.GET("/api/v1/transactions/MCH-1/transactions?page=1"));
+        String secondPage = filter.resolveETag(HttpRequest.GET("/api/v1/transactions/MCH-1/transactions?page=2"));
+        MutableHttpResponse<?> response = filter.checkNotModified(
+                HttpRequest.GET("/api/v1/transactions/MCH-1/transactions?page=1").header(HttpHeaders.IF_NONE_MATCH, firstPage));
+
+        // Assert
+        assertTrue(firstPage.startsWith("W/\"t42.40.1000."));
+        assertNotEquals(firstPage, secondPage);
+        assertNotNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatus());
+    }
+
+    @Test
+    void checkNotModified_AfterTransactionsChanged_Proceeds() {
+        // Arrange: a status update adds no txn_id, but reconciling it touches the watermark
+        when(transactionRepository.findPageVersion("MCH-1"))
+                .thenReturn(new PageVersion(42, 40, 1000), new PageVersion(42, 40, 2000));
+        String etag = filter.resolveETag(HttpRequest.GET("/api/v1/transactions/MCH-1/transactions?page=1"));
+
+        // Act
+        MutableHttpResponse<?> response = filter.checkNotModified(
+                HttpRequest.GET("/api/v1/transactions/MCH-1/transactions?page=1").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // Assert
+        assertNull(response);
+        verifyNoInteractions(merchantRepository);
+    }
+
+    @Test
+    void resolveETag_SameDatabaseState_MatchesAcrossInstancesUntilTheTtlWindowEnds() {
+        // Arrange
+        when(transactionRepository.findPageVersion("MCH-1")).thenReturn(new PageVersion(42, 40, 1000));
+        HttpRequest<?> request = HttpRequest.GET("/api/v1/transactions/MCH-1/transactions?page=1");
+
+        // Act
+        String here = filter.resolveETag(request);
+        String otherInstance = filterAt(NOW.plusSeconds(30)).resolveETag(request);
+        String nextWindow = filterAt(NOW.plus(CACHE_TTL)).resolveETag(request);
+
+        // Assert
+        assertEquals(here, otherInstance);
+        assertNotEquals(here, nextWindow);
+    }
+
+    @Test
+    void checkNotModified_ForUnknownMerchantOrWrites_DoesNothing() {
+        when(merchantRepository.findVersionById("missing")).thenReturn(Optional.empty());
+
+        assertNull(filter.checkNotModified(HttpRequest.GET("/api/v1/merchants/missing").header(HttpHeaders.IF_NONE_MATCH, "*")));
+        assertNull(filter.checkNotModified(HttpRequest.POST("/api/v1/merchants/search", "{}")));
+        verify(merchantRepository, never()).findVersionById("search");
+    }
+
+    @Test
+    void matches_ComparesWeaklyAcrossTagList() {
+        assertTrue(ConditionalGetFilter.matches("\"a\", W/\"b\"", "\"b\""));
+        assertTrue(ConditionalGetFilter.matches("\"b\"", "W/\"b\""));
+        assertFalse(ConditionalGetFilter.matches("\"a\"", "\"b\""));
+        assertFalse(ConditionalGetFilter.matches("", "\"b\""));
+    }
+
+    private ConditionalGetFilter filterAt(Instant now) {
+        return new ConditionalGetFilter(merchantRepository, transactionRepository,
+                new DatabaseConnectionLimiter(10, Duration.ofSeconds(1)), CACHE_TTL, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,99 @@
+package com.payment.config;
+
+import com.payment.exception.QueryTimeoutException;
+import io.micronaut.aop.MethodInvocationContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DatabaseConcurrencyInterceptorTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void intercept_UnderLimit_ProceedsAndReleasesPermit() {
+        // Arrange
+        DatabaseConnectionLimiter limiter = new DatabaseConnectionLimiter(2, Duration.ofMillis(50));
+        DatabaseConcurrencyInterceptor interceptor = new DatabaseConcurrencyInterceptor(limiter);
+        MethodInvocationContext<Object, Object> context = mock(MethodInvocationContext.class);
+        when(context.proceed()).thenReturn("ok");
+
+        // Act
+        Object result = interceptor.intercept(context);
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(2, limiter.availablePermits());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void intercept_WhenAllSlotsBusyPastQueueTimeout_ThrowsQueryTimeout() throws Exception {
+        // Arrange
+        DatabaseConnectionLimiter limiter = new DatabaseConnectionLimiter(1, Duration.ofMillis(50));
+        DatabaseConcurrencyInterceptor interceptor = new DatabaseConcurrencyInterceptor(limiter);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MethodInvocationContext<Object, Object> slow = mock(MethodInvocationContext.class);
+        when(slow.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "slow";
+        });
+        MethodInvocationContext<Object, Object> queued = mock(MethodInvocationContext.class);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Object> holder = executor.submit(() -> interceptor.intercept(slow));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            // Act & Assert
+            assertThrows(QueryTimeoutException.class, () -> interceptor.intercept(queued));
+            verify(queued, never()).proceed();
+
+            release.countDown();
+            assertEquals("slow", holder.get(5, TimeUnit.SECONDS));
+            assertEquals(1, limiter.availablePermits());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void intercept_WhenCallFails_StillReleasesPermit() {
+        // Arrange
+        DatabaseConnectionLimiter limiter = new DatabaseConnectionLimiter(1, Duration.ofMillis(50));
+        DatabaseConcurrencyInterceptor interceptor = new DatabaseConcurrencyInterceptor(limiter);
+        MethodInvocationContext<Object, Object> context = mock(MethodInvocationContext.class);
+        when(context.proceed()).thenThrow(new IllegalArgumentException("bad request"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> interceptor.intercept(context));
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void intercept_NestedOnHoldingThread_ReusesItsPermit() {
+        // Arrange: a bound call that looks up members on the same thread must not wait for a second permit
+        DatabaseConnectionLimiter limiter = new DatabaseConnectionLimiter(1, Duration.ofMillis(50));
+        DatabaseConcurrencyInterceptor interceptor = new DatabaseConcurrencyInterceptor(limiter);
+        MethodInvocationContext<Object, Object> context = mock(MethodInvocationContext.class);
+        when(context.proceed()).thenAnswer(invocation -> limiter.call(() -> "nested"));
+
+        // Act
+        Object result = interceptor.intercept(context);
+
+        // Assert
+        assertEquals("nested", result);
+        assertEquals(1, limiter.availablePermits());
+    }
+}
@@ -1,18 +1,28 @@
 package com.payment.controller;
 
 import com.payment.payload.*;
+import com.payment.usecase.ReactiveTransactionListUseCase;
+import com.payment.usecase.TransactionExportUseCase;
+import com.payment.usecase.TransactionIngestUseCase;
 import com.payment.usecase.TransactionListUseCase;
+import com.payment.usecase.TransactionSubmitUseCase;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -22,11 +32,20 @@ class TransactionControllerTest {
 
     private TransactionController transactionController;
     private TransactionListUseCase transactionListUseCase;
+    private ExecutorService requestExecutor;
 
     @BeforeEach
     void setUp() {
         transactionListUseCase = mock(TransactionListUseCase.class);
-        transactionController = new TransactionController(transactionListUseCase);
+        requestExecutor = Executors.newSingleThreadExecutor();
+        transactionController = new TransactionController(
+                transactionListUseCase, null, mock(TransactionExportUseCase.class), mock(TransactionIngestUseCase.class),
+                mock(TransactionSubmitUseCase.class), requestExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestExecutor.shutdownNow();
     }
 
     @Test
@@ -45,8 +64,9 @@ class TransactionControllerTest {
                 null,
                 null,
                 null,
+                null,
                 null
-        );
+        ).block();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatus());
@@ -82,8 +102,9 @@ class TransactionControllerTest {
                 10,
                 null,
                 null,
+                null,
                 null
-        );
+        ).block();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatus());
@@ -114,8 +135,9 @@ class TransactionControllerTest {
                 null,
                 startDateStr,
                 endDateStr,
+                null,
                 null
-        );
+        ).block();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatus());
@@ -147,8 +169,9 @@ class TransactionControllerTest {
                 null,
                 null,
                 null,
-                status
-        );
+                status,
+                null
+        ).block();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatus());
@@ -175,8 +198,9 @@ class TransactionControllerTest {
                 null,
                 null,
                 null,
+                null,
                 null
-        );
+        ).block();
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatus());
@@ -201,8 +225,9 @@ class TransactionControllerTest {
                 15,
                 startDateStr,
                 endDateStr,
-                status
-        );
+                status,
+                null
+        ).block();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatus());
@@ -219,6 +244,125 @@ class TransactionControllerTest {
         assertEquals(status, capturedRequest.status());
     }
 
+    @Test
+    void getTransactions_WhenReactivePathEnabled_UsesReactiveUseCase() {
+        // Arrange
+        String merchantId = "MCH-00001";
+        ReactiveTransactionListUseCase reactiveUseCase = mock(ReactiveTransactionListUseCase.class);
+        TransactionController controller = new TransactionController(
+                transactionListUseCase, reactiveUseCase, mock(TransactionExportUseCase.class), mock(TransactionIngestUseCase.class),
+                mock(TransactionSubmitUseCase.class), requestExecutor);
+        when(reactiveUseCase.execute(any(TransactionListRequest.class)))
+                .thenReturn(Optional.of(Mono.just(createMockResponse(merchantId))));
+
+        // Act
+        HttpResponse<TransactionListResponse> response = controller.getTransactions(
+                merchantId,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null
+        ).block();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertEquals(merchantId, response.body().merchantId());
+        verify(transactionListUseCase, never()).execute(any());
+    }
+
+    @Test
+    void exportTransactions_WithNdjsonFormat_StreamsWithNdjsonContentType() {
+        // Arrange
+        TransactionExportUseCase exportUseCase = mock(TransactionExportUseCase.class);
+        TransactionController controller = new TransactionController(
+                transactionListUseCase, null, exportUseCase, mock(TransactionIngestUseCase.class),
+                mock(TransactionSubmitUseCase.class), requestExecutor);
+        when(exportUseCase.execute(any(TransactionExportRequest.class)))
+                .thenReturn(Optional.of(Flux.just("{}\n".getBytes())));
+
+        // Act
+        HttpResponse<Flux<byte[]>> response = controller.exportTransactions(
+                "MCH-00001",
+                "ndjson",
+                "2025-11-01",
+                "2025-11-30",
+                null
+        );
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertEquals("application/x-ndjson", response.getContentType().orElseThrow().toString());
+        assertTrue(response.getHeaders().get(HttpHeaders.CONTENT_DISPOSITION).contains("MCH-00001-transactions.ndjson"));
+
+        ArgumentCaptor<TransactionExportRequest> captor = ArgumentCaptor.forClass(TransactionExportRequest.class);
+        verify(exportUseCase).execute(captor.capture());
+        assertEquals(ExportFormat.NDJSON, captor.getValue().format());
+        assertEquals(Instant.parse("2025-11-01T00:00:00Z"), captor.getValue().startDate());
+        assertEquals(Instant.parse("2025-11-30T23:59:59Z"), captor.getValue().endDate());
+    }
+
+    @Test
+    void exportTransactions_WithHeaderBreakingMerchantId_SanitizesFileName() {
+        // Arrange
+        TransactionExportUseCase exportUseCase = mock(TransactionExportUseCase.class);
+        TransactionController controller = new TransactionController(
+                transactionListUseCase, null, exportUseCase, mock(TransactionIngestUseCase.class),
+                mock(TransactionSubmitUseCase.class), requestExecutor);
+        when(exportUseCase.execute(any(TransactionExportRequest.class)))
+                .thenReturn(Optional.of(Flux.empty()));
+
+        // Act
+        HttpResponse<Flux<byte[]>> response = controller.exportTransactions(
+                "MCH\"; x=\r\nSet-Cookie: a=b",
+                "csv",
+                null,
+                null,
+                null
+        );
+
+        // Assert
+        assertEquals("attachment; filename=\"MCH___x___Set-Cookie__a_b-transactions.csv\"",
+                response.getHeaders().get(HttpHeaders.CONTENT_DISPOSITION));
+    }
+
+    @Test
+    void exportTransactions_WithUnknownFormat_ThrowsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> transactionController.exportTransactions(
+                "MCH-00001",
+                "xml",
+                null,
+                null,
+                null
+        ));
+    }
+
+    @Test
+    void submitTransaction_WithAckEnqueue_Returns202AndPassesAck() {
+        // Arrange
+        TransactionSubmitUseCase submitUseCase = mock(TransactionSubmitUseCase.class);
+        TransactionController controller = new TransactionController(
+                transactionListUseCase, null, mock(TransactionExportUseCase.class), mock(TransactionIngestUseCase.class),
+                submitUseCase, requestExecutor);
+        when(submitUseCase.execute(any(TransactionSubmitRequest.class)))
+                .thenReturn(Optional.of(Mono.just(TransactionBatchResult.queued(0, "ref-1"))));
+
+        // Act
+        HttpResponse<TransactionBatchResult> response = controller.submitTransaction(
+                new TransactionIngestPayload("ref-1", "MCH-00001", null, null, null, Instant.now(),
+                        new BigDecimal("10.00"), null, "completed", null, null, null, null, null),
+                "enqueue"
+        ).block();
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatus());
+        assertEquals(TransactionBatchResult.Status.QUEUED, response.body().status());
+        ArgumentCaptor<TransactionSubmitRequest> captor = ArgumentCaptor.forClass(TransactionSubmitRequest.class);
+        verify(submitUseCase).execute(captor.capture());
+        assertEquals(IngestAck.ENQUEUE, captor.getValue().ack());
+    }
+
     private TransactionListResponse createMockResponse(String merchantId) {
         // Create mock transaction detail
         TransactionDetailDTO detail = new TransactionDetailDTO(
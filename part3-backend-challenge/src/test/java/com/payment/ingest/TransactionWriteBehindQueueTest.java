@@ -0,0 +1,218 @@
+package com.payment.ingest;
+
+import com.payment.entity.TransactionMaster;
+import com.payment.event.TransactionsChangedEvent;
+import com.payment.exception.QueryTimeoutException;
+import com.payment.repository.TransactionIngestRepository;
+import com.payment.repository.TransactionIngestRepository.IngestOutcome;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TransactionWriteBehindQueueTest {
+
+    private TransactionIngestRepository transactionIngestRepository;
+    private ApplicationEventPublisher<TransactionsChangedEvent> eventPublisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        transactionIngestRepository = mock(TransactionIngestRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        // Every transaction is new unless a test says otherwise
+        AtomicLong nextTxnId = new AtomicLong(100);
+        when(transactionIngestRepository.insertAllSkippingDuplicates(anyList(), anyList())).thenAnswer(invocation -> {
+            List<TransactionMaster> masters = invocation.getArgument(0);
+            List<IngestOutcome> outcomes = new ArrayList<>();
+            masters.forEach(master -> outcomes.add(new IngestOutcome(nextTxnId.getAndIncrement(), true)));
+            return outcomes;
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WritesQueuedTransactionsAsOneGroup() {
+        // Arrange
+        TransactionWriteBehindQueue queue = queue(10, 10);
+        CompletableFuture<IngestOutcome> first = queue.enqueue(master("ref-1", "MCH-1"), List.of(), false);
+        CompletableFuture<IngestOutcome> second = queue.enqueue(master("ref-2", "MCH-2"), List.of(), false);
+        CompletableFuture<IngestOutcome> repeat = queue.enqueue(master("ref-1", "MCH-1"), List.of(), false);
+
+        // Act
+        int taken = queue.flush();
+
+        // Assert: the repeat is not sent twice and shares the first one's txn_id
+        assertEquals(3, taken);
+        ArgumentCaptor<List<TransactionMaster>> masters = ArgumentCaptor.forClass(List.class);
+        verify(transactionIngestRepository, times(1)).insertAllSkippingDuplicates(masters.capture(), anyList());
+        assertEquals(2, masters.getValue().size());
+        assertEquals(new IngestOutcome(100L, true), first.join());
+        assertEquals(new IngestOutcome(101L, true), second.join());
+        assertEquals(new IngestOutcome(100L, false), repeat.join());
+        verify(eventPublisher).publishEvent(new TransactionsChangedEvent(Set.of("MCH-1", "MCH-2")));
+        assertEquals(1, queue.stats().groups());
+        assertEquals(3, queue.stats().committed());
+    }
+
+    @Test
+    void enqueue_WhenFull_RejectsWithoutBlocking() {
+        // Arrange
+        TransactionWriteBehindQueue queue = queue(2, 10);
+        queue.enqueue(master("ref-1", "MCH-1"), List.of(), false);
+        queue.enqueue(master("ref-2", "MCH-1"), List.of(), false);
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> queue.enqueue(master("ref-3", "MCH-1"), List.of(), false));
+        assertEquals(1, queue.stats().rejected());
+        assertEquals(2, queue.stats().queued());
+    }
+
+    @Test
+    void flush_WhenGroupFails_FailsEveryTransactionInIt() {
+        // Arrange
+        when(transactionIngestRepository.insertAllSkippingDuplicates(anyList(), anyList()))
+                .thenThrow(new IllegalStateException("connection reset"));
+        TransactionWriteBehindQueue queue = queue(10, 10);
+        CompletableFuture<IngestOutcome> first = queue.enqueue(master("ref-1", "MCH-1"), List.of(), false);
+        CompletableFuture<IngestOutcome> second = queue.enqueue(master("ref-2", "MCH-1"), List.of(), true);
+
+        // Act
+        queue.flush();
+
+        // Assert: the second caller was already answered QUEUED, so it is counted separately
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(2, queue.stats().failed());
+        assertEquals(1, queue.stats().failedAcknowledged());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void flush_WhenGroupHasInvalidRow_FailsOnlyThatTransaction() {
+        // Arrange: the database rejects any statement that carries ref-3
+        when(transactionIngestRepository.insertAllSkippingDuplicates(anyList(), anyList())).thenAnswer(invocation -> {
+            List<TransactionMaster> masters = invocation.getArgument(0);
+            if (masters.stream().anyMatch(master -> master.getExternalRef().equals("ref-3"))) {
+                throw new IllegalStateException("insert failed",
+                        new SQLException("value too long for type character varying(10)", "22001"));
+            }
+            List<IngestOutcome> outcomes = new ArrayList<>();
+            masters.forEach(master -> outcomes.add(new IngestOutcome(1L, true)));
+            return outcomes;
+        });
+        TransactionWriteBehindQueue queue = queue(10, 10);
+        List<CompletableFuture<IngestOutcome>> futures = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            futures.add(queue.enqueue(master("ref-" + i, "MCH-1"), List.of(), true));
+        }
+
+        // Act
+        queue.flush();
+
+        // Assert
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i == 2, futures.get(i).isCompletedExceptionally(), "ref-" + (i + 1));
+            assertTrue(futures.get(i).isDone());
+        }
+        assertEquals(4, queue.stats().committed());
+        assertEquals(1, queue.stats().failed());
+        assertEquals(1, queue.stats().failedAcknowledged());
+    }
+
+    @Test
+    void committer_SplitsAtMaxRowsAndDrainsOnClose() throws Exception {
+        // Arrange
+        TransactionWriteBehindQueue queue = queue(10, 2);
+        List<CompletableFuture<IngestOutcome>> committed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            committed.add(queue.enqueue(master("ref-" + i, "MCH-1"), List.of(), false));
+        }
+
+        // Act
+        queue.start();
+        for (CompletableFuture<IngestOutcome> future : committed) {
+            assertTrue(future.get(5, TimeUnit.SECONDS).inserted());
+        }
+        queue.close();
+
+        // Assert
+        assertEquals(3, queue.stats().groups());
+        assertEquals(0, queue.stats().queued());
+        assertThrows(QueryTimeoutException.class, () -> queue.enqueue(master("ref-9", "MCH-1"), List.of(), false));
+    }
+
+    @Test
+    void close_WhileEnqueuing_LeavesNoFuturePending() throws Exception {
+        // Arrange
+        TransactionWriteBehindQueue queue = queue(100_000, 50);
+        queue.start();
+        List<CompletableFuture<IngestOutcome>> accepted = new CopyOnWriteArrayList<>();
+        CountDownLatch running = new CountDownLatch(4);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        for (int p = 0; p < 4; p++) {
+            int producer = p;
+            producers.submit(() -> {
+                running.countDown();
+                for (int i = 0; ; i++) {
+                    try {
+                        accepted.add(queue.enqueue(master("ref-" + producer + "-" + i, "MCH-1"), List.of(), false));
+                    } catch (QueryTimeoutException e) {
+                        return;
+                    }
+                }
+            });
+        }
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // Act
+        queue.close();
+        producers.shutdown();
+        assertTrue(producers.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Assert: every transaction that was accepted got written
+        assertFalse(accepted.isEmpty());
+        for (CompletableFuture<IngestOutcome> future : accepted) {
+            assertTrue(future.isDone());
+        }
+        assertEquals(accepted.size(), queue.stats().committed());
+        assertEquals(0, queue.stats().queued());
+    }
+
+    private TransactionWriteBehindQueue queue(int capacity, int maxRows) {
+        return new TransactionWriteBehindQueue(
+                transactionIngestRepository, eventPublisher, capacity, maxRows, Duration.ofMillis(50));
+    }
+
+    private TransactionMaster master(String externalRef, String merchantId) {
+        TransactionMaster master = new TransactionMaster();
+        master.setExternalRef(externalRef);
+        master.setMerchantId(merchantId);
+        master.setTxnDate(Date.valueOf("2025-11-18"));
+        master.setLocalTxnDateTime(Instant.parse("2025-11-18T14:32:15Z"));
+        master.setAmount(new BigDecimal("150.00"));
+        master.setCurrency("USD");
+        master.setStatus("completed");
+        return master;
+    }
+}
@@ -0,0 +1,78 @@
+package com.payment.job;
+
+import com.payment.job.PartitionMaintenanceJob.Granularity;
+import com.payment.repository.TransactionPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PartitionMaintenanceJobTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-11-15T10:00:00Z"), ZoneOffset.UTC);
+
+    private TransactionPartitionRepository transactionPartitionRepository;
+
+    @BeforeEach
+    void setUp() {
+        transactionPartitionRepository = mock(TransactionPartitionRepository.class);
+    }
+
+    @Test
+    void run_WhenTableNotPartitioned_DoesNothing() {
+        // Arrange
+        when(transactionPartitionRepository.isPartitioned()).thenReturn(false);
+        PartitionMaintenanceJob job = new PartitionMaintenanceJob(transactionPartitionRepository, Granularity.MONTHLY, 2, CLOCK);
+
+        // Act
+        List<String> created = job.run();
+
+        // Assert
+        assertTrue(created.isEmpty());
+        verify(transactionPartitionRepository, never()).createPartition(any(), any(), any());
+    }
+
+    @Test
+    void run_Monthly_CreatesOnlyMissingPartitions() {
+        // Arrange
+        when(transactionPartitionRepository.isPartitioned()).thenReturn(true);
+        when(transactionPartitionRepository.findPartitionNames()).thenReturn(Set.of("transaction_master_p202411"));
+        PartitionMaintenanceJob job = new PartitionMaintenanceJob(transactionPartitionRepository, Granularity.MONTHLY, 2, CLOCK);
+
+        // Act
+        List<String> created = job.run();
+
+        // Assert
+        assertEquals(List.of("transaction_master_p202412", "transaction_master_p202501"), created);
+        verify(transactionPartitionRepository).createPartition(
+                "transaction_master_p202412", LocalDate.of(2024, 12, 1), LocalDate.of(2025, 1, 1));
+        verify(transactionPartitionRepository).createPartition(
+                "transaction_master_p202501", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1));
+    }
+
+    @Test
+    void run_Daily_CreatesConsecutiveDays() {
+        // Arrange
+        when(transactionPartitionRepository.isPartitioned()).thenReturn(true);
+        when(transactionPartitionRepository.findPartitionNames()).thenReturn(Set.of());
+        PartitionMaintenanceJob job = new PartitionMaintenanceJob(transactionPartitionRepository, Granularity.DAILY, 1, CLOCK);
+
+        // Act
+        List<String> created = job.run();
+
+        // Assert
+        assertEquals(List.of("transaction_master_p20241115", "transaction_master_p20241116"), created);
+        verify(transactionPartitionRepository).createPartition(
+                "transaction_master_p20241116", LocalDate.of(2024, 11, 16), LocalDate.of(2024, 11, 17));
+    }
+}
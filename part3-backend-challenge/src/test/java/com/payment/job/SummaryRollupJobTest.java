@@ -0,0 +1,129 @@
+package com.payment.job;
+
+import com.payment.event.TransactionsChangedEvent;
+import com.payment.repository.TransactionSummaryRepository;
+import com.payment.repository.TransactionSummaryRepository.RollupProgress;
+import com.payment.repository.TransactionSummaryRepository.TxnIdHorizon;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SummaryRollupJobTest {
+
+    private TransactionSummaryRepository transactionSummaryRepository;
+    private ApplicationEventPublisher<TransactionsChangedEvent> eventPublisher;
+    private SummaryRollupJob job;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        transactionSummaryRepository = mock(TransactionSummaryRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        job = new SummaryRollupJob(transactionSummaryRepository, eventPublisher, 100L, 2,
+                Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void run_FirstTick_OnlyObservesHorizon() {
+        // Arrange
+        when(transactionSummaryRepository.advanceRollup(0L, 100L))
+                .thenReturn(new RollupProgress(0L, Set.of()));
+        when(transactionSummaryRepository.observeHorizon()).thenReturn(new TxnIdHorizon(250L, "900"));
+
+        // Act
+        long watermark = job.run();
+
+        // Assert
+        assertEquals(0L, watermark);
+        verify(transactionSummaryRepository, times(1)).advanceRollup(0L, 100L);
+        verify(transactionSummaryRepository, never()).isSettled(any());
+        verify(transactionSummaryRepository, never()).findMerchantIdsBetween(anyLong(), anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void run_SecondTick_AdvancesInChunksUpToSettledHorizon() {
+        // Arrange
+        TxnIdHorizon horizon = new TxnIdHorizon(250L, "900");
+        when(transactionSummaryRepository.advanceRollup(0L, 100L))
+                .thenReturn(new RollupProgress(0L, Set.of()));
+        when(transactionSummaryRepository.observeHorizon()).thenReturn(horizon, new TxnIdHorizon(300L, "950"));
+        when(transactionSummaryRepository.isSettled(horizon)).thenReturn(true);
+        job.run();
+        when(transactionSummaryRepository.advanceRollup(250L, 100L))
+                .thenReturn(new RollupProgress(100L, Set.of("MCH-00001")))
+                .thenReturn(new RollupProgress(200L, Set.of("MCH-00001")))
+                .thenReturn(new RollupProgress(250L, Set.of("MCH-00002")));
+
+        // Act
+        long watermark = job.run();
+
+        // Assert
+        assertEquals(250L, watermark);
+        verify(transactionSummaryRepository, times(3)).advanceRollup(250L, 100L);
+    }
+
+    @Test
+    void run_WhileHorizonUnsettled_KeepsUpperBoundAndHorizon() {
+        // Arrange: a transaction that was running at the horizon may still commit a lower txn_id
+        TxnIdHorizon horizon = new TxnIdHorizon(250L, "900");
+        when(transactionSummaryRepository.advanceRollup(0L, 100L))
+                .thenReturn(new RollupProgress(0L, Set.of()));
+        when(transactionSummaryRepository.observeHorizon()).thenReturn(horizon);
+        when(transactionSummaryRepository.isSettled(horizon)).thenReturn(false);
+        job.run();
+
+        // Act
+        long watermark = job.run();
+
+        // Assert
+        assertEquals(0L, watermark);
+        verify(transactionSummaryRepository, times(2)).advanceRollup(0L, 100L);
+        verify(transactionSummaryRepository, never()).advanceRollup(250L, 100L);
+        verify(transactionSummaryRepository, times(1)).observeHorizon();
+    }
+
+    @Test
+    void run_SecondTick_AnnouncesMerchantsWithNewOrRolledUpTransactions() {
+        // Arrange
+        TxnIdHorizon horizon = new TxnIdHorizon(50L, "900");
+        when(transactionSummaryRepository.advanceRollup(0L, 100L))
+                .thenReturn(new RollupProgress(0L, Set.of()));
+        when(transactionSummaryRepository.observeHorizon()).thenReturn(horizon, new TxnIdHorizon(80L, "950"));
+        when(transactionSummaryRepository.isSettled(horizon)).thenReturn(true);
+        job.run();
+        when(transactionSummaryRepository.advanceRollup(50L, 100L))
+                .thenReturn(new RollupProgress(50L, Set.of("MCH-00001")));
+        when(transactionSummaryRepository.findMerchantIdsBetween(50L, 80L)).thenReturn(Set.of("MCH-00002"));
+
+        // Act
+        job.run();
+
+        // Assert
+        verify(eventPublisher).publishEvent(new TransactionsChangedEvent(Set.of("MCH-00001", "MCH-00002")));
+    }
+
+    @Test
+    void reconcile_RecomputesRecentDaysAndAnnouncesCorrections() {
+        // Arrange
+        when(transactionSummaryRepository.reconcileDays(LocalDate.parse("2026-10-17"), LocalDate.parse("2026-10-19")))
+                .thenReturn(Set.of("MCH-00003"));
+
+        // Act
+        Set<String> changed = job.reconcile();
+
+        // Assert
+        assertEquals(Set.of("MCH-00003"), changed);
+        verify(eventPublisher).publishEvent(new TransactionsChangedEvent(Set.of("MCH-00003")));
+    }
+}
@@ -0,0 +1,149 @@
+package com.payment.search;
+
+import com.payment.entity.Merchant;
+import com.payment.repository.MerchantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MerchantSearchIndexTest {
+
+    private MerchantRepository merchantRepository;
+    private MerchantSearchIndex merchantSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        merchantRepository = mock(MerchantRepository.class);
+        merchantSearchIndex = new MerchantSearchIndex(merchantRepository);
+        when(merchantRepository.findAll()).thenReturn(List.of(
+                createMerchant("m1", "Acme Coffee", "orders@acme.io", "Acme Holdings"),
+                createMerchant("m2", "Blue Bottle", "hello@bluebottle.com", "Bottle Co"),
+                createMerchant("m3", "Coffee Corner", "owner@corner.cafe", "Corner Acme Ltd")
+        ));
+    }
+
+    @Test
+    void isWarm_BeforeFirstLoad_ReturnsFalse() {
+        assertFalse(merchantSearchIndex.isWarm());
+        assertThrows(IllegalStateException.class, () -> merchantSearchIndex.search("acme", null, null));
+    }
+
+    @Test
+    void search_WithInfixTerm_MatchesAcrossFields() {
+        // Arrange
+        merchantSearchIndex.refresh();
+
+        // Act
+        List<Merchant> results = merchantSearchIndex.search("OFFEE", null, null);
+
+        // Assert
+        assertEquals(List.of("m1", "m3"), ids(results));
+    }
+
+    @Test
+    void search_WithoutSort_RanksBySimilarityThenName() {
+        // Arrange
+        merchantSearchIndex.refresh();
+
+        // Act
+        List<Merchant> results = merchantSearchIndex.search("acme", null, null);
+        List<Merchant> tied = merchantSearchIndex.search("@", null, null);
+
+        // Assert: m3's shorter record shares a larger part of its trigrams with the term;
+        // a term without letters or digits scores zero everywhere, so the name order stands
+        assertEquals(List.of("m3", "m1"), ids(results));
+        assertEquals(List.of("m1", "m2", "m3"), ids(tied));
+    }
+
+    @Test
+    void similarity_MatchesPgTrgm() {
+        // Arrange
+        Set<Long> term = MerchantTrigramIndex.wordTrigrams("word");
+
+        // Act & Assert: values documented for PostgreSQL's similarity()
+        assertEquals(0.36363637f, MerchantTrigramIndex.similarity(term, "two words"));
+        assertEquals(1f, MerchantTrigramIndex.similarity(term, "word"));
+        assertEquals(0f, MerchantTrigramIndex.similarity(term, "- -"));
+    }
+
+    @Test
+    void search_WithShortTerm_ScansKeys() {
+        // Arrange
+        merchantSearchIndex.refresh();
+
+        // Act
+        List<Merchant> results = merchantSearchIndex.search("bl", null, null);
+
+        // Assert
+        assertEquals(List.of("m2"), ids(results));
+    }
+
+    @Test
+    void search_WithSortField_FollowsRequestedOrder() {
+        // Arrange
+        merchantSearchIndex.refresh();
+
+        // Act
+        List<Merchant> results = merchantSearchIndex.search("", "email", "DESC");
+
+        // Assert
+        assertEquals(List.of("m3", "m1", "m2"), ids(results));
+    }
+
+    @Test
+    void search_WithUnknownSortField_Throws() {
+        merchantSearchIndex.refresh();
+
+        assertThrows(IllegalArgumentException.class, () -> merchantSearchIndex.search("", "password", "ASC"));
+    }
+
+    @Test
+    void upsert_AfterEdit_ReplacesIndexedMerchant() {
+        // Arrange
+        merchantSearchIndex.refresh();
+        Merchant renamed = createMerchant("m2", "Green Bottle", "hello@greenbottle.com", "Bottle Co");
+
+        // Act
+        merchantSearchIndex.upsert(renamed);
+
+        // Assert
+        assertTrue(merchantSearchIndex.search("blue", null, null).isEmpty());
+        assertEquals(List.of("m2"), ids(merchantSearchIndex.search("green", null, null)));
+        assertEquals(3, merchantSearchIndex.size());
+    }
+
+    @Test
+    void upsert_PastOverlayLimit_RebuildsIndex() {
+        // Arrange
+        merchantSearchIndex.refresh();
+
+        // Act
+        for (int i = 0; i <= MerchantSearchIndex.OVERLAY_LIMIT; i++) {
+            merchantSearchIndex.upsert(createMerchant("n" + i, "Newco " + i, "n" + i + "@newco.io", "Newco"));
+        }
+
+        // Assert
+        assertEquals(MerchantSearchIndex.OVERLAY_LIMIT + 4, merchantSearchIndex.size());
+        assertEquals(List.of("n7"), ids(merchantSearchIndex.search("n7@", null, null)));
+        verify(merchantRepository, times(1)).findAll();
+    }
+
+    private List<String> ids(List<Merchant> merchants) {
+        return merchants.stream().map(Merchant::getId).toList();
+    }
+
+    private Merchant createMerchant(String id, String name, String email, String businessName) {
+        Merchant merchant = new Merchant();
+        merchant.setId(id);
+        merchant.setName(name);
+        merchant.setEmail(email);
+        merchant.setBusinessName(businessName);
+        merchant.setStatus("active");
+        return merchant;
+    }
+}
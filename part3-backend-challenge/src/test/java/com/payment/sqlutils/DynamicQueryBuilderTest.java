@@ -0,0 +1,339 @@
+package com.payment.sqlutils;
+
+import com.payment.search.SearchModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicQueryBuilderTest {
+
+    private static final String SQL = "SELECT * FROM operators.merchant WHERE 1=1 ";
+    private static final SortRegistry SORTS = new SortRegistry(
+            Map.of("id", "id", "name", "name", "businessName", "business_name"), "id", "name");
+    private static final SortRegistry COLLATED_SORTS = new SortRegistry(
+            Map.of("id", "id", "name", "name"), "id", "name", "C");
+
+    @Test
+    void getSearchModel_WithSearchAndNoSort_RanksBySimilarity() {
+        // Arrange
+        QueryCriteria criteria = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .field("search_text")
+                .value("Acme")
+                .startingIndex(20)
+                .pageSize(10)
+                .rankByRelevance(true)
+                .build();
+
+        // Act
+        SearchModel model = DynamicQueryBuilder.getSearchModel(criteria);
+
+        // Assert
+        assertEquals(SQL + " AND search_text ILIKE ? ORDER BY similarity(search_text, ?) DESC LIMIT ? OFFSET ?",
+                model.sqlQuery());
+        assertEquals(4, model.parameters().size());
+        assertEquals("%Acme%", model.parameters().get(1));
+        assertEquals("acme", model.parameters().get(2));
+        assertEquals(10, model.parameters().get(3));
+        assertEquals(20L, model.parameters().get(4));
+    }
+
+    @Test
+    void getSearchModel_RankedWithRegistry_OrdersEachRankByDefaultKeyLikeTheIndex() {
+        // Arrange
+        QueryCriteria criteria = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .field("search_text")
+                .value("  Acme ")
+                .pageSize(10)
+                .sortOrder("DESC")
+                .sortRegistry(COLLATED_SORTS)
+                .rankByRelevance(true)
+                .build();
+
+        // Act
+        SearchModel model = DynamicQueryBuilder.getSearchModel(criteria);
+
+        // Assert: the term is trimmed as MerchantSearchIndex trims it, and the direction is ignored
+        assertEquals(SQL + " AND search_text ILIKE ? ORDER BY similarity(search_text, ?) DESC,"
+                        + " lower(coalesce(name, '')) COLLATE \"C\", id COLLATE \"C\" LIMIT ? OFFSET ?",
+                model.sqlQuery());
+        assertEquals("%Acme%", model.parameters().get(1));
+        assertEquals("acme", model.parameters().get(2));
+    }
+
+    @Test
+    void getSearchModel_WithCollatedRegistry_OrdersAndSeeksInThatCollation() {
+        // Arrange
+        QueryCriteria sorted = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .pageSize(20)
+                .sortField("name")
+                .sortOrder("ASC")
+                .sortRegistry(COLLATED_SORTS)
+                .build();
+        QueryCriteria next = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .pageSize(20)
+                .sortField("name")
+                .sortOrder("ASC")
+                .sortRegistry(COLLATED_SORTS)
+                .after(new KeysetPosition("Émile", "m1"))
+                .build();
+
+        // Act
+        SearchModel sortedModel = DynamicQueryBuilder.getSearchModel(sorted);
+        SearchModel nextModel = DynamicQueryBuilder.getSearchModel(next);
+
+        // Assert
+        assertEquals(SQL + " ORDER BY name COLLATE \"C\" ASC, id COLLATE \"C\" ASC LIMIT ? OFFSET ?",
+                sortedModel.sqlQuery());
+        assertEquals(SQL + " AND ((name COLLATE \"C\", id COLLATE \"C\") > (?, ?) OR name IS NULL)"
+                        + " ORDER BY name COLLATE \"C\" ASC, id COLLATE \"C\" ASC LIMIT ?",
+                nextModel.sqlQuery());
+    }
+
+    @Test
+    void getSearchModel_WithExplicitSort_UsesWhitelistedColumn() {
+        // Arrange
+        QueryCriteria criteria = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .field("search_text")
+                .value("acme")
+                .sortField("businessName")
+                .sortOrder("desc")
+                .sortRegistry(SORTS)
+                .rankByRelevance(true)
+                .build();
+
+        // Act
+        SearchModel model = DynamicQueryBuilder.getSearchModel(criteria);
+
+        // Assert
+        assertEquals(SQL + " AND search_text ILIKE ? ORDER BY business_name DESC, id DESC", model.sqlQuery());
+        assertEquals(1, model.parameters().size());
+        assertEquals("%acme%", model.parameters().get(1));
+    }
+
+    @Test
+    void getSearchModel_WithUnknownSortField_Throws() {
+        // Arrange
+        QueryCriteria criteria = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .sortField("name; DROP TABLE operators.merchant")
+                .sortOrder("ASC")
+                .sortRegistry(SORTS)
+                .build();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> DynamicQueryBuilder.getSearchModel(criteria));
+    }
+
+    @Test
+    void getSearchModel_WithUnexpectedSortOrder_SortsAscending() {
+        // Arrange
+        QueryCriteria criteria = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .sortField("name")
+                .sortOrder("ASC, (SELECT 1)")
+                .sortRegistry(SORTS)
+                .build();
+
+        // Act
+        SearchModel model = DynamicQueryBuilder.getSearchModel(criteria);
+
+        // Assert
+        assertEquals(SQL + " ORDER BY name ASC, id ASC", model.sqlQuery());
+    }
+
+    @Test
+    void getSearchModel_SameShapeDifferentValues_ReusesSqlText() {
+        // Arrange
+        QueryCriteria first = QueryCriteriaBuilder.builder()
+                .sql(SQL).field("search_text").value("acme").startingIndex(0).pageSize(10).build();
+        QueryCriteria second = QueryCriteriaBuilder.builder()
+                .sql(SQL).field("search_text").value("blue").startingIndex(40).pageSize(20).build();
+
+        // Act
+        SearchModel firstModel = DynamicQueryBuilder.getSearchModel(first);
+        int shapes = DynamicQueryBuilder.cachedShapes();
+        SearchModel secondModel = DynamicQueryBuilder.getSearchModel(second);
+
+        // Assert
+        assertSame(firstModel.sqlQuery(), secondModel.sqlQuery());
+        assertEquals(shapes, DynamicQueryBuilder.cachedShapes());
+    }
+
+    @Test
+    void getSearchModel_WithLikeWildcards_EscapesThem() {
+        // Arrange
+        QueryCriteria criteria = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .field("search_text")
+                .value("50%_off")
+                .build();
+
+        // Act
+        SearchModel model = DynamicQueryBuilder.getSearchModel(criteria);
+
+        // Assert
+        assertEquals("%50\\%\\_off%", model.parameters().get(1));
+    }
+
+    @Test
+    void getSearchModel_WithoutSearchValue_AddsNoFilter() {
+        // Arrange
+        QueryCriteria criteria = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .rankByRelevance(true)
+                .build();
+
+        // Act
+        SearchModel model = DynamicQueryBuilder.getSearchModel(criteria);
+
+        // Assert
+        assertEquals(SQL, model.sqlQuery());
+        assertEquals(0, model.parameters().size());
+    }
+
+    @Test
+    void getSearchModel_WithTotalCount_AddsWindowColumnBeforePaging() {
+        // Arrange
+        QueryCriteria criteria = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .field("search_text")
+                .value("acme")
+                .startingIndex(0)
+                .pageSize(20)
+                .sortField("name")
+                .sortOrder("ASC")
+                .sortRegistry(SORTS)
+                .withTotalCount(true)
+                .build();
+
+        // Act
+        SearchModel model = DynamicQueryBuilder.getSearchModel(criteria);
+
+        // Assert
+        assertEquals("SELECT count(*) OVER() AS total_count, * FROM operators.merchant WHERE 1=1 "
+                        + " AND search_text ILIKE ? ORDER BY name ASC, id ASC LIMIT ? OFFSET ?",
+                model.sqlQuery());
+    }
+
+    @Test
+    void getSearchModel_WithRegistryAndNoSort_UsesDefaultKeyAndTiebreaker() {
+        // Arrange
+        QueryCriteria criteria = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .startingIndex(0)
+                .pageSize(20)
+                .sortRegistry(SORTS)
+                .build();
+
+        // Act
+        SearchModel model = DynamicQueryBuilder.getSearchModel(criteria);
+
+        // Assert
+        assertEquals(SQL + " ORDER BY name ASC, id ASC LIMIT ? OFFSET ?", model.sqlQuery());
+    }
+
+    @Test
+    void getSearchModel_WithKeysetPosition_SeeksPastItWithoutOffset() {
+        // Arrange
+        QueryCriteria criteria = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .field("search_text")
+                .value("acme")
+                .pageSize(21)
+                .sortField("name")
+                .sortOrder("DESC")
+                .sortRegistry(SORTS)
+                .after(new KeysetPosition("Acme Coffee", "m1"))
+                .rankByRelevance(true)
+                .build();
+
+        // Act
+        SearchModel model = DynamicQueryBuilder.getSearchModel(criteria);
+
+        // Assert
+        assertEquals(SQL + " AND search_text ILIKE ? AND (name, id) < (?, ?) ORDER BY name DESC, id DESC LIMIT ?",
+                model.sqlQuery());
+        assertEquals(4, model.parameters().size());
+        assertEquals("Acme Coffee", model.parameters().get(2));
+        assertEquals("m1", model.parameters().get(3));
+        assertEquals(21, model.parameters().get(4));
+    }
+
+    @Test
+    void getSearchModel_WithRegistryNoSortAndDescending_MatchesCursorDirection() {
+        // Arrange: page 1 without a sort field, page 2 from the cursor it issued for the default key
+        QueryCriteria first = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .pageSize(20)
+                .sortOrder("DESC")
+                .sortRegistry(SORTS)
+                .build();
+        QueryCriteria next = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .pageSize(21)
+                .sortField("name")
+                .sortOrder("DESC")
+                .sortRegistry(SORTS)
+                .after(new KeysetPosition("Delta", "m5"))
+                .build();
+
+        // Act
+        SearchModel firstModel = DynamicQueryBuilder.getSearchModel(first);
+        SearchModel nextModel = DynamicQueryBuilder.getSearchModel(next);
+
+        // Assert
+        assertEquals(SQL + " ORDER BY name DESC, id DESC LIMIT ? OFFSET ?", firstModel.sqlQuery());
+        assertEquals(SQL + " AND (name, id) < (?, ?) ORDER BY name DESC, id DESC LIMIT ?", nextModel.sqlQuery());
+    }
+
+    @Test
+    void getSearchModel_WithNullableSortColumn_KeepsNullRowsInKeyset() {
+        // Arrange
+        QueryCriteria beforeNulls = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .pageSize(21)
+                .sortField("name")
+                .sortOrder("ASC")
+                .sortRegistry(SORTS)
+                .after(new KeysetPosition("Bravo", "m3"))
+                .build();
+        QueryCriteria amongNulls = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .pageSize(21)
+                .sortField("name")
+                .sortOrder("ASC")
+                .sortRegistry(SORTS)
+                .after(new KeysetPosition(null, "m2"))
+                .build();
+        QueryCriteria amongNullsDescending = QueryCriteriaBuilder.builder()
+                .sql(SQL)
+                .pageSize(21)
+                .sortField("name")
+                .sortOrder("DESC")
+                .sortRegistry(SORTS)
+                .after(new KeysetPosition(null, "m4"))
+                .build();
+
+        // Act
+        SearchModel beforeNullsModel = DynamicQueryBuilder.getSearchModel(beforeNulls);
+        SearchModel amongNullsModel = DynamicQueryBuilder.getSearchModel(amongNulls);
+        SearchModel amongNullsDescendingModel = DynamicQueryBuilder.getSearchModel(amongNullsDescending);
+
+        // Assert: NULLs sort last ascending and first descending
+        assertEquals(SQL + " AND ((name, id) > (?, ?) OR name IS NULL) ORDER BY name ASC, id ASC LIMIT ?",
+                beforeNullsModel.sqlQuery());
+        assertEquals(SQL + " AND (name IS NULL AND id > ?) ORDER BY name ASC, id ASC LIMIT ?",
+                amongNullsModel.sqlQuery());
+        assertEquals(2, amongNullsModel.parameters().size());
+        assertEquals("m2", amongNullsModel.parameters().get(1));
+        assertEquals(SQL + " AND (name IS NOT NULL OR id < ?) ORDER BY name DESC, id DESC LIMIT ?",
+                amongNullsDescendingModel.sqlQuery());
+    }
+}
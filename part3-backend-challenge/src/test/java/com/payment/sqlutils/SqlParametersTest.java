@@ -0,0 +1,39 @@
+package com.payment.sqlutils;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SqlParametersTest {
+
+    @Test
+    void bindTo_UsesTypedSettersInOrder() throws SQLException {
+        // Arrange
+        PreparedStatement statement = mock(PreparedStatement.class);
+        SqlParameters parameters = new SqlParameters(1)
+                .addString("%acme%")
+                .addInt(20)
+                .addLong(40L);
+
+        // Act
+        parameters.bindTo(statement);
+
+        // Assert
+        verify(statement).setString(1, "%acme%");
+        verify(statement).setInt(2, 20);
+        verify(statement).setLong(3, 40L);
+        verifyNoMoreInteractions(statement);
+    }
+
+    @Test
+    void get_OutsideBoundParameters_Throws() {
+        SqlParameters parameters = new SqlParameters().addString("x");
+
+        assertEquals("x", parameters.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> parameters.get(2));
+    }
+}
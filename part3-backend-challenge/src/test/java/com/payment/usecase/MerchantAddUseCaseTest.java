@@ -0,0 +1,95 @@
+package com.payment.usecase;
+
+import com.payment.entity.Merchant;
+import com.payment.payload.merchants.MerchantAddPayload;
+import com.payment.payload.merchants.MerchantAddResponse;
+import com.payment.repository.MerchantRepository;
+import com.payment.search.MerchantSearchIndex;
+import io.micronaut.data.exceptions.DataAccessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MerchantAddUseCaseTest {
+
+    private MerchantRepository merchantRepository;
+    private MerchantSearchIndex merchantSearchIndex;
+    private MerchantAddUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        merchantRepository = mock(MerchantRepository.class);
+        merchantSearchIndex = mock(MerchantSearchIndex.class);
+        useCase = new MerchantAddUseCase(merchantRepository, merchantSearchIndex);
+    }
+
+    @Test
+    void execute_WithNewEmail_SavesWithoutLoadingMerchants() {
+        // Arrange
+        when(merchantRepository.existsByEmailIgnoreCase("new@acme.io")).thenReturn(false);
+        when(merchantRepository.save(any(Merchant.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Optional<MerchantAddResponse> response = useCase.execute(createPayload("new@acme.io"));
+
+        // Assert
+        assertTrue(response.isPresent());
+        verify(merchantRepository).existsByEmailIgnoreCase("new@acme.io");
+        verify(merchantRepository, never()).findAll();
+        verify(merchantSearchIndex).upsert(any(Merchant.class));
+    }
+
+    @Test
+    void execute_WithExistingEmail_ThrowsIllegalArgument() {
+        // Arrange
+        when(merchantRepository.existsByEmailIgnoreCase("taken@acme.io")).thenReturn(true);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> useCase.execute(createPayload("taken@acme.io")));
+        assertEquals("Merchant email already exists", exception.getMessage());
+        verify(merchantRepository, never()).save(any(Merchant.class));
+    }
+
+    @Test
+    void execute_WhenConcurrentAddWinsUniqueIndex_ThrowsIllegalArgument() {
+        // Arrange
+        when(merchantRepository.existsByEmailIgnoreCase("race@acme.io")).thenReturn(false);
+        when(merchantRepository.save(any(Merchant.class))).thenThrow(new DataAccessException(
+                "insert failed", new SQLException("duplicate key value", "23505")));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> useCase.execute(createPayload("race@acme.io")));
+        assertEquals("Merchant email already exists", exception.getMessage());
+        verify(merchantSearchIndex, never()).upsert(any(Merchant.class));
+    }
+
+    @Test
+    void execute_WhenSaveFailsOtherwise_Rethrows() {
+        // Arrange
+        when(merchantRepository.existsByEmailIgnoreCase("down@acme.io")).thenReturn(false);
+        when(merchantRepository.save(any(Merchant.class))).thenThrow(new DataAccessException(
+                "insert failed", new SQLException("connection refused", "08001")));
+
+        // Act & Assert
+        assertThrows(DataAccessException.class, () -> useCase.execute(createPayload("down@acme.io")));
+    }
+
+    private MerchantAddPayload createPayload(String email) {
+        MerchantAddPayload payload = new MerchantAddPayload();
+        payload.setName("Acme Coffee");
+        payload.setEmail(email);
+        payload.setPhone("+1-555-0100");
+        payload.setStatus("active");
+        payload.setAddress("1 Main St");
+        payload.setBusinessName("Acme Holdings");
+        return payload;
+    }
+}
@@ -0,0 +1,220 @@
+package com.payment.usecase;
+
+import com.payment.config.DatabaseConnectionLimiter;
+import com.payment.entity.Merchant;
+import com.payment.payload.merchants.MerchantImportFormat;
+import com.payment.payload.merchants.MerchantImportRequest;
+import com.payment.payload.merchants.MerchantImportResponse;
+import com.payment.payload.merchants.MerchantImportRowResult;
+import com.payment.payload.merchants.MerchantImportRowResult.Status;
+import com.payment.repository.MerchantRepositoryImpl;
+import com.payment.search.MerchantSearchIndex;
+import io.micronaut.serde.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class MerchantImportUseCaseTest {
+
+    private static final String CSV_HEADER = "name,email,phone,status,address,business_name\n";
+
+    private MerchantRepositoryImpl merchantRepositoryImpl;
+    private MerchantSearchIndex merchantSearchIndex;
+    private DatabaseConnectionLimiter databaseConnectionLimiter;
+
+    @BeforeEach
+    void setUp() {
+        databaseConnectionLimiter = new DatabaseConnectionLimiter(1, Duration.ofMillis(50));
+        merchantRepositoryImpl = mock(MerchantRepositoryImpl.class);
+        merchantSearchIndex = mock(MerchantSearchIndex.class);
+        // Every row is inserted unless a test says otherwise
+        when(merchantRepositoryImpl.insertAllSkippingDuplicates(anyList())).thenAnswer(invocation -> {
+            List<Merchant> merchants = invocation.getArgument(0);
+            return merchants.stream().map(Merchant::getId).collect(Collectors.toSet());
+        });
+    }
+
+    @Test
+    void execute_WithCsv_ParsesQuotedFieldsAndReportsEveryRow() {
+        // Arrange
+        String csv = CSV_HEADER
+                + "Acme Coffee,orders@acme.io,+1-555-0100,active,\"1 Main St, Springfield\",\"Acme \"\"Holdings\"\"\"\r\n"
+                + "\n"
+                + "Blue Bottle,,+1-555-0101,active,2 Main St,Bottle Co\n"
+                + "Corner,owner@corner.cafe,+1-555-0102\n";
+
+        // Act
+        MerchantImportResponse response = execute(csv, MerchantImportFormat.CSV, 1000);
+
+        // Assert
+        assertEquals(3, response.totalRows());
+        assertEquals(1, response.imported());
+        assertEquals(2, response.rejected());
+        MerchantImportRowResult first = response.rows().get(0);
+        assertEquals(Status.IMPORTED, first.status());
+        assertNotNull(first.id());
+        assertEquals(new MerchantImportRowResult(2, Status.INVALID, null, "", "Email is required"), response.rows().get(1));
+        assertEquals(Status.INVALID, response.rows().get(2).status());
+        assertEquals("Expected 6 columns but found 3", response.rows().get(2).message());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Merchant>> captor = ArgumentCaptor.forClass(List.class);
+        verify(merchantRepositoryImpl).insertAllSkippingDuplicates(captor.capture());
+        Merchant inserted = captor.getValue().get(0);
+        assertEquals("1 Main St, Springfield", inserted.getAddress());
+        assertEquals("Acme \"Holdings\"", inserted.getBusinessName());
+    }
+
+    @Test
+    void execute_WithCsvMissingRequiredColumn_ThrowsIllegalArgument() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> execute("name,email,phone,status,address\n", MerchantImportFormat.CSV, 1000));
+        assertEquals("CSV header is missing column businessname", exception.getMessage());
+        verifyNoInteractions(merchantRepositoryImpl);
+    }
+
+    @Test
+    void execute_WithNdjson_RejectsMalformedLinesAndRepeatedEmails() {
+        // Arrange
+        String ndjson = ndjson("a@acme.io") + "\n"
+                + "{not json\n"
+                + ndjson("A@ACME.IO") + "\n";
+
+        // Act
+        MerchantImportResponse response = execute(ndjson, MerchantImportFormat.NDJSON, 1000);
+
+        // Assert
+        assertEquals(List.of(Status.IMPORTED, Status.INVALID, Status.DUPLICATE),
+                response.rows().stream().map(MerchantImportRowResult::status).toList());
+        assertEquals("Malformed JSON row", response.rows().get(1).message());
+        assertEquals("Duplicate email in import file", response.rows().get(2).message());
+    }
+
+    @Test
+    void execute_WhenEmailAlreadyStored_ReportsDuplicateAndIndexesOnlyInserted() {
+        // Arrange
+        when(merchantRepositoryImpl.insertAllSkippingDuplicates(anyList())).thenAnswer(invocation -> {
+            List<Merchant> merchants = invocation.getArgument(0);
+            return Set.of(merchants.get(0).getId());
+        });
+
+        // Act
+        MerchantImportResponse response = execute(
+                ndjson("new@acme.io") + "\n" + ndjson("taken@acme.io") + "\n", MerchantImportFormat.NDJSON, 1000);
+
+        // Assert
+        assertEquals(1, response.imported());
+        assertEquals(Status.DUPLICATE, response.rows().get(1).status());
+        assertEquals("Merchant email already exists", response.rows().get(1).message());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Merchant>> captor = ArgumentCaptor.forClass(List.class);
+        verify(merchantSearchIndex).upsertAll(captor.capture());
+        assertEquals(List.of("new@acme.io"), captor.getValue().stream().map(Merchant::getEmail).toList());
+    }
+
+    @Test
+    void execute_WithMoreRowsThanBatchSize_InsertsInBatchesAndKeepsFileOrder() {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            ndjson.append(ndjson("m" + i + "@acme.io")).append('\n');
+        }
+        ndjson.append("{\"name\":\"No email\"}\n");
+
+        // Act
+        MerchantImportResponse response = execute(ndjson.toString(), MerchantImportFormat.NDJSON, 2);
+
+        // Assert
+        verify(merchantRepositoryImpl, times(3)).insertAllSkippingDuplicates(anyList());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), response.rows().stream().map(MerchantImportRowResult::row).toList());
+        assertEquals(5, response.imported());
+        assertEquals(Status.INVALID, response.rows().get(5).status());
+    }
+
+    @Test
+    void execute_WithOversizedField_ReportsThatRowInvalidAndImportsTheRest() {
+        // Arrange
+        String csv = CSV_HEADER
+                + "Acme Coffee,orders@acme.io,+1-555-0100,active,1 Main St,Acme Holdings\n"
+                + "Blue Bottle,hello@bottle.io," + "5".repeat(51) + ",active,2 Main St,Bottle Co\n"
+                + "Corner,owner@corner.cafe,+1-555-0102,temporarily-suspended-pending,3 Main St,Corner Ltd\n";
+
+        // Act
+        MerchantImportResponse response = execute(csv, MerchantImportFormat.CSV, 1000);
+
+        // Assert
+        assertEquals(1, response.imported());
+        assertEquals(2, response.rejected());
+        assertEquals(Status.INVALID, response.rows().get(1).status());
+        assertEquals("Phone must be at most 50 characters", response.rows().get(1).message());
+        assertEquals("Status must be at most 20 characters", response.rows().get(2).message());
+    }
+
+    @Test
+    void execute_WhenBatchFails_ReportsItsRowsFailedAndImportsTheOtherBatches() {
+        // Arrange: batches of two, the first one fails
+        when(merchantRepositoryImpl.insertAllSkippingDuplicates(anyList()))
+                .thenThrow(new IllegalStateException("value too long"))
+                .thenAnswer(invocation -> {
+                    List<Merchant> merchants = invocation.getArgument(0);
+                    return merchants.stream().map(Merchant::getId).collect(Collectors.toSet());
+                });
+        String body = ndjson("m1@acme.io") + "\n" + ndjson("m2@acme.io") + "\n" + ndjson("m3@acme.io") + "\n";
+
+        // Act
+        MerchantImportResponse response = execute(body, MerchantImportFormat.NDJSON, 2);
+
+        // Assert
+        assertEquals(3, response.totalRows());
+        assertEquals(1, response.imported());
+        assertEquals(2, response.failed());
+        assertEquals(0, response.rejected());
+        assertEquals(List.of(Status.FAILED, Status.FAILED, Status.IMPORTED),
+                response.rows().stream().map(MerchantImportRowResult::status).toList());
+    }
+
+    @Test
+    void execute_HoldsADatabasePermitOnlyWhileABatchIsInserted() {
+        // Arrange
+        List<Integer> permitsDuringInsert = new ArrayList<>();
+        when(merchantRepositoryImpl.insertAllSkippingDuplicates(anyList())).thenAnswer(invocation -> {
+            permitsDuringInsert.add(databaseConnectionLimiter.availablePermits());
+            List<Merchant> merchants = invocation.getArgument(0);
+            return merchants.stream().map(Merchant::getId).collect(Collectors.toSet());
+        });
+        String body = ndjson("a@acme.io") + "\n" + ndjson("b@acme.io") + "\n" + ndjson("c@acme.io") + "\n";
+
+        // Act
+        MerchantImportResponse response = execute(body, MerchantImportFormat.NDJSON, 2);
+
+        // Assert: one permit per batch, none left held afterwards
+        assertEquals(3, response.imported());
+        assertEquals(List.of(0, 0), permitsDuringInsert);
+        assertEquals(1, databaseConnectionLimiter.availablePermits());
+    }
+
+    private MerchantImportResponse execute(String body, MerchantImportFormat format, int batchSize) {
+        MerchantImportUseCase useCase = new MerchantImportUseCase(
+                merchantRepositoryImpl, merchantSearchIndex, databaseConnectionLimiter, ObjectMapper.getDefault(), batchSize);
+        MerchantImportRequest request = new MerchantImportRequest(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+        return useCase.execute(request).orElseThrow();
+    }
+
+    private String ndjson(String email) {
+        return "{\"name\":\"Acme Coffee\",\"email\":\"" + email + "\",\"phone\":\"+1-555-0100\","
+                + "\"status\":\"active\",\"address\":\"1 Main St\",\"businessName\":\"Acme Holdings\"}";
+    }
+}
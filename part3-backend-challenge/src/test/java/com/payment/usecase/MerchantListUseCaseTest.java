@@ -0,0 +1,189 @@
+package com.payment.usecase;
+
+import com.payment.config.DatabaseConnectionLimiter;
+import com.payment.entity.Merchant;
+import com.payment.exception.QueryTimeoutException;
+import com.payment.payload.MerchantCursor;
+import com.payment.payload.SearchRequestPayload;
+import com.payment.payload.SearchResponse;
+import com.payment.repository.MerchantRepository;
+import com.payment.repository.MerchantRepositoryImpl;
+import com.payment.repository.MerchantSearchPage;
+import com.payment.search.MerchantSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MerchantListUseCaseTest {
+
+    private MerchantRepositoryImpl merchantRepositoryImpl;
+    private MerchantSearchIndex merchantSearchIndex;
+    private MerchantListUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        MerchantRepository merchantRepository = mock(MerchantRepository.class);
+        when(merchantRepository.findAll()).thenReturn(List.of(
+                createMerchant("m1", "Acme"),
+                createMerchant("m2", "Bravo"),
+                createMerchant("m3", "Bravo"),
+                createMerchant("m4", "Charlie"),
+                createMerchant("m5", "Delta")
+        ));
+        merchantRepositoryImpl = mock(MerchantRepositoryImpl.class);
+        merchantSearchIndex = new MerchantSearchIndex(merchantRepository);
+        useCase = new MerchantListUseCase(merchantRepositoryImpl, merchantSearchIndex,
+                new DatabaseConnectionLimiter(10, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void execute_FollowingCursors_WalksWholeListOnce() {
+        // Arrange
+        merchantSearchIndex.refresh();
+        SearchRequestPayload first = new SearchRequestPayload(1, 2, "name", "ASC", null, null);
+
+        // Act
+        SearchResponse<Merchant> page1 = useCase.execute(first).orElseThrow();
+        SearchResponse<Merchant> page2 = useCase.execute(
+                new SearchRequestPayload(0, 2, "name", "ASC", null, page1.nextCursor())).orElseThrow();
+        SearchResponse<Merchant> page3 = useCase.execute(
+                new SearchRequestPayload(0, 2, "name", "ASC", null, page2.nextCursor())).orElseThrow();
+
+        // Assert: ties on name are broken by id
+        assertEquals(List.of("m1", "m2"), ids(page1));
+        assertEquals(List.of("m3", "m4"), ids(page2));
+        assertEquals(List.of("m5"), ids(page3));
+        assertNull(page3.nextCursor());
+        verifyNoInteractions(merchantRepositoryImpl);
+    }
+
+    @Test
+    void execute_WithCursorForOtherSort_ThrowsIllegalArgument() {
+        // Arrange
+        merchantSearchIndex.refresh();
+        String cursor = new MerchantCursor("name", false, "m2", "Bravo").encode();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(
+                new SearchRequestPayload(0, 2, "email", "ASC", null, cursor)));
+    }
+
+    @Test
+    void execute_WithUnindexedSortField_ThrowsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(
+                new SearchRequestPayload(1, 2, "address", "ASC", null, null)));
+    }
+
+    @Test
+    void execute_WithRelevanceOrder_ReturnsNoCursor() {
+        // Arrange
+        merchantSearchIndex.refresh();
+
+        // Act
+        SearchResponse<Merchant> response = useCase.execute(
+                new SearchRequestPayload(1, 1, null, null, "bravo", null)).orElseThrow();
+
+        // Assert
+        assertEquals(2, response.totalRecord());
+        assertNull(response.nextCursor());
+    }
+
+    @Test
+    void execute_WhenIndexColdWithCursor_SeeksInDatabase() {
+        // Arrange
+        String cursor = new MerchantCursor("name", false, "m2", "Bravo").encode();
+        SearchRequestPayload payload = new SearchRequestPayload(0, 2, "name", "ASC", null, cursor);
+        when(merchantRepositoryImpl.dynamicSearchAfter(any(), any()))
+                .thenReturn(new MerchantSearchPage(-1, List.of(createMerchant("m3", "Bravo"), createMerchant("m4", "Charlie")), true));
+
+        // Act
+        SearchResponse<Merchant> response = useCase.execute(payload).orElseThrow();
+
+        // Assert
+        assertEquals(List.of("m3", "m4"), ids(response));
+        assertEquals(-1, response.totalRecord());
+        assertEquals(new MerchantCursor("name", false, "m4", "Charlie"), MerchantCursor.decode(response.nextCursor()));
+        verify(merchantRepositoryImpl, never()).dynamicSearchWithCount(any());
+    }
+
+    @Test
+    void execute_WithNoDatabasePermitFree_AnswersOnlyFromWarmIndex() {
+        // Arrange
+        DatabaseConnectionLimiter exhausted = new DatabaseConnectionLimiter(0, Duration.ofMillis(50));
+        MerchantListUseCase coldUseCase = new MerchantListUseCase(
+                merchantRepositoryImpl, new MerchantSearchIndex(mock(MerchantRepository.class)), exhausted);
+        merchantSearchIndex.refresh();
+        MerchantListUseCase warmUseCase = new MerchantListUseCase(merchantRepositoryImpl, merchantSearchIndex, exhausted);
+        SearchRequestPayload payload = new SearchRequestPayload(1, 2, "name", "ASC", null, null);
+
+        // Act & Assert
+        assertEquals(List.of("m1", "m2"), ids(warmUseCase.execute(payload).orElseThrow()));
+        assertThrows(QueryTimeoutException.class, () -> coldUseCase.execute(payload));
+        verify(merchantRepositoryImpl, never()).dynamicSearchWithCount(any());
+    }
+
+    @Test
+    void execute_WithDefaultSortDescending_SecondPageContinuesDownward() {
+        // Arrange
+        merchantSearchIndex.refresh();
+
+        // Act
+        SearchResponse<Merchant> page1 = useCase.execute(
+                new SearchRequestPayload(1, 2, null, "DESC", null, null)).orElseThrow();
+        SearchResponse<Merchant> page2 = useCase.execute(
+                new SearchRequestPayload(0, 2, null, "DESC", null, page1.nextCursor())).orElseThrow();
+
+        // Assert
+        assertEquals(List.of("m5", "m4"), ids(page1));
+        assertEquals(List.of("m3", "m2"), ids(page2));
+        assertTrue(MerchantCursor.decode(page1.nextCursor()).descending());
+    }
+
+    @Test
+    void execute_WithNullNamesAcrossPageBoundary_PagesThemLast() {
+        // Arrange
+        MerchantRepository merchantRepository = mock(MerchantRepository.class);
+        when(merchantRepository.findAll()).thenReturn(List.of(
+                createMerchant("m1", "Acme"),
+                createMerchant("m2", null),
+                createMerchant("m3", "Bravo"),
+                createMerchant("m4", null)
+        ));
+        MerchantSearchIndex index = new MerchantSearchIndex(merchantRepository);
+        index.refresh();
+        MerchantListUseCase withNulls = new MerchantListUseCase(merchantRepositoryImpl, index,
+                new DatabaseConnectionLimiter(10, Duration.ofSeconds(1)));
+
+        // Act
+        SearchResponse<Merchant> page1 = withNulls.execute(
+                new SearchRequestPayload(1, 3, "name", "ASC", null, null)).orElseThrow();
+        SearchResponse<Merchant> page2 = withNulls.execute(
+                new SearchRequestPayload(0, 3, "name", "ASC", null, page1.nextCursor())).orElseThrow();
+
+        // Assert: the cursor carries the NULL name rather than the text "null"
+        assertEquals(List.of("m1", "m3", "m2"), ids(page1));
+        assertNull(MerchantCursor.decode(page1.nextCursor()).sortValue());
+        assertEquals(List.of("m4"), ids(page2));
+        assertNull(page2.nextCursor());
+    }
+
+    private List<String> ids(SearchResponse<Merchant> response) {
+        return response.data().stream().map(Merchant::getId).toList();
+    }
+
+    private Merchant createMerchant(String id, String name) {
+        Merchant merchant = new Merchant();
+        merchant.setId(id);
+        merchant.setName(name);
+        merchant.setEmail(id + "@example.com");
+        merchant.setStatus("active");
+        merchant.setBusinessName(name + " Ltd");
+        return merchant;
+    }
+}
@@ -0,0 +1,181 @@
+package com.payment.usecase;
+
+import com.payment.config.DatabaseConnectionLimiter;
+import com.payment.entity.Merchant;
+import com.payment.payload.SearchRequestPayload;
+import com.payment.payload.SearchResponse;
+import com.payment.repository.MerchantRepository;
+import com.payment.repository.MerchantRepositoryImpl;
+import com.payment.search.MerchantSearchIndex;
+import io.micronaut.data.jdbc.runtime.JdbcOperations;
+import io.micronaut.data.jdbc.runtime.PreparedStatementCallback;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the same searches and sorted listings against PostgreSQL (index cold) and
+ * MerchantSearchIndex (index warm).
+ * Needs a database with schema.sql applied, given as PAYMENT_TEST_JDBC_URL including credentials;
+ * everything runs in one transaction that is rolled back.
+ */
+@EnabledIfEnvironmentVariable(named = "PAYMENT_TEST_JDBC_URL", matches = ".+")
+class MerchantSearchParityTest {
+
+    // Every field carries a token no other merchant in the database has
+    private static final List<Merchant> MERCHANTS = List.of(
+            createMerchant("zqx-p1", "Zqxbrew Coffee", "p1@zqx.test", "Other Ltd"),
+            createMerchant("zqx-p2", "Acme", "p2@zqx.test", "Zqxbrew Holdings"),
+            createMerchant("zqx-p3", "Blue Zqxbrew", "p3@zqx.test", null),
+            createMerchant("zqx-p4", "acme", "sales.zqxbrew@zqx.test", "Acme Ltd"),
+            createMerchant("zqx-p5", null, "zqxbrew@zqx.test", null)
+    );
+
+    // Case and accents order differently in a locale collation than in String.compareTo
+    private static final List<Merchant> SORTED_MERCHANTS = List.of(
+            createMerchant("zqx-s1", "zqxs apple", "s1@zqx.test", null),
+            createMerchant("zqx-s2", "Zqxs Banana", "s2@zqx.test", null),
+            createMerchant("zqx-s3", "zqxs Émile", "s3@zqx.test", null),
+            createMerchant("zqx-s4", "zqxs eclair", "s4@zqx.test", null),
+            createMerchant("zqx-s5", "ZQXS cherry", "s5@zqx.test", null)
+    );
+
+    private Connection connection;
+    private MerchantRepositoryImpl merchantRepositoryImpl;
+    // Never loaded, so every search goes to the database
+    private MerchantListUseCase useCase;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection(System.getenv("PAYMENT_TEST_JDBC_URL"));
+        connection.setAutoCommit(false);
+        JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+        when(jdbcOperations.prepareStatement(anyString(), any(PreparedStatementCallback.class))).thenAnswer(invocation -> {
+            try (PreparedStatement statement = connection.prepareStatement(invocation.getArgument(0))) {
+                PreparedStatementCallback<?> callback = invocation.getArgument(1);
+                return callback.call(statement);
+            }
+        });
+        when(jdbcOperations.readEntity(any(ResultSet.class), eq(Merchant.class)))
+                .thenAnswer(invocation -> readMerchant(invocation.getArgument(0)));
+        merchantRepositoryImpl = new MerchantRepositoryImpl(jdbcOperations) {
+        };
+        useCase = new MerchantListUseCase(merchantRepositoryImpl, new MerchantSearchIndex(mock(MerchantRepository.class)),
+                new DatabaseConnectionLimiter(10, Duration.ofSeconds(1)));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.rollback();
+        connection.close();
+    }
+
+    @Test
+    void execute_SameSearchColdAndWarm_ReturnsTheSameMerchantsInTheSameOrder() {
+        // Arrange
+        merchantRepositoryImpl.insertAllSkippingDuplicates(MERCHANTS);
+        MerchantListUseCase warmUseCase = warmUseCase(MERCHANTS);
+
+        for (String term : List.of("zqxbrew", "  ZqxBrew ", "zqxbrew hold", "zqx-p")) {
+            SearchRequestPayload payload = new SearchRequestPayload(1, 10, null, null, term, null);
+
+            // Act
+            SearchResponse<Merchant> cold = useCase.execute(payload).orElseThrow();
+            SearchResponse<Merchant> warm = warmUseCase.execute(payload).orElseThrow();
+
+            // Assert
+            assertEquals(ids(warm), ids(cold), "term '" + term + "'");
+            assertEquals(warm.totalRecord(), cold.totalRecord(), "term '" + term + "'");
+        }
+    }
+
+    @Test
+    void execute_ColdIndex_RanksBySimilarityToTheWholeRecord() {
+        // Arrange
+        merchantRepositoryImpl.insertAllSkippingDuplicates(MERCHANTS);
+
+        // Act
+        SearchResponse<Merchant> response = useCase.execute(
+                new SearchRequestPayload(1, 10, null, null, "zqxbrew", null)).orElseThrow();
+
+        // Assert: records with fewer other words score higher, whichever field holds the term
+        assertEquals(List.of("zqx-p5", "zqx-p3", "zqx-p2", "zqx-p4", "zqx-p1"), ids(response));
+        assertEquals(5, response.totalRecord());
+    }
+
+    @Test
+    void execute_SortedByName_PagesInOneOrderAndCursorsCarryAcrossPaths() {
+        // Arrange
+        merchantRepositoryImpl.insertAllSkippingDuplicates(SORTED_MERCHANTS);
+        MerchantListUseCase warmUseCase = warmUseCase(SORTED_MERCHANTS);
+        SearchRequestPayload first = new SearchRequestPayload(1, 2, "name", "ASC", "zqxs", null);
+
+        // Act: page 1 from each path, then hand each path's cursor to the other one
+        SearchResponse<Merchant> coldPage1 = useCase.execute(first).orElseThrow();
+        SearchResponse<Merchant> warmPage1 = warmUseCase.execute(first).orElseThrow();
+        SearchResponse<Merchant> warmPage2 = warmUseCase.execute(
+                new SearchRequestPayload(0, 2, "name", "ASC", "zqxs", coldPage1.nextCursor())).orElseThrow();
+        SearchResponse<Merchant> coldPage3 = useCase.execute(
+                new SearchRequestPayload(0, 2, "name", "ASC", "zqxs", warmPage2.nextCursor())).orElseThrow();
+        SearchResponse<Merchant> coldDescending = useCase.execute(
+                new SearchRequestPayload(1, 10, "name", "DESC", "zqxs", null)).orElseThrow();
+        SearchResponse<Merchant> warmDescending = warmUseCase.execute(
+                new SearchRequestPayload(1, 10, "name", "DESC", "zqxs", null)).orElseThrow();
+
+        // Assert: code point order, upper case before lower case and accented letters last
+        assertEquals(ids(warmPage1), ids(coldPage1));
+        assertEquals(warmPage1.nextCursor(), coldPage1.nextCursor());
+        List<String> walked = new ArrayList<>(ids(coldPage1));
+        walked.addAll(ids(warmPage2));
+        walked.addAll(ids(coldPage3));
+        assertEquals(List.of("zqx-s5", "zqx-s2", "zqx-s1", "zqx-s4", "zqx-s3"), walked);
+        assertNull(coldPage3.nextCursor());
+        assertEquals(ids(warmDescending), ids(coldDescending));
+    }
+
+    private MerchantListUseCase warmUseCase(List<Merchant> merchants) {
+        MerchantRepository merchantRepository = mock(MerchantRepository.class);
+        when(merchantRepository.findAll()).thenReturn(merchants);
+        MerchantSearchIndex warmIndex = new MerchantSearchIndex(merchantRepository);
+        warmIndex.refresh();
+        return new MerchantListUseCase(merchantRepositoryImpl, warmIndex,
+                new DatabaseConnectionLimiter(10, Duration.ofSeconds(1)));
+    }
+
+    private List<String> ids(SearchResponse<Merchant> response) {
+        return response.data().stream().map(Merchant::getId).toList();
+    }
+
+    private static Merchant readMerchant(ResultSet resultSet) throws SQLException {
+        Merchant merchant = createMerchant(resultSet.getString("id"), resultSet.getString("name"),
+                resultSet.getString("email"), resultSet.getString("business_name"));
+        merchant.setStatus(resultSet.getString("status"));
+        return merchant;
+    }
+
+    private static Merchant createMerchant(String id, String name, String email, String businessName) {
+        Merchant merchant = new Merchant();
+        merchant.setId(id);
+        merchant.setName(name);
+        merchant.setEmail(email);
+        merchant.setStatus("active");
+        merchant.setBusinessName(businessName);
+        return merchant;
+    }
+}
@@ -0,0 +1,178 @@
+package com.payment.usecase;
+
+import com.payment.cache.MemberDirectory;
+import com.payment.cache.TransactionListCache;
+import com.payment.config.DatabaseConnectionLimiter;
+import com.payment.entity.Member;
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import com.payment.exception.QueryTimeoutException;
+import com.payment.payload.*;
+import com.payment.repository.MemberRepository;
+import com.payment.repository.ReactiveMemberRepository;
+import com.payment.repository.ReactiveTransactionDetailRepository;
+import com.payment.repository.ReactiveTransactionRepository;
+import com.payment.repository.ReactiveTransactionSummaryRepository;
+import com.payment.repository.StatusSummaryResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ReactiveTransactionListUseCaseTest {
+
+    private ReactiveTransactionRepository transactionRepository;
+    private ReactiveTransactionDetailRepository transactionDetailRepository;
+    private ReactiveTransactionSummaryRepository transactionSummaryRepository;
+    private ReactiveMemberRepository reactiveMemberRepository;
+    private MemberRepository memberRepository;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(ReactiveTransactionRepository.class);
+        transactionDetailRepository = mock(ReactiveTransactionDetailRepository.class);
+        transactionSummaryRepository = mock(ReactiveTransactionSummaryRepository.class);
+        reactiveMemberRepository = mock(ReactiveMemberRepository.class);
+        memberRepository = mock(MemberRepository.class);
+    }
+
+    @Test
+    void execute_WithValidRequest_BuildsSameResponseAsJdbcPath() {
+        // Arrange
+        String merchantId = "MCH-00001";
+        ReactiveTransactionListUseCase useCase = useCase(Duration.ofSeconds(5));
+        when(transactionRepository.findByMerchantIdWithFilters(any(), any(), any(), any(), any()))
+                .thenReturn(Flux.just(createTransaction(1L, merchantId)));
+        when(transactionDetailRepository.findByMasterTxnIdInList(anyList()))
+                .thenReturn(Flux.just(createDetail(1L, 1L)));
+        when(transactionSummaryRepository.summarizeByStatus(any(), any(), any()))
+                .thenReturn(Mono.just(List.of(
+                        new StatusSummaryResult("completed", 1L, new BigDecimal("150.00")),
+                        new StatusSummaryResult(null, 1L, new BigDecimal("150.00"))
+                )));
+        when(reactiveMemberRepository.findByMemberIdInList(anyCollection()))
+                .thenReturn(Flux.just(createMember(1L, "Global Payment Services"), createMember(4L, "Visa Worldwide")));
+
+        // Act
+        TransactionListResponse response = useCase
+                .execute(new TransactionListRequest(merchantId, 0, 20, null, null, null))
+                .orElseThrow()
+                .block();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(merchantId, response.merchantId());
+        assertEquals(1, response.transactions().size());
+        assertEquals(1, response.transactions().get(0).details().size());
+        assertEquals("Global Payment Services", response.transactions().get(0).acquirer());
+        assertEquals("Visa Worldwide", response.transactions().get(0).issuer());
+        assertEquals(1L, response.pagination().totalElements());
+        verifyNoInteractions(memberRepository);
+    }
+
+    @Test
+    void execute_WithCursor_SeeksAfterCursorWithOneExtraRow() {
+        // Arrange
+        String merchantId = "MCH-00001";
+        Instant cursorTime = Instant.parse("2025-11-18T15:00:00Z");
+        ReactiveTransactionListUseCase useCase = useCase(Duration.ofSeconds(5));
+        when(transactionRepository.findByMerchantIdAfterCursor(any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(Flux.just(createTransaction(4L, merchantId), createTransaction(3L, merchantId)));
+        when(transactionDetailRepository.findByMasterTxnIdInList(anyList()))
+                .thenReturn(Flux.empty());
+        when(transactionSummaryRepository.summarizeByStatus(any(), any(), any()))
+                .thenReturn(Mono.just(List.of(new StatusSummaryResult(null, 7L, new BigDecimal("1050.00")))));
+        when(reactiveMemberRepository.findByMemberIdInList(anyCollection()))
+                .thenReturn(Flux.empty());
+
+        // Act
+        TransactionListResponse response = useCase
+                .execute(new TransactionListRequest(merchantId, 0, 1, null, null, null,
+                        new TransactionCursor(cursorTime, 5L).encode()))
+                .orElseThrow()
+                .block();
+
+        // Assert
+        verify(transactionRepository).findByMerchantIdAfterCursor(
+                merchantId, null, null, null, cursorTime, 5L, 2);
+        assertNotNull(response);
+        assertEquals(1, response.transactions().size());
+        assertEquals(4L, TransactionCursor.decode(response.pagination().nextCursor()).txnId());
+    }
+
+    @Test
+    void execute_WhenSummaryQueryExceedsTimeout_FailsWithQueryTimeout() {
+        // Arrange
+        ReactiveTransactionListUseCase useCase = useCase(Duration.ofMillis(50));
+        when(transactionRepository.findByMerchantIdWithFilters(any(), any(), any(), any(), any()))
+                .thenReturn(Flux.just(createTransaction(1L, "MCH-00001")));
+        when(transactionSummaryRepository.summarizeByStatus(any(), any(), any()))
+                .thenReturn(Mono.never());
+
+        // Act
+        Mono<TransactionListResponse> response = useCase
+                .execute(new TransactionListRequest("MCH-00001", 0, 20, null, null, null))
+                .orElseThrow();
+
+        // Assert
+        assertThrows(QueryTimeoutException.class, response::block);
+    }
+
+    private ReactiveTransactionListUseCase useCase(Duration queryTimeout) {
+        return new ReactiveTransactionListUseCase(
+                transactionRepository,
+                transactionDetailRepository,
+                transactionSummaryRepository,
+                reactiveMemberRepository,
+                new MemberDirectory(memberRepository, new DatabaseConnectionLimiter(10, Duration.ofSeconds(1))),
+                TransactionListCache.disabled(),
+                queryTimeout
+        );
+    }
+
+    private TransactionMaster createTransaction(Long id, String merchantId) {
+        TransactionMaster txn = new TransactionMaster();
+        txn.setTxnId(id);
+        txn.setMerchantId(merchantId);
+        txn.setAmount(new BigDecimal("150.00"));
+        txn.setCurrency("USD");
+        txn.setStatus("completed");
+        txn.setLocalTxnDateTime(Instant.parse("2025-11-18T14:32:15Z"));
+        txn.setCardType("VISA");
+        txn.setCardLast4("4242");
+        txn.setGpAcquirerId(1L);
+        txn.setGpIssuerId(4L);
+        return txn;
+    }
+
+    private TransactionDetail createDetail(Long id, Long masterTxnId) {
+        TransactionDetail detail = new TransactionDetail();
+        detail.setTxnDetailId(id);
+        detail.setMasterTxnId(masterTxnId);
+        detail.setDetailType("fee");
+        detail.setAmount(new BigDecimal("3.50"));
+        detail.setDescription("Processing fee");
+        return detail;
+    }
+
+    private Member createMember(Long id, String name) {
+        Member member = new Member();
+        member.setMemberId(id);
+        member.setMemberName(name);
+        member.setMemberType("acquirer");
+        member.setMemberCode("TEST-" + id);
+        return member;
+    }
+}
@@ -0,0 +1,94 @@
+package com.payment.usecase;
+
+import com.payment.cache.MemberDirectory;
+import com.payment.exception.QueryTimeoutException;
+import com.payment.payload.ExportFormat;
+import com.payment.payload.TransactionExportRequest;
+import com.payment.repository.TransactionExportRepository;
+import io.micronaut.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TransactionExportUseCaseTest {
+
+    private TransactionExportRepository transactionExportRepository;
+    private TransactionExportUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        transactionExportRepository = mock(TransactionExportRepository.class);
+        when(transactionExportRepository.streamByMerchantId(eq("MCH-00001"), any(), any(), any(), anyInt()))
+                .thenReturn(Flux.empty());
+        useCase = new TransactionExportUseCase(
+                transactionExportRepository, mock(MemberDirectory.class), mock(JsonMapper.class), 500, 1);
+    }
+
+    @Test
+    void execute_WhileAnotherExportStreams_TurnsItAway() {
+        // Arrange
+        when(transactionExportRepository.streamByMerchantId(eq("MCH-00001"), any(), any(), any(), anyInt()))
+                .thenReturn(Flux.never());
+        Disposable running = useCase.execute(request()).orElseThrow().subscribe();
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> useCase.execute(request()));
+        verify(transactionExportRepository, times(1)).streamByMerchantId(any(), any(), any(), any(), anyInt());
+
+        running.dispose();
+        assertTrue(useCase.execute(request()).isPresent());
+    }
+
+    @Test
+    void execute_WhenSlotTakenBeforeSubscribing_FailsBeforeFirstByte() {
+        // Arrange: both responses are built while the slot is free
+        when(transactionExportRepository.streamByMerchantId(eq("MCH-00001"), any(), any(), any(), anyInt()))
+                .thenReturn(Flux.never());
+        Flux<byte[]> first = useCase.execute(request()).orElseThrow();
+        Flux<byte[]> second = useCase.execute(request()).orElseThrow();
+        Disposable running = first.subscribe();
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, second::blockFirst);
+        running.dispose();
+    }
+
+    @Test
+    void execute_WhenResponseIsNeverWritten_HoldsNoSlot() {
+        // Arrange: the client goes away before the body is subscribed to
+        useCase.execute(request()).orElseThrow();
+        useCase.execute(request()).orElseThrow();
+
+        // Act
+        Flux<byte[]> export = useCase.execute(request()).orElseThrow();
+
+        // Assert
+        assertEquals(1, export.collectList().block().size());
+        verify(transactionExportRepository, times(1)).streamByMerchantId(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void execute_WhenStreamIsCancelled_ReleasesItsSlot() {
+        // Arrange: a stream that would never finish on its own
+        when(transactionExportRepository.streamByMerchantId(eq("MCH-00001"), any(), any(), any(), anyInt()))
+                .thenReturn(Flux.never());
+        Flux<byte[]> running = useCase.execute(request()).orElseThrow();
+
+        // Act: the client disconnects after the header line
+        running.take(1).blockLast();
+
+        // Assert
+        assertTrue(useCase.execute(request()).isPresent());
+    }
+
+    private TransactionExportRequest request() {
+        return new TransactionExportRequest("MCH-00001", null, null, null, ExportFormat.CSV);
+    }
+}
@@ -0,0 +1,236 @@
+package com.payment.usecase;
+
+import com.payment.cache.MemberDirectory;
+import com.payment.config.DatabaseConnectionLimiter;
+import com.payment.entity.Member;
+import com.payment.entity.TransactionDetail;
+import com.payment.entity.TransactionMaster;
+import com.payment.event.TransactionsChangedEvent;
+import com.payment.payload.*;
+import com.payment.payload.TransactionBatchResult.Status;
+import com.payment.repository.MemberRepository;
+import com.payment.repository.TransactionIngestRepository;
+import com.payment.repository.TransactionIngestRepository.IngestOutcome;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TransactionIngestUseCaseTest {
+
+    private TransactionIngestRepository transactionIngestRepository;
+    private MemberRepository memberRepository;
+    private ApplicationEventPublisher<TransactionsChangedEvent> eventPublisher;
+    private TransactionIngestUseCase useCase;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        transactionIngestRepository = mock(TransactionIngestRepository.class);
+        memberRepository = mock(MemberRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(memberRepository.findByMemberIdInList(anyCollection())).thenReturn(List.of(member(1L)));
+        // Every transaction is new unless a test says otherwise
+        AtomicLong nextTxnId = new AtomicLong(100);
+        when(transactionIngestRepository.insertAllSkippingDuplicates(anyList(), anyList())).thenAnswer(invocation -> {
+            List<TransactionMaster> masters = invocation.getArgument(0);
+            List<IngestOutcome> outcomes = new ArrayList<>();
+            masters.forEach(master -> outcomes.add(new IngestOutcome(nextTxnId.getAndIncrement(), true)));
+            return outcomes;
+        });
+        useCase = new TransactionIngestUseCase(
+                transactionIngestRepository, new MemberDirectory(memberRepository, new DatabaseConnectionLimiter(10, Duration.ofSeconds(1))), eventPublisher, 2, 5);
+    }
+
+    @Test
+    void execute_WithValidTransactions_WritesInChunksAndLinksDetails() {
+        // Arrange
+        TransactionBatchRequest request = new TransactionBatchRequest(List.of(
+                transaction("ref-1", "MCH-1", 2),
+                transaction("ref-2", "MCH-1", 1),
+                transaction("ref-3", "MCH-2", 0)
+        ));
+
+        // Act
+        TransactionBatchResponse response = useCase.execute(request).orElseThrow();
+
+        // Assert
+        assertEquals(3, response.received());
+        assertEquals(3, response.inserted());
+        assertEquals(3L, response.detailsInserted());
+        assertEquals(2, response.writeBatches());
+        assertEquals(List.of(100L, 101L, 102L), response.results().stream().map(TransactionBatchResult::txnId).toList());
+
+        ArgumentCaptor<List<TransactionMaster>> masters = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<List<TransactionDetail>>> details = ArgumentCaptor.forClass(List.class);
+        verify(transactionIngestRepository, times(2)).insertAllSkippingDuplicates(masters.capture(), details.capture());
+        TransactionMaster first = masters.getAllValues().get(0).get(0);
+        assertEquals("USD", first.getCurrency());
+        assertEquals(java.sql.Date.valueOf("2025-11-18"), first.getTxnDate());
+        assertEquals(2, details.getAllValues().get(0).get(0).size());
+
+        verify(eventPublisher).publishEvent(new TransactionsChangedEvent(Set.of("MCH-1")));
+        verify(eventPublisher).publishEvent(new TransactionsChangedEvent(Set.of("MCH-2")));
+    }
+
+    @Test
+    void execute_WithInvalidAndRepeatedTransactions_ReportsThemWithoutWriting() {
+        // Arrange
+        TransactionIngestPayload unknownMember = new TransactionIngestPayload(
+                "ref-4", "MCH-1", 9L, null, null, Instant.parse("2025-11-18T14:32:15Z"),
+                new BigDecimal("10.00"), null, "completed", null, null, null, null, null);
+        TransactionBatchRequest request = new TransactionBatchRequest(List.of(
+                transaction("ref-1", "MCH-1", 0),
+                transaction("ref-1", "MCH-1", 0),
+                transaction(null, "MCH-1", 0),
+                unknownMember
+        ));
+
+        // Act
+        TransactionBatchResponse response = useCase.execute(request).orElseThrow();
+
+        // Assert
+        assertEquals(1, response.inserted());
+        assertEquals(1, response.duplicates());
+        assertEquals(2, response.rejected());
+        List<TransactionBatchResult> results = response.results();
+        assertEquals(Status.INSERTED, results.get(0).status());
+        assertEquals(Status.DUPLICATE, results.get(1).status());
+        assertEquals("externalRef is required", results.get(2).message());
+        assertEquals("Unknown gpAcquirerId 9", results.get(3).message());
+    }
+
+    @Test
+    void execute_WithOversizedFieldInValidBatch_ReportsOnlyThatRowInvalid() {
+        // Arrange
+        TransactionIngestPayload valid = transaction("ref-1", "MCH-1", 1);
+        TransactionIngestPayload longResponseCode = new TransactionIngestPayload(
+                "ref-2", "MCH-1", 1L, null, null, Instant.parse("2025-11-18T14:32:15Z"),
+                new BigDecimal("10.00"), null, "completed", "VISA", "4242", "AUTH1", "00000000000", null);
+        TransactionIngestPayload longMerchantId = transaction("ref-3", "M".repeat(51), 0);
+        TransactionIngestPayload badDetailCurrency = new TransactionIngestPayload(
+                "ref-4", "MCH-1", 1L, null, null, Instant.parse("2025-11-18T14:32:15Z"),
+                new BigDecimal("10.00"), null, "completed", null, null, null, null,
+                List.of(new TransactionDetailIngestPayload("fee", new BigDecimal("1.50"), "EURO", null)));
+        TransactionBatchRequest request = new TransactionBatchRequest(
+                List.of(valid, longResponseCode, longMerchantId, badDetailCurrency));
+
+        // Act
+        TransactionBatchResponse response = useCase.execute(request).orElseThrow();
+
+        // Assert
+        assertEquals(1, response.inserted());
+        assertEquals(3, response.rejected());
+        assertEquals(0, response.failed());
+        List<TransactionBatchResult> results = response.results();
+        assertEquals(Status.INSERTED, results.get(0).status());
+        assertEquals(Status.INVALID, results.get(1).status());
+        assertEquals("responseCode must be at most 10 characters", results.get(1).message());
+        assertEquals("merchantId must be at most 50 characters", results.get(2).message());
+        assertEquals("details[].currency must be a 3-letter ISO code", results.get(3).message());
+        ArgumentCaptor<List<TransactionMaster>> masters = ArgumentCaptor.forClass(List.class);
+        verify(transactionIngestRepository).insertAllSkippingDuplicates(masters.capture(), anyList());
+        assertEquals(List.of("ref-1"), masters.getValue().stream().map(TransactionMaster::getExternalRef).toList());
+    }
+
+    @Test
+    void execute_WhenExternalRefAlreadyStored_ReportsExistingTxnIdAndPublishesNothing() {
+        // Arrange
+        when(transactionIngestRepository.insertAllSkippingDuplicates(anyList(), anyList()))
+                .thenReturn(List.of(new IngestOutcome(42L, false)));
+
+        // Act
+        TransactionBatchResponse response = useCase
+                .execute(new TransactionBatchRequest(List.of(transaction("ref-1", "MCH-1", 1))))
+                .orElseThrow();
+
+        // Assert
+        assertEquals(0, response.inserted());
+        assertEquals(1, response.duplicates());
+        assertEquals(0L, response.detailsInserted());
+        assertEquals(42L, response.results().get(0).txnId());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void execute_WhenOneChunkFails_ReportsItsRowsFailedAndWritesTheRest() {
+        // Arrange: chunks of two, the first one fails
+        when(transactionIngestRepository.insertAllSkippingDuplicates(anyList(), anyList()))
+                .thenThrow(new IllegalStateException("deadlock detected"))
+                .thenReturn(List.of(new IngestOutcome(200L, true)));
+        TransactionBatchRequest request = new TransactionBatchRequest(List.of(
+                transaction("ref-1", "MCH-1", 1),
+                transaction("ref-2", "MCH-1", 1),
+                transaction("ref-3", "MCH-2", 1)
+        ));
+
+        // Act
+        TransactionBatchResponse response = useCase.execute(request).orElseThrow();
+
+        // Assert
+        assertEquals(1, response.inserted());
+        assertEquals(2, response.failed());
+        assertEquals(0, response.rejected());
+        assertEquals(1L, response.detailsInserted());
+        assertEquals(List.of(Status.FAILED, Status.FAILED, Status.INSERTED),
+                response.results().stream().map(TransactionBatchResult::status).toList());
+        verify(eventPublisher).publishEvent(new TransactionsChangedEvent(Set.of("MCH-2")));
+        verify(eventPublisher, never()).publishEvent(new TransactionsChangedEvent(Set.of("MCH-1")));
+    }
+
+    @Test
+    void execute_WithEmptyOrOversizedBatch_ThrowsIllegalArgument() {
+        List<TransactionIngestPayload> tooMany = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            tooMany.add(transaction("ref-" + i, "MCH-1", 0));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(new TransactionBatchRequest(List.of())));
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(new TransactionBatchRequest(tooMany)));
+        verifyNoInteractions(transactionIngestRepository);
+    }
+
+    private TransactionIngestPayload transaction(String externalRef, String merchantId, int detailCount) {
+        List<TransactionDetailIngestPayload> details = new ArrayList<>();
+        for (int i = 0; i < detailCount; i++) {
+            details.add(new TransactionDetailIngestPayload("fee", new BigDecimal("1.50"), null, "Processing fee"));
+        }
+        return new TransactionIngestPayload(
+                externalRef,
+                merchantId,
+                1L,
+                null,
+                null,
+                Instant.parse("2025-11-18T14:32:15Z"),
+                new BigDecimal("150.00"),
+                null,
+                "completed",
+                "VISA",
+                "4242",
+                null,
+                null,
+                details
+        );
+    }
+
+    private Member member(Long id) {
+        Member member = new Member();
+        member.setMemberId(id);
+        member.setMemberName("Member " + id);
+        return member;
+    }
+}
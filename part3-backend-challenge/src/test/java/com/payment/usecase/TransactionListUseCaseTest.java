@@ -1,25 +1,36 @@
 package com.payment.usecase;
 
+import com.payment.cache.MemberDirectory;
+import com.payment.cache.TransactionListCache;
+import com.payment.config.DatabaseConnectionLimiter;
 import com.payment.entity.Member;
 import com.payment.entity.TransactionDetail;
 import com.payment.entity.TransactionMaster;
+import com.payment.exception.QueryTimeoutException;
 import com.payment.payload.*;
 import com.payment.repository.MemberRepository;
-import com.payment.repository.StatusCountResult;
-import com.payment.repository.TotalAmountResult;
+import com.payment.repository.StatusSummaryResult;
 import com.payment.repository.TransactionDetailRepository;
 import com.payment.repository.TransactionRepository;
-import io.micronaut.data.model.Page;
+import com.payment.repository.TransactionSummaryRepository;
 import io.micronaut.data.model.Pageable;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
@@ -28,20 +39,34 @@ class TransactionListUseCaseTest {
     private TransactionListUseCase useCase;
     private TransactionRepository transactionRepository;
     private TransactionDetailRepository transactionDetailRepository;
+    private TransactionSummaryRepository transactionSummaryRepository;
     private MemberRepository memberRepository;
+    private ExecutorService queryExecutor;
 
     @BeforeEach
     void setUp() {
         transactionRepository = mock(TransactionRepository.class);
         transactionDetailRepository = mock(TransactionDetailRepository.class);
+        transactionSummaryRepository = mock(TransactionSummaryRepository.class);
         memberRepository = mock(MemberRepository.class);
+        queryExecutor = Executors.newFixedThreadPool(4);
         useCase = new TransactionListUseCase(
                 transactionRepository,
                 transactionDetailRepository,
-                memberRepository
+                transactionSummaryRepository,
+                new MemberDirectory(memberRepository, new DatabaseConnectionLimiter(10, Duration.ofSeconds(1))),
+                TransactionListCache.disabled(),
+                new DatabaseConnectionLimiter(10, Duration.ofSeconds(1)),
+                queryExecutor,
+                Duration.ofSeconds(5)
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        queryExecutor.shutdownNow();
+    }
+
     @Test
     void execute_WithValidRequest_ReturnsTransactionListResponse() {
         // Arrange
@@ -51,20 +76,22 @@ class TransactionListUseCaseTest {
         );
 
         TransactionMaster txn = createMockTransaction(1L, merchantId);
-        Page<TransactionMaster> page = Page.of(List.of(txn), Pageable.from(0, 20), 1);
+        List<TransactionMaster> page = List.of(txn);
         
         when(transactionRepository.findByMerchantIdWithFilters(any(), any(), any(), any(), any()))
                 .thenReturn(page);
         when(transactionDetailRepository.findByMasterTxnIdInList(anyList()))
                 .thenReturn(List.of(createMockDetail(1L, 1L)));
-        when(transactionRepository.countByStatus(any(), any(), any()))
-                .thenReturn(List.of(new StatusCountResult("completed", 1L)));
-        when(transactionRepository.getTotalAmount(any(), any(), any(), any()))
-                .thenReturn(new TotalAmountResult(new BigDecimal("150.00")));
-        when(memberRepository.findById(1L))
-                .thenReturn(Optional.of(createMockMember(1L, "Global Payment Services")));
-        when(memberRepository.findById(4L))
-                .thenReturn(Optional.of(createMockMember(4L, "Visa Worldwide")));
+        when(transactionSummaryRepository.summarizeByStatus(any(), any(), any()))
+                .thenReturn(List.of(
+                        new StatusSummaryResult("completed", 1L, new BigDecimal("150.00")),
+                        new StatusSummaryResult(null, 1L, new BigDecimal("150.00"))
+                ));
+        when(memberRepository.findByMemberIdInList(anyCollection()))
+                .thenReturn(List.of(
+                        createMockMember(1L, "Global Payment Services"),
+                        createMockMember(4L, "Visa Worldwide")
+                ));
 
         // Act
         Optional<TransactionListResponse> result = useCase.execute(request);
@@ -75,8 +102,12 @@ class TransactionListUseCaseTest {
         assertEquals(merchantId, response.merchantId());
         assertNotNull(response.summary());
         assertEquals(1, response.transactions().size());
+        assertEquals("Global Payment Services", response.transactions().get(0).acquirer());
+        assertEquals("Visa Worldwide", response.transactions().get(0).issuer());
         assertNotNull(response.pagination());
         assertEquals(1L, response.pagination().totalElements());
+        verify(memberRepository, times(1)).findByMemberIdInList(anyCollection());
+        verify(memberRepository, never()).findById(any());
     }
 
     @Test
@@ -87,7 +118,7 @@ class TransactionListUseCaseTest {
                 merchantId, 0, 20, null, null, null
         );
 
-        Page<TransactionMaster> emptyPage = Page.empty();
+        List<TransactionMaster> emptyPage = List.of();
         
         when(transactionRepository.findByMerchantIdWithFilters(any(), any(), any(), any(), any()))
                 .thenReturn(emptyPage);
@@ -114,7 +145,7 @@ class TransactionListUseCaseTest {
                 merchantId, 0, 20, startDate, endDate, null
         );
 
-        Page<TransactionMaster> emptyPage = Page.empty();
+        List<TransactionMaster> emptyPage = List.of();
         when(transactionRepository.findByMerchantIdWithFilters(any(), any(), any(), any(), any()))
                 .thenReturn(emptyPage);
 
@@ -140,7 +171,7 @@ class TransactionListUseCaseTest {
                 merchantId, 0, 20, null, null, status
         );
 
-        Page<TransactionMaster> emptyPage = Page.empty();
+        List<TransactionMaster> emptyPage = List.of();
         when(transactionRepository.findByMerchantIdWithFilters(any(), any(), any(), any(), any()))
                 .thenReturn(emptyPage);
 
@@ -167,7 +198,7 @@ class TransactionListUseCaseTest {
 
         TransactionMaster txn1 = createMockTransaction(1L, merchantId);
         TransactionMaster txn2 = createMockTransaction(2L, merchantId);
-        Page<TransactionMaster> page = Page.of(List.of(txn1, txn2), Pageable.from(0, 20), 2);
+        List<TransactionMaster> page = List.of(txn1, txn2);
         
         when(transactionRepository.findByMerchantIdWithFilters(any(), any(), any(), any(), any()))
                 .thenReturn(page);
@@ -177,12 +208,13 @@ class TransactionListUseCaseTest {
                         createMockDetail(2L, 1L),
                         createMockDetail(3L, 2L)
                 ));
-        when(transactionRepository.countByStatus(any(), any(), any()))
-                .thenReturn(List.of(new StatusCountResult("completed", 2L)));
-        when(transactionRepository.getTotalAmount(any(), any(), any(), any()))
-                .thenReturn(new TotalAmountResult(new BigDecimal("300.00")));
-        when(memberRepository.findById(any()))
-                .thenReturn(Optional.of(createMockMember(1L, "Test Member")));
+        when(transactionSummaryRepository.summarizeByStatus(any(), any(), any()))
+                .thenReturn(List.of(
+                        new StatusSummaryResult("completed", 2L, new BigDecimal("300.00")),
+                        new StatusSummaryResult(null, 2L, new BigDecimal("300.00"))
+                ));
+        when(memberRepository.findByMemberIdInList(anyCollection()))
+                .thenReturn(List.of(createMockMember(1L, "Test Member")));
 
         // Act
         Optional<TransactionListResponse> result = useCase.execute(request);
@@ -210,22 +242,21 @@ class TransactionListUseCaseTest {
         );
 
         TransactionMaster txn = createMockTransaction(1L, merchantId);
-        Page<TransactionMaster> page = Page.of(List.of(txn), Pageable.from(0, 20), 1);
+        List<TransactionMaster> page = List.of(txn);
         
         when(transactionRepository.findByMerchantIdWithFilters(any(), any(), any(), any(), any()))
                 .thenReturn(page);
         when(transactionDetailRepository.findByMasterTxnIdInList(anyList()))
                 .thenReturn(List.of());
-        when(transactionRepository.countByStatus(any(), any(), any()))
+        when(transactionSummaryRepository.summarizeByStatus(any(), any(), any()))
                 .thenReturn(List.of(
-                        new StatusCountResult("completed", 10L),
-                        new StatusCountResult("pending", 5L),
-                        new StatusCountResult("failed", 2L)
+                        new StatusSummaryResult("completed", 10L, new BigDecimal("3000.00")),
+                        new StatusSummaryResult("pending", 5L, new BigDecimal("1500.00")),
+                        new StatusSummaryResult("failed", 2L, new BigDecimal("500.00")),
+                        new StatusSummaryResult(null, 17L, new BigDecimal("5000.00"))
                 ));
-        when(transactionRepository.getTotalAmount(any(), any(), any(), any()))
-                .thenReturn(new TotalAmountResult(new BigDecimal("5000.00")));
-        when(memberRepository.findById(any()))
-                .thenReturn(Optional.of(createMockMember(1L, "Test Member")));
+        when(memberRepository.findByMemberIdInList(anyCollection()))
+                .thenReturn(List.of(createMockMember(1L, "Test Member")));
 
         // Act
         Optional<TransactionListResponse> result = useCase.execute(request);
@@ -241,6 +272,228 @@ class TransactionListUseCaseTest {
         assertEquals(2L, summary.byStatus().get("failed"));
     }
 
+    @Test
+    void execute_WithStatusFilter_TakesAmountAndTotalsFromStatusRow() {
+        // Arrange
+        String merchantId = "MCH-00001";
+        TransactionListRequest request = new TransactionListRequest(
+                merchantId, 0, 2, null, null, "pending"
+        );
+
+        when(transactionRepository.findByMerchantIdWithFilters(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(createMockTransaction(1L, merchantId), createMockTransaction(2L, merchantId)));
+        when(transactionDetailRepository.findByMasterTxnIdInList(anyList()))
+                .thenReturn(List.of());
+        when(transactionSummaryRepository.summarizeByStatus(any(), any(), any()))
+                .thenReturn(List.of(
+                        new StatusSummaryResult("completed", 10L, new BigDecimal("3000.00")),
+                        new StatusSummaryResult("pending", 5L, new BigDecimal("1500.00")),
+                        new StatusSummaryResult(null, 15L, new BigDecimal("4500.00"))
+                ));
+
+        // Act
+        Optional<TransactionListResponse> result = useCase.execute(request);
+
+        // Assert
+        assertTrue(result.isPresent());
+        TransactionListResponse response = result.get();
+        assertEquals(15L, response.summary().totalTransactions());
+        assertEquals(new BigDecimal("1500.00"), response.summary().totalAmount());
+        assertEquals(5L, response.pagination().totalElements());
+        assertEquals(3, response.pagination().totalPages());
+        assertNotNull(response.pagination().nextCursor());
+        verify(transactionSummaryRepository, times(1)).summarizeByStatus(any(), any(), any());
+    }
+
+    @Test
+    void execute_WithCursor_SeeksAfterCursorAndReturnsNextCursor() {
+        // Arrange
+        String merchantId = "MCH-00001";
+        Instant cursorTime = Instant.parse("2025-11-18T15:00:00Z");
+        String cursor = new TransactionCursor(cursorTime, 5L).encode();
+        TransactionListRequest request = new TransactionListRequest(
+                merchantId, 0, 1, null, null, null, cursor
+        );
+
+        TransactionMaster txn1 = createMockTransaction(4L, merchantId);
+        TransactionMaster txn2 = createMockTransaction(3L, merchantId);
+
+        when(transactionRepository.findByMerchantIdAfterCursor(any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(txn1, txn2));
+        when(transactionDetailRepository.findByMasterTxnIdInList(anyList()))
+                .thenReturn(List.of());
+        when(transactionSummaryRepository.summarizeByStatus(any(), any(), any()))
+                .thenReturn(List.of(
+                        new StatusSummaryResult("completed", 7L, new BigDecimal("1050.00")),
+                        new StatusSummaryResult(null, 7L, new BigDecimal("1050.00"))
+                ));
+
+        // Act
+        Optional<TransactionListResponse> result = useCase.execute(request);
+
+        // Assert
+        verify(transactionRepository).findByMerchantIdAfterCursor(
+                eq(merchantId),
+                isNull(),
+                isNull(),
+                isNull(),
+                eq(cursorTime),
+                eq(5L),
+                eq(2)
+        );
+        verify(transactionRepository, never()).findByMerchantIdWithFilters(any(), any(), any(), any(), any());
+
+        assertTrue(result.isPresent());
+        TransactionListResponse response = result.get();
+        assertEquals(1, response.transactions().size());
+        assertEquals(4L, response.transactions().get(0).txnId());
+        assertEquals(7L, response.pagination().totalElements());
+
+        TransactionCursor nextCursor = TransactionCursor.decode(response.pagination().nextCursor());
+        assertEquals(4L, nextCursor.txnId());
+        assertEquals(txn1.getLocalTxnDateTime(), nextCursor.localTxnDateTime());
+    }
+
+    @Test
+    void execute_WithCursorOnLastPage_ReturnsNoNextCursor() {
+        // Arrange
+        String merchantId = "MCH-00001";
+        String cursor = new TransactionCursor(Instant.parse("2025-11-18T15:00:00Z"), 5L).encode();
+        TransactionListRequest request = new TransactionListRequest(
+                merchantId, 0, 20, null, null, null, cursor
+        );
+
+        when(transactionRepository.findByMerchantIdAfterCursor(any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(createMockTransaction(4L, merchantId)));
+        when(transactionDetailRepository.findByMasterTxnIdInList(anyList()))
+                .thenReturn(List.of());
+        when(transactionSummaryRepository.summarizeByStatus(any(), any(), any()))
+                .thenReturn(List.of(
+                        new StatusSummaryResult("completed", 1L, new BigDecimal("150.00")),
+                        new StatusSummaryResult(null, 1L, new BigDecimal("150.00"))
+                ));
+
+        // Act
+        Optional<TransactionListResponse> result = useCase.execute(request);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(1, result.get().transactions().size());
+        assertNull(result.get().pagination().nextCursor());
+    }
+
+    @Test
+    void execute_WithMalformedCursor_ThrowsIllegalArgument() {
+        TransactionListRequest request = new TransactionListRequest(
+                "MCH-00001", 0, 20, null, null, null, "not-a-cursor"
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(request));
+    }
+
+    @Test
+    void execute_WhenSummaryQueryExceedsTimeout_ThrowsQueryTimeout() {
+        // Arrange
+        String merchantId = "MCH-00001";
+        TransactionListUseCase slowUseCase = new TransactionListUseCase(
+                transactionRepository,
+                transactionDetailRepository,
+                transactionSummaryRepository,
+                new MemberDirectory(memberRepository, new DatabaseConnectionLimiter(10, Duration.ofSeconds(1))),
+                TransactionListCache.disabled(),
+                new DatabaseConnectionLimiter(10, Duration.ofSeconds(1)),
+                queryExecutor,
+                Duration.ofMillis(50)
+        );
+        TransactionListRequest request = new TransactionListRequest(
+                merchantId, 0, 20, null, null, null
+        );
+
+        when(transactionRepository.findByMerchantIdWithFilters(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(createMockTransaction(1L, merchantId)));
+        when(transactionDetailRepository.findByMasterTxnIdInList(anyList()))
+                .thenReturn(List.of());
+        when(transactionSummaryRepository.summarizeByStatus(any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(1000);
+                    return List.of();
+                });
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> slowUseCase.execute(request));
+    }
+
+    @Test
+    void execute_WhenNoConnectionPermitFree_ThrowsQueryTimeoutWithoutQuerying() {
+        // Arrange
+        TransactionListUseCase saturatedUseCase = new TransactionListUseCase(
+                transactionRepository,
+                transactionDetailRepository,
+                transactionSummaryRepository,
+                new MemberDirectory(memberRepository, new DatabaseConnectionLimiter(10, Duration.ofSeconds(1))),
+                TransactionListCache.disabled(),
+                new DatabaseConnectionLimiter(0, Duration.ofMillis(50)),
+                queryExecutor,
+                Duration.ofSeconds(5)
+        );
+        TransactionListRequest request = new TransactionListRequest(
+                "MCH-00001", 0, 20, null, null, null
+        );
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> saturatedUseCase.execute(request));
+        verify(transactionRepository, never()).findByMerchantIdWithFilters(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_CacheHitWhileAllPermitsHeld_IsServedWithoutWaiting() throws Exception {
+        // Arrange: a hit that needed a permit would give up after the 1s queue timeout
+        DatabaseConnectionLimiter limiter = new DatabaseConnectionLimiter(1, Duration.ofSeconds(1));
+        TransactionListUseCase cachedUseCase = new TransactionListUseCase(
+                transactionRepository,
+                transactionDetailRepository,
+                transactionSummaryRepository,
+                new MemberDirectory(memberRepository, limiter),
+                new TransactionListCache(1000, Duration.ofMinutes(5), Duration.ofMinutes(1)),
+                limiter,
+                queryExecutor,
+                Duration.ofSeconds(5)
+        );
+        TransactionListRequest request = new TransactionListRequest(
+                "MCH-00001", 0, 20, null, null, null
+        );
+        when(transactionRepository.findByMerchantIdWithFilters(any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+        when(transactionSummaryRepository.summarizeByStatus(any(), any(), any()))
+                .thenReturn(List.of());
+        cachedUseCase.execute(request);
+
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService holder = Executors.newSingleThreadExecutor();
+        try {
+            holder.submit(() -> limiter.call(() -> {
+                holding.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            // Act
+            Optional<TransactionListResponse> response = cachedUseCase.execute(request);
+
+            // Assert
+            assertTrue(response.isPresent());
+            verify(transactionRepository, times(1)).findByMerchantIdWithFilters(any(), any(), any(), any(), any());
+        } finally {
+            release.countDown();
+            holder.shutdownNow();
+        }
+    }
+
     private TransactionMaster createMockTransaction(Long id, String merchantId) {
         TransactionMaster txn = new TransactionMaster();
         txn.setTxnId(id);